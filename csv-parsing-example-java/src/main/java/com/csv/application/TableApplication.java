@@ -3,9 +3,12 @@ package com.csv.application;
 import com.csv.application.domain.enums.JoinType;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Table;
+import com.csv.application.processor.AutoJoinImpl;
 import com.csv.application.processor.DataReaderImpl;
+import com.csv.application.processor.GraceHashJoinImpl;
 import com.csv.application.processor.HashJoinImpl;
 import com.csv.application.processor.InnerNestedLoopJoinImpl;
+import com.csv.application.processor.SortMergeJoinImpl;
 import com.csv.application.processor.TableSorterImpl;
 import com.csv.application.processor.interfaces.TableJoiner;
 import org.slf4j.Logger;
@@ -27,12 +30,12 @@ public class TableApplication {
         System.out.println("Enter column name to sort the left table by DESC: ");
         String columnNameToSort = scanner.nextLine().trim();
 
-        System.out.println("Enter join type (HASH or NESTED): ");
+        System.out.println("Enter join type (AUTO, HASH, NESTED, GRACE or MERGE): ");
         String joinTypeInput = scanner.nextLine().trim().toUpperCase();
 
         TableJoiner tableJoiner = getJoinerType(joinTypeInput);
 
-        TableApplicationService service = new TableApplicationService(new DataReaderImpl(), new TableSorterImpl(), tableJoiner);
+        TableApplicationService service = new TableApplicationService(new DataReaderImpl(), new TableSorterImpl(), tableJoiner, true);
 
         Result<Table> result = service.process(leftCSVPath, rightCSVPath, columnNameToSort);
 
@@ -48,6 +51,9 @@ public class TableApplication {
         JoinType joinType = JoinType.valueOf(joinerType);
         return switch (joinType) {
             case NESTED -> new InnerNestedLoopJoinImpl();
+            case GRACE -> new GraceHashJoinImpl();
+            case MERGE -> new SortMergeJoinImpl();
+            case AUTO -> new AutoJoinImpl();
             default -> new HashJoinImpl();
         };
     }
@@ -1,13 +1,19 @@
 package com.csv.application;
 
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Table;
 import com.csv.application.processor.interfaces.DataReader;
 import com.csv.application.processor.interfaces.TableJoiner;
 import com.csv.application.processor.interfaces.TableSorter;
+import com.csv.application.util.JoinKeyBloomFilter;
+import com.csv.application.util.JoinerUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public class TableApplicationService {
 
     public static final String JOIN_COLUMN = "USER_ID";
@@ -15,34 +21,78 @@ public class TableApplicationService {
     private final DataReader dataReader;
     private final TableSorter tableSorter;
     private final TableJoiner tableJoiner;
+    private final boolean runtimeJoinFilter;
 
     public TableApplicationService(DataReader dataReader,
                                    TableSorter tableSorter,
                                    TableJoiner tableJoiner) {
+        this(dataReader, tableSorter, tableJoiner, false);
+    }
+
+    /**
+     * @param runtimeJoinFilter whether to build a Bloom filter over the join keys of the left table and
+     *                          push it into the reader of the right file, so that right records without
+     *                          a matching left row are dropped while reading
+     */
+    public TableApplicationService(DataReader dataReader,
+                                   TableSorter tableSorter,
+                                   TableJoiner tableJoiner,
+                                   boolean runtimeJoinFilter) {
         this.dataReader = dataReader;
         this.tableSorter = tableSorter;
         this.tableJoiner = tableJoiner;
+        this.runtimeJoinFilter = runtimeJoinFilter;
     }
 
     private static final Logger log = LoggerFactory.getLogger(TableApplicationService.class);
 
     public Result<Table> process(String leftPath, String rightPath, String sortColumn) {
+        return process(leftPath, rightPath, sortColumn, List.of(), List.of());
+    }
 
-        Result<Table> leftTableResult = readTable(leftPath);
+    /**
+     * Reads, sorts and joins both tables like {@link #process(String, String, String)}, but only keeps
+     * the records of each file that satisfy its filters. The filters are pushed down into the reader,
+     * so rows that are filtered out are never built or joined.
+     *
+     * @param leftPath     the path to the left CSV file
+     * @param rightPath    the path to the right CSV file
+     * @param sortColumn   the column to sort by
+     * @param leftFilters  the filters for the records of the left file
+     * @param rightFilters the filters for the records of the right file
+     * @return the joined {@link Table}, or the first failure
+     */
+    public Result<Table> process(String leftPath, String rightPath, String sortColumn,
+                                 List<ColumnFilter> leftFilters, List<ColumnFilter> rightFilters) {
+
+        Result<Table> leftTableResult = readTable(leftPath, leftFilters);
         if (!leftTableResult.isSuccess()) return leftTableResult;
 
-        Result<Table> rightTableResult = readTable(rightPath);
+        JoinKeyBloomFilter joinKeyFilter = null;
+        if (runtimeJoinFilter) {
+            joinKeyFilter = JoinerUtil.joinKeyBloomFilter(leftTableResult.data(), JOIN_COLUMN);
+            rightFilters = Stream.concat(rightFilters.stream(),
+                    Stream.of(JoinerUtil.joinKeyFilter(JOIN_COLUMN, joinKeyFilter))).toList();
+        }
+
+        Result<Table> rightTableResult = readTable(rightPath, rightFilters);
         if (!rightTableResult.isSuccess()) return rightTableResult;
+        if (joinKeyFilter != null) {
+            log.info("Join key filter of the left table eliminated {} records of {}",
+                    joinKeyFilter.eliminatedRows(), rightPath);
+        }
 
         Table sortedLeftTable = sortTableDescending(leftTableResult.data(), sortColumn);
 
         Table sortedRightTable = sortTableDescending(rightTableResult.data(), sortColumn);
 
-        return joinTables(leftTableResult.data(), rightTableResult.data());
+        return joinTables(sortedLeftTable, sortedRightTable);
     }
 
-    private Result<Table> readTable(String path) {
-        Result<Table> result = dataReader.readCSVData(path);
+    private Result<Table> readTable(String path, List<ColumnFilter> filters) {
+        Result<Table> result = filters.isEmpty()
+                ? dataReader.readCSVData(path)
+                : dataReader.readCSVData(path, List.of(), filters);
 
         if (!result.isSuccess()) {
             log.error("Error reading table from path: {}, error: {}", path, result.error());
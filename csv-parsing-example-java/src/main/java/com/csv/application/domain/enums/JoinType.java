@@ -2,5 +2,8 @@ package com.csv.application.domain.enums;
 
 public enum JoinType {
     NESTED,
-    HASH
+    HASH,
+    GRACE,
+    MERGE,
+    AUTO
 }
\ No newline at end of file
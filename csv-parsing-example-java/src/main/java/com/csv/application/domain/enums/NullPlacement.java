@@ -0,0 +1,6 @@
+package com.csv.application.domain.enums;
+
+public enum NullPlacement {
+    FIRST,
+    LAST
+}
@@ -0,0 +1,20 @@
+package com.csv.application.domain.enums;
+
+/**
+ * How the values of a sort column are compared.
+ */
+public enum SortValueType {
+    /**
+     * Numerically if both values are numbers, as case-insensitive text otherwise, like
+     * {@link com.csv.application.util.SortUtils#createValueComparator()}.
+     */
+    AUTO,
+    /**
+     * Numerically; values that are not numbers are placed with the missing values.
+     */
+    NUMERIC,
+    /**
+     * As case-insensitive text, even if the values are numbers.
+     */
+    TEXT
+}
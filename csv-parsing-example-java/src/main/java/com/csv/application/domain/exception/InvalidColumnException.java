@@ -0,0 +1,13 @@
+package com.csv.application.domain.exception;
+
+public class InvalidColumnException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private String message;
+
+    public InvalidColumnException(String message) {
+        super(message);
+        this.message = message;
+    }
+}
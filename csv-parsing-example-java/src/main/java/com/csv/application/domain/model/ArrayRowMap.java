@@ -0,0 +1,197 @@
+package com.csv.application.domain.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact {@link Map} view of a single row: the header to index mapping lives in the shared
+ * {@link RowSchema}, the row itself only holds its values in a {@code String[]}.
+ * <p>
+ * The map is fully mutable, like the {@link java.util.HashMap} rows it replaces. Columns outside the
+ * schema are kept in a map of their own that only the rows that are given such columns allocate, and
+ * removed schema columns are marked in a bit set, so a change to one row never affects the others.
+ * Read-only rows reject every change instead; they are views whose changes would be lost.
+ * </p>
+ */
+final class ArrayRowMap extends AbstractMap<String, String> {
+
+    private final RowSchema schema;
+    private final String[] values;
+    private final boolean readOnly;
+    private BitSet removedColumns;
+    private Map<String, String> extraValues;
+
+    ArrayRowMap(RowSchema schema, String[] values, boolean readOnly) {
+        if (values.length != schema.size()) {
+            throw new IllegalArgumentException("Row has " + values.length + " values but schema has "
+                    + schema.size() + " columns.");
+        }
+        this.schema = schema;
+        this.values = values;
+        this.readOnly = readOnly;
+    }
+
+    RowSchema schema() {
+        return schema;
+    }
+
+    String valueAt(int columnIndex) {
+        return values[columnIndex];
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = schema.indexOf(key);
+        if (index >= 0) {
+            return values[index];
+        }
+        return extraValues == null ? null : extraValues.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int index = schema.indexOf(key);
+        if (index >= 0) {
+            return !isRemoved(index);
+        }
+        return extraValues != null && extraValues.containsKey(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        checkWritable();
+        int index = schema.indexOf(key);
+        if (index < 0) {
+            if (extraValues == null) {
+                extraValues = new LinkedHashMap<>();
+            }
+            return extraValues.put(key, value);
+        }
+        String previous = values[index];
+        values[index] = value;
+        if (isRemoved(index)) {
+            removedColumns.clear(index);
+        }
+        return previous;
+    }
+
+    @Override
+    public String remove(Object key) {
+        checkWritable();
+        int index = schema.indexOf(key);
+        if (index < 0) {
+            return extraValues == null ? null : extraValues.remove(key);
+        }
+        if (isRemoved(index)) {
+            return null;
+        }
+        if (removedColumns == null) {
+            removedColumns = new BitSet(values.length);
+        }
+        removedColumns.set(index);
+        String previous = values[index];
+        values[index] = null;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        int removed = removedColumns == null ? 0 : removedColumns.cardinality();
+        return schema.visibleSize() - removed + (extraValues == null ? 0 : extraValues.size());
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Row views are read-only, materialize them to modify rows.");
+        }
+    }
+
+    private boolean isRemoved(int index) {
+        return removedColumns != null && removedColumns.get(index);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ArrayRowMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates the schema columns in schema order, then the columns outside the schema in the order
+     * they were added.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Entry<String, String>> extraEntries;
+
+        private int advance(int from) {
+            int index = from;
+            while (index < values.length && (!schema.isVisible(index) || isRemoved(index))) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (extraEntries == null && extraValues != null) {
+                extraEntries = extraValues.entrySet().iterator();
+            }
+            return extraEntries != null && extraEntries.hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next >= values.length) {
+                last = -1;
+                return extraEntries.next();
+            }
+            int index = next;
+            last = index;
+            next = advance(index + 1);
+            return new SimpleEntry<>(schema.headers().get(index), values[index]) {
+                @Override
+                public String setValue(String value) {
+                    checkWritable();
+                    values[index] = value;
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (last >= 0) {
+                ArrayRowMap.this.remove(schema.headers().get(last));
+                last = -1;
+            } else if (extraEntries != null) {
+                extraEntries.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
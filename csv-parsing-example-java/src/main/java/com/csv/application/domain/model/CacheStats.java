@@ -0,0 +1,13 @@
+package com.csv.application.domain.model;
+
+/**
+ * Snapshot of the counters of an in-memory table cache.
+ *
+ * @param hits           the number of reads answered from the cache
+ * @param misses         the number of reads that had to parse the file
+ * @param evictions      the number of tables evicted to stay within the size limit
+ * @param entries        the number of tables currently cached
+ * @param estimatedBytes the estimated heap size of the currently cached tables
+ */
+public record CacheStats(long hits, long misses, long evictions, int entries, long estimatedBytes) {
+}
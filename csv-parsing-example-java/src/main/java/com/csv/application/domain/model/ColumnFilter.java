@@ -0,0 +1,76 @@
+package com.csv.application.domain.model;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A condition on the value of a single column, evaluated by the readers on the field text of every
+ * record before a {@link Row} is built for it. Missing, blank or {@code "null"} fields are tested as
+ * an empty string, the same value the resulting row would hold.
+ *
+ * @param column    the header of the column to test
+ * @param condition the condition the field value has to satisfy for the record to be kept
+ */
+public record ColumnFilter(String column, Predicate<String> condition) {
+
+    public boolean test(String value) {
+        return condition.test(value);
+    }
+
+    /**
+     * @param column the header of the column to test
+     * @param value  the exact value the field has to be equal to
+     * @return a filter keeping the records whose field is equal to the value
+     */
+    public static ColumnFilter equalTo(String column, String value) {
+        return new ColumnFilter(column, value::equals);
+    }
+
+    /**
+     * @param column the header of the column to test
+     * @param values the values the field has to be equal to one of
+     * @return a filter keeping the records whose field is equal to one of the values
+     */
+    public static ColumnFilter in(String column, Collection<String> values) {
+        Set<String> accepted = new HashSet<>(values);
+        return new ColumnFilter(column, accepted::contains);
+    }
+
+    /**
+     * Creates a filter keeping the records whose field lies between the given bounds, both inclusive.
+     * If both bounds are numbers, the field is compared numerically and non-numeric fields never match;
+     * otherwise the field is compared as a case-insensitive string. Empty fields never match.
+     *
+     * @param column     the header of the column to test
+     * @param lowerBound the smallest accepted value
+     * @param upperBound the largest accepted value
+     * @return a filter keeping the records whose field lies within the bounds
+     */
+    public static ColumnFilter between(String column, String lowerBound, String upperBound) {
+        Double lowerNumber = parseNumber(lowerBound);
+        Double upperNumber = parseNumber(upperBound);
+        if (lowerNumber != null && upperNumber != null) {
+            double lower = lowerNumber;
+            double upper = upperNumber;
+            return new ColumnFilter(column, value -> {
+                Double number = parseNumber(value);
+                return number != null && number >= lower && number <= upper;
+            });
+        }
+        return new ColumnFilter(column, value -> !value.isEmpty()
+                && value.compareToIgnoreCase(lowerBound) >= 0 && value.compareToIgnoreCase(upperBound) <= 0);
+    }
+
+    private static Double parseNumber(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.csv.application.domain.model;
+
+import java.util.List;
+
+/**
+ * The matching row index pairs of a join: match {@code i} pairs left row {@code leftRows[i]}
+ * with right row {@code rightRows[i]}.
+ */
+public record JoinMatches(int[] leftRows, int[] rightRows) {
+
+    public int size() {
+        return leftRows.length;
+    }
+
+    /**
+     * @param parts the matches to append, in output order
+     * @return the matches of all parts, one part after the other
+     */
+    public static JoinMatches concat(List<JoinMatches> parts) {
+        if (parts.size() == 1) {
+            return parts.getFirst();
+        }
+        int size = parts.stream().mapToInt(JoinMatches::size).sum();
+        int[] leftRows = new int[size];
+        int[] rightRows = new int[size];
+        int position = 0;
+        for (JoinMatches part : parts) {
+            System.arraycopy(part.leftRows(), 0, leftRows, position, part.size());
+            System.arraycopy(part.rightRows(), 0, rightRows, position, part.size());
+            position += part.size();
+        }
+        return new JoinMatches(leftRows, rightRows);
+    }
+}
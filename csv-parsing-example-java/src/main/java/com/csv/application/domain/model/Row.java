@@ -4,10 +4,61 @@ import java.util.Map;
 
 public record Row(Map<String, String> rows){
 
+    /**
+     * Creates a compact row that shares the header to index mapping of the given schema
+     * and only holds its own values.
+     *
+     * @param schema the schema shared by all rows of a table
+     * @param values the values of the row, in schema column order
+     * @return an array-backed {@link Row}
+     */
+    public static Row of(RowSchema schema, String[] values) {
+        return new Row(new ArrayRowMap(schema, values, false));
+    }
+
+    /**
+     * Creates a compact row like {@link #of(RowSchema, String[])} that rejects every change with an
+     * {@link UnsupportedOperationException}, for rows that are views of data stored elsewhere.
+     *
+     * @param schema the schema shared by all rows of a table
+     * @param values the values of the row, in schema column order
+     * @return a read-only array-backed {@link Row}
+     */
+    public static Row readOnlyOf(RowSchema schema, String[] values) {
+        return new Row(new ArrayRowMap(schema, values, true));
+    }
+
     public String get(String columnName) {
         return rows.get(columnName);
     }
 
+    /**
+     * Reads a value by its column index when the row is array-backed and the index belongs to the
+     * given column, and falls back to a lookup by name otherwise.
+     *
+     * @param columnIndex the index of the column in the table headers
+     * @param columnName  the name of the column
+     * @return the value of the column, or {@code null} if the row has no such column
+     */
+    public String get(int columnIndex, String columnName) {
+        if (rows instanceof ArrayRowMap arrayRow && arrayRow.schema().isAt(columnIndex, columnName)) {
+            return arrayRow.valueAt(columnIndex);
+        }
+        return rows.get(columnName);
+    }
+
+    /**
+     * Sets the value of a column, adding the column to this row if it has none of that name. An
+     * array-backed row keeps columns outside its schema to itself, so the other rows of the table
+     * and the table headers are unchanged.
+     * <p>
+     * Rows that are views, like the rows of a columnar table, are read-only and throw instead.
+     * </p>
+     *
+     * @param columnName the name of the column
+     * @param value      the new value of the column
+     * @throws UnsupportedOperationException if the row is a read-only view
+     */
     public void set(String columnName, String value) {
         rows.put(columnName, value);
     }
@@ -0,0 +1,79 @@
+package com.csv.application.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Column layout shared by all array-backed {@link Row}s of a table.
+ * Maps every header to its column index once, so rows only need to hold their values.
+ * If a header occurs more than once, the first occurrence wins.
+ */
+public final class RowSchema {
+
+    private final List<String> headers;
+    private final String[] columns;
+    private final boolean[] visible;
+    private final Map<String, Integer> indexes;
+
+    private RowSchema(List<String> headers) {
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.columns = this.headers.toArray(String[]::new);
+        this.visible = new boolean[columns.length];
+        this.indexes = new HashMap<>();
+        for (int index = 0; index < columns.length; index++) {
+            visible[index] = indexes.putIfAbsent(columns[index], index) == null;
+        }
+    }
+
+    public static RowSchema of(List<String> headers) {
+        return new RowSchema(headers);
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    public int size() {
+        return columns.length;
+    }
+
+    /**
+     * Returns the column index of the given header.
+     *
+     * @param header the header to look up
+     * @return the index of the first column with that header, or {@code -1} if it is not part of the schema
+     */
+    public int indexOf(Object header) {
+        Integer index = indexes.get(header);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Checks whether the given header is stored at the given column index.
+     * Used to validate an index resolved once per table before reading values by position.
+     *
+     * @param columnIndex the column index to check
+     * @param header      the expected header at that index
+     * @return {@code true} if the header is the first column with that name at the given index
+     */
+    public boolean isAt(int columnIndex, String header) {
+        return columnIndex >= 0 && columnIndex < columns.length
+                && visible[columnIndex] && Objects.equals(columns[columnIndex], header);
+    }
+
+    /**
+     * @param columnIndex the column index to check
+     * @return {@code true} if the column is the first one with its header and therefore visible through the row map
+     */
+    boolean isVisible(int columnIndex) {
+        return visible[columnIndex];
+    }
+
+    int visibleSize() {
+        return indexes.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.csv.application.domain.model;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A lazily parsed view over a CSV source. Rows are only read from the underlying file
+ * while {@link #rows()} is consumed, so memory stays flat regardless of the file size.
+ * The stream holds an open file handle and must be closed by the caller.
+ */
+public record RowStream(List<String> headers, Stream<Row> rows) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        rows.close();
+    }
+}
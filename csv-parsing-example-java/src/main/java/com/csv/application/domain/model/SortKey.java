@@ -0,0 +1,33 @@
+package com.csv.application.domain.model;
+
+import com.csv.application.domain.enums.NullPlacement;
+import com.csv.application.domain.enums.SortDirection;
+import com.csv.application.domain.enums.SortValueType;
+
+/**
+ * One column of a multi-column ordering: rows that compare as equal on a sort key are ordered by the
+ * next one.
+ *
+ * @param columnName    the name of the column to sort by
+ * @param direction     whether the column is sorted ascending or descending
+ * @param nullPlacement whether missing values, that is {@code null}, empty or blank ones, come first or
+ *                      last, independently of the direction
+ * @param valueType     how the values of the column are compared
+ */
+public record SortKey(String columnName, SortDirection direction, NullPlacement nullPlacement,
+                      SortValueType valueType) {
+
+    /**
+     * @return the key of {@code TableSorter#sortTableByDesc}: descending, nulls last, numeric-or-text
+     */
+    public static SortKey descending(String columnName) {
+        return new SortKey(columnName, SortDirection.DESC, NullPlacement.LAST, SortValueType.AUTO);
+    }
+
+    /**
+     * @return an ascending numeric-or-text key with nulls last
+     */
+    public static SortKey ascending(String columnName) {
+        return new SortKey(columnName, SortDirection.ASC, NullPlacement.LAST, SortValueType.AUTO);
+    }
+}
@@ -0,0 +1,24 @@
+package com.csv.application.domain.model.column;
+
+/**
+ * A single column of a columnar table, holding the values of one header for all rows.
+ * Empty values are stored as {@code ""}, exactly as the row-based readers produce them.
+ */
+public sealed interface Column permits StringColumn, DictionaryColumn, LongColumn, DoubleColumn {
+
+    int size();
+
+    /**
+     * @param row the row index
+     * @return the value of the column in the given row
+     */
+    String get(int row);
+
+    /**
+     * Gathers the values of the given rows into a new column of the same kind.
+     *
+     * @param rows the row indexes to keep, in output order
+     * @return a new column with {@code rows.length} values
+     */
+    Column select(int[] rows);
+}
@@ -0,0 +1,249 @@
+package com.csv.application.domain.model.column;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the values of one column while a CSV file is parsed and picks the column encoding.
+ * <p>
+ * The column type is inferred from the data: if every non-empty value is a canonical integer, the
+ * column is stored as a {@link LongColumn}; canonical means the text round-trips through the
+ * {@code long}, so no information is lost. If every non-empty value is a finite decimal number, such
+ * as {@code "12.50"}, {@code "100"} or {@code "1e3"}, the column is stored as a {@link DoubleColumn},
+ * which keeps the original text of the values that do not round-trip through the {@code double}.
+ * A column of integers is thus promoted to doubles once a decimal value appears. Empty values are
+ * recorded in a null bitmap. Integers with leading zeros, such as {@code "007"}, are not treated as
+ * numbers, so codes and identifiers keep a text encoding.
+ * </p>
+ * <p>
+ * Other values are dictionary-encoded as long as the number of distinct values stays small. Once the
+ * dictionary grows past {@link #MAX_DICTIONARY_SIZE}, the builder falls back to a plain
+ * {@link StringColumn}. A dictionary is only kept if every value is repeated at least twice on average.
+ * </p>
+ */
+public final class ColumnBuilder {
+
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Map<String, Integer> dictionaryCodes = new HashMap<>();
+    private String[] dictionary = new String[16];
+    private int[] codes = new int[INITIAL_CAPACITY];
+    private String[] values;
+    private int size;
+    private int nonEmptyCount;
+    private boolean allLongs = true;
+    private boolean allDoubles = true;
+
+    public void add(String value) {
+        inferType(value);
+        if (values != null) {
+            ensureValuesCapacity();
+            values[size++] = value;
+            return;
+        }
+        Integer code = dictionaryCodes.get(value);
+        if (code == null) {
+            if (dictionaryCodes.size() == MAX_DICTIONARY_SIZE) {
+                switchToPlainValues();
+                add(value);
+                return;
+            }
+            code = dictionaryCodes.size();
+            dictionaryCodes.put(value, code);
+            if (code == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, dictionary.length * 2);
+            }
+            dictionary[code] = value;
+        }
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, codes.length * 2);
+        }
+        codes[size++] = code;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Column build() {
+        if (nonEmptyCount > 0 && allLongs) {
+            return buildLongColumn();
+        }
+        if (nonEmptyCount > 0 && allDoubles) {
+            return buildDoubleColumn();
+        }
+        if (values == null && dictionaryCodes.size() * 2 <= size) {
+            return new DictionaryColumn(Arrays.copyOf(dictionary, dictionaryCodes.size()), Arrays.copyOf(codes, size));
+        }
+        if (values == null) {
+            switchToPlainValues();
+        }
+        return new StringColumn(Arrays.copyOf(values, size));
+    }
+
+    private void switchToPlainValues() {
+        values = new String[Math.max(INITIAL_CAPACITY, size * 2)];
+        for (int index = 0; index < size; index++) {
+            values[index] = dictionary[codes[index]];
+        }
+        dictionaryCodes = null;
+        dictionary = null;
+        codes = null;
+    }
+
+    private void ensureValuesCapacity() {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+    }
+
+    private void inferType(String value) {
+        if (value == null) {
+            allLongs = false;
+            allDoubles = false;
+            return;
+        }
+        if (value.isEmpty()) {
+            return;
+        }
+        nonEmptyCount++;
+        if (allLongs && isCanonicalLong(value)) {
+            return;
+        }
+        allLongs = false;
+        allDoubles = allDoubles && isFiniteDecimal(value);
+    }
+
+    /**
+     * Once every value is known to be a number, each distinct value is parsed exactly once:
+     * the dictionary entries in dictionary mode, otherwise every value.
+     */
+    private Column buildLongColumn() {
+        long[] longs = new long[size];
+        BitSet nulls = new BitSet(size);
+        long[] dictionaryLongs = values == null ? parseDictionaryLongs() : null;
+        for (int row = 0; row < size; row++) {
+            String value = valueAt(row);
+            if (value.isEmpty()) {
+                nulls.set(row);
+            } else {
+                longs[row] = dictionaryLongs != null ? dictionaryLongs[codes[row]] : Long.parseLong(value);
+            }
+        }
+        return new LongColumn(longs, nulls);
+    }
+
+    /**
+     * Only the text of values that do not round-trip is kept; in dictionary mode the kept texts are the
+     * dictionary entries themselves, so repeated values share one string.
+     */
+    private Column buildDoubleColumn() {
+        double[] doubles = new double[size];
+        BitSet nulls = new BitSet(size);
+        String[] texts = null;
+        for (int row = 0; row < size; row++) {
+            String value = valueAt(row);
+            if (value.isEmpty()) {
+                nulls.set(row);
+                continue;
+            }
+            doubles[row] = Double.parseDouble(value);
+            if (!Double.toString(doubles[row]).equals(value)) {
+                if (texts == null) {
+                    texts = new String[size];
+                }
+                texts[row] = value;
+            }
+        }
+        return new DoubleColumn(doubles, nulls, texts);
+    }
+
+    private long[] parseDictionaryLongs() {
+        long[] parsed = new long[dictionaryCodes.size()];
+        for (int code = 0; code < parsed.length; code++) {
+            parsed[code] = dictionary[code].isEmpty() ? 0 : Long.parseLong(dictionary[code]);
+        }
+        return parsed;
+    }
+
+    private String valueAt(int row) {
+        return values != null ? values[row] : dictionary[codes[row]];
+    }
+
+    /**
+     * Checks that the text is exactly what {@link Long#toString(long)} produces: an optional minus sign,
+     * no leading zeros, no {@code "-0"} and within the {@code long} range.
+     */
+    public static boolean isCanonicalLong(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int length = value.length();
+        if (start == length || length - start > 19) {
+            return false;
+        }
+        if (value.charAt(start) == '0' && (length - start > 1 || start == 1)) {
+            return false;
+        }
+        for (int index = start; index < length; index++) {
+            char current = value.charAt(index);
+            if (current < '0' || current > '9') {
+                return false;
+            }
+        }
+        if (length - start < 19) {
+            return true;
+        }
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that the text is a finite decimal number: an optional sign, digits with an optional
+     * fraction and an optional exponent, and no leading zeros before other integer digits. The syntax
+     * is checked by hand, so non-numeric text is rejected without an exception.
+     */
+    static boolean isFiniteDecimal(String value) {
+        int length = value.length();
+        int index = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        int integerStart = index;
+        index = skipDigits(value, index);
+        int integerDigits = index - integerStart;
+        if (integerDigits > 1 && value.charAt(integerStart) == '0') {
+            return false;
+        }
+        int fractionDigits = 0;
+        if (index < length && value.charAt(index) == '.') {
+            int fractionStart = ++index;
+            index = skipDigits(value, index);
+            fractionDigits = index - fractionStart;
+        }
+        if (integerDigits + fractionDigits == 0) {
+            return false;
+        }
+        if (index < length && (value.charAt(index) == 'e' || value.charAt(index) == 'E')) {
+            index++;
+            if (index < length && (value.charAt(index) == '-' || value.charAt(index) == '+')) {
+                index++;
+            }
+            int exponentStart = index;
+            index = skipDigits(value, index);
+            if (index == exponentStart) {
+                return false;
+            }
+        }
+        return index == length && Double.isFinite(Double.parseDouble(value));
+    }
+
+    private static int skipDigits(String value, int index) {
+        while (index < value.length() && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+}
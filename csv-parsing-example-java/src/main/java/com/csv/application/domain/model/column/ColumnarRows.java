@@ -0,0 +1,172 @@
+package com.csv.application.domain.model.column;
+
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.Table;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar storage for the rows of a {@link Table}: one {@link Column} per header instead of one
+ * object per row.
+ * <p>
+ * A columnar table is a regular {@link Table} whose {@code rows()} is a {@code ColumnarRows} instance,
+ * so every existing consumer keeps working on {@link Row} views that are materialized on access.
+ * The views are read-only, since a change to one would not reach the columns; {@link #materialize()}
+ * copies the rows for callers that modify them. Operators that know about the columnar layout check
+ * for this type and scan single columns directly.
+ * </p>
+ */
+public final class ColumnarRows extends AbstractList<Row> implements RandomAccess {
+
+    private static final int ESTIMATED_STRING_OVERHEAD = 40;
+
+    private final RowSchema schema;
+    private final List<Column> columns;
+    private final int size;
+
+    public ColumnarRows(RowSchema schema, List<Column> columns, int size) {
+        if (schema.size() != columns.size()) {
+            throw new IllegalArgumentException("Schema has " + schema.size() + " columns but "
+                    + columns.size() + " columns were given.");
+        }
+        this.schema = schema;
+        this.columns = List.copyOf(columns);
+        this.size = size;
+    }
+
+    /**
+     * Creates a columnar {@link Table} from the given headers and columns.
+     *
+     * @param headers the headers of the table
+     * @param columns one column per header, all of the same size
+     * @param size    the number of rows
+     * @return a {@link Table} backed by {@code ColumnarRows}
+     */
+    public static Table columnarTable(List<String> headers, List<Column> columns, int size) {
+        RowSchema schema = RowSchema.of(headers);
+        return new Table(schema.headers(), new ColumnarRows(schema, columns, size));
+    }
+
+    /**
+     * Converts a row-based {@link Table} into its columnar representation, dictionary-encoding
+     * low-cardinality columns. A table that already is columnar is returned as is.
+     *
+     * @param table the table to convert
+     * @return a columnar {@link Table} with the same headers and values
+     */
+    public static Table toColumnarTable(Table table) {
+        if (table.rows() instanceof ColumnarRows) {
+            return table;
+        }
+        List<String> headers = table.headers();
+        List<ColumnBuilder> builders = new ArrayList<>(headers.size());
+        headers.forEach(header -> builders.add(new ColumnBuilder()));
+        for (Row row : table.rows()) {
+            for (int index = 0; index < headers.size(); index++) {
+                builders.get(index).add(row.get(index, headers.get(index)));
+            }
+        }
+        return columnarTable(headers, builders.stream().map(ColumnBuilder::build).toList(), table.rows().size());
+    }
+
+    public RowSchema schema() {
+        return schema;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    public Column column(int columnIndex) {
+        return columns.get(columnIndex);
+    }
+
+    /**
+     * @param columnName the header of the column
+     * @return the column with that header, or {@code null} if the table has no such column
+     */
+    public Column column(String columnName) {
+        int columnIndex = schema.indexOf(columnName);
+        return columnIndex < 0 ? null : columns.get(columnIndex);
+    }
+
+    /**
+     * Gathers the given rows of every column into new columnar rows, e.g. to apply a sort order.
+     *
+     * @param rows the row indexes to keep, in output order
+     * @return new {@code ColumnarRows} with the selected rows
+     */
+    public ColumnarRows select(int[] rows) {
+        return new ColumnarRows(schema, columns.stream().map(column -> column.select(rows)).toList(), rows.length);
+    }
+
+    /**
+     * Estimates the heap size of the column data. Strings are counted with their object and array
+     * headers, dictionary values only once.
+     *
+     * @return the estimated size of all columns in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += switch (column) {
+                case StringColumn stringColumn -> estimatedBytes(stringColumn.values());
+                case DictionaryColumn dictionaryColumn -> estimatedBytes(dictionaryColumn.dictionary())
+                        + (long) Integer.BYTES * dictionaryColumn.size();
+                case LongColumn longColumn -> (long) Long.BYTES * longColumn.size() + longColumn.size() / Byte.SIZE;
+                case DoubleColumn doubleColumn -> (long) Double.BYTES * doubleColumn.size() + doubleColumn.size() / Byte.SIZE
+                        + (doubleColumn.texts() != null ? estimatedBytes(doubleColumn.texts()) : 0);
+            };
+        }
+        return bytes;
+    }
+
+    private static long estimatedBytes(String[] values) {
+        long bytes = (long) Long.BYTES * values.length;
+        for (String value : values) {
+            bytes += value == null ? 0 : ESTIMATED_STRING_OVERHEAD + value.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Copies every row into an array-backed {@link Row} of its own that can be modified.
+     *
+     * @return the rows, independent of the columns
+     */
+    public List<Row> materialize() {
+        List<Row> rows = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            rows.add(Row.of(schema, values(index)));
+        }
+        return rows;
+    }
+
+    /**
+     * @return a read-only view of the row at the given index
+     */
+    @Override
+    public Row get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return Row.readOnlyOf(schema, values(index));
+    }
+
+    private String[] values(int index) {
+        String[] values = new String[columns.size()];
+        for (int columnIndex = 0; columnIndex < values.length; columnIndex++) {
+            values[columnIndex] = columns.get(columnIndex).get(index);
+        }
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,32 @@
+package com.csv.application.domain.model.column;
+
+/**
+ * Dictionary-encoded column for low-cardinality values. Every distinct value is stored once in
+ * {@code dictionary} and each row only holds the {@code int} code of its value.
+ * Sorting and hashing can work on the dictionary once and then on the codes only.
+ */
+public record DictionaryColumn(String[] dictionary, int[] codes) implements Column {
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public String get(int row) {
+        return dictionary[codes[row]];
+    }
+
+    public int code(int row) {
+        return codes[row];
+    }
+
+    @Override
+    public Column select(int[] rows) {
+        int[] selected = new int[rows.length];
+        for (int index = 0; index < rows.length; index++) {
+            selected[index] = codes[rows[index]];
+        }
+        return new DictionaryColumn(dictionary, selected);
+    }
+}
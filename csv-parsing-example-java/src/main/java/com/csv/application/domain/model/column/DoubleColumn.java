@@ -0,0 +1,56 @@
+package com.csv.application.domain.model.column;
+
+import java.util.BitSet;
+
+/**
+ * Column of floating point values stored as primitive {@code double}s. Rows without a value are marked
+ * in the {@code nulls} bitmap and read back as an empty string, like the row-based readers produce them.
+ * Values whose text is not the canonical {@link Double#toString(double)} form, such as {@code "12.50"}
+ * or {@code "100"}, keep their original text in {@code texts}, so {@link #get(int)} always returns
+ * exactly the text that was read. {@code texts} is {@code null} if every value is canonical, and
+ * otherwise holds {@code null} for the rows whose text is canonical.
+ */
+public record DoubleColumn(double[] values, BitSet nulls, String[] texts) implements Column {
+
+    public DoubleColumn(double[] values, BitSet nulls) {
+        this(values, nulls, null);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String get(int row) {
+        if (isNull(row)) {
+            return "";
+        }
+        return texts != null && texts[row] != null ? texts[row] : Double.toString(values[row]);
+    }
+
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    public double value(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Column select(int[] rows) {
+        double[] selected = new double[rows.length];
+        BitSet selectedNulls = new BitSet(rows.length);
+        String[] selectedTexts = texts != null ? new String[rows.length] : null;
+        for (int index = 0; index < rows.length; index++) {
+            selected[index] = values[rows[index]];
+            if (nulls.get(rows[index])) {
+                selectedNulls.set(index);
+            }
+            if (selectedTexts != null) {
+                selectedTexts[index] = texts[rows[index]];
+            }
+        }
+        return new DoubleColumn(selected, selectedNulls, selectedTexts);
+    }
+}
@@ -0,0 +1,43 @@
+package com.csv.application.domain.model.column;
+
+import java.util.BitSet;
+
+/**
+ * Column of integral values stored as primitive {@code long}s. Rows without a value are marked in
+ * the {@code nulls} bitmap and read back as an empty string, like the row-based readers produce them.
+ * Only values whose text is the canonical {@link Long#toString(long)} form are stored this way,
+ * so {@link #get(int)} returns exactly the text that was read.
+ */
+public record LongColumn(long[] values, BitSet nulls) implements Column {
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String get(int row) {
+        return isNull(row) ? "" : Long.toString(values[row]);
+    }
+
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    public long value(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Column select(int[] rows) {
+        long[] selected = new long[rows.length];
+        BitSet selectedNulls = new BitSet(rows.length);
+        for (int index = 0; index < rows.length; index++) {
+            selected[index] = values[rows[index]];
+            if (nulls.get(rows[index])) {
+                selectedNulls.set(index);
+            }
+        }
+        return new LongColumn(selected, selectedNulls);
+    }
+}
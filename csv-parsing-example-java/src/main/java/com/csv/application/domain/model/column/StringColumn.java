@@ -0,0 +1,26 @@
+package com.csv.application.domain.model.column;
+
+/**
+ * Plain column storing one {@link String} reference per row. Used for high-cardinality values.
+ */
+public record StringColumn(String[] values) implements Column {
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String get(int row) {
+        return values[row];
+    }
+
+    @Override
+    public Column select(int[] rows) {
+        String[] selected = new String[rows.length];
+        for (int index = 0; index < rows.length; index++) {
+            selected[index] = values[rows[index]];
+        }
+        return new StringColumn(selected);
+    }
+}
@@ -0,0 +1,298 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.JoinType;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.processor.interfaces.TableJoiner;
+import org.apache.commons.lang3.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static com.csv.application.processor.GraceHashJoinImpl.DEFAULT_MEMORY_BUDGET;
+import static com.csv.application.processor.GraceHashJoinImpl.ESTIMATED_ENTRY_OVERHEAD;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNamesAndTables;
+import static com.csv.application.util.JoinerUtil.normalizeJoinKey;
+
+/**
+ * Inner join that picks the cheapest of the other joiners for every pair of inputs and logs which
+ * plan it picked and why.
+ * <p>
+ * The plan is chosen from the input cardinalities, the distinctness and length of the join keys,
+ * estimated from a sample of rows, and whether the inputs are already sorted on the key:
+ * </p>
+ * <ol>
+ *     <li>{@link InnerNestedLoopJoinImpl} for tiny inputs, where comparing every pair of keys is
+ *     cheaper than building a hash table;</li>
+ *     <li>{@link SortMergeJoinImpl} if both inputs are already sorted the same way on the key, so they
+ *     are merged without sorting and without a hash table;</li>
+ *     <li>{@link GraceHashJoinImpl} if the hash table of the smaller input is estimated to exceed the
+ *     memory budget;</li>
+ *     <li>{@link HashJoinImpl} otherwise.</li>
+ * </ol>
+ * <p>
+ * The nested-loop join keeps the right value of a non-key column both tables have, while the other
+ * joiners keep the left one; it is only picked for inputs without such a column, so the result does
+ * not depend on the plan.
+ * </p>
+ */
+public class AutoJoinImpl implements TableJoiner {
+
+    private static final Logger log = LoggerFactory.getLogger(AutoJoinImpl.class);
+    static final long MAX_NESTED_LOOP_COMPARISONS = 10_000;
+    private static final int SAMPLE_SIZE = 1024;
+
+    private final long memoryBudgetBytes;
+    private final TableJoiner nestedLoopJoiner = new InnerNestedLoopJoinImpl();
+    private final TableJoiner hashJoiner = new HashJoinImpl();
+    private final TableJoiner sortMergeJoiner = new SortMergeJoinImpl();
+    private final TableJoiner graceHashJoiner;
+
+    public AutoJoinImpl() {
+        this(DEFAULT_MEMORY_BUDGET, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudgetBytes the estimated heap size the hash table of a join may use before it is
+     *                          partitioned to disk
+     * @param spillDirectory    the directory for the temporary partition files of a grace hash join
+     */
+    public AutoJoinImpl(long memoryBudgetBytes, Path spillDirectory) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.graceHashJoiner = new GraceHashJoinImpl(memoryBudgetBytes, spillDirectory);
+    }
+
+    @Override
+    public Result<Table> joinTables(String leftKey, String rightKey, Table left, Table right) {
+        if (isInvalidInput(leftKey, rightKey, left, right)) {
+            return hashJoiner.joinTables(leftKey, rightKey, left, right);
+        }
+        return joiner(plan(leftKey, rightKey, left, right)).joinTables(leftKey, rightKey, left, right);
+    }
+
+    /**
+     * Picks the plan like {@link #joinTables(String, String, Table, Table)} and joins lazily with it.
+     */
+    @Override
+    public Result<Table> joinTablesLazily(String leftKey, String rightKey, Table left, Table right) {
+        if (isInvalidInput(leftKey, rightKey, left, right)) {
+            return hashJoiner.joinTablesLazily(leftKey, rightKey, left, right);
+        }
+        return joiner(plan(leftKey, rightKey, left, right)).joinTablesLazily(leftKey, rightKey, left, right);
+    }
+
+    /**
+     * Joins on several key columns at once with the nested-loop join for tiny inputs and with the hash
+     * join otherwise, the only joiners that support composite keys.
+     */
+    @Override
+    public Result<Table> joinTables(List<String> leftKeys, List<String> rightKeys, Table left, Table right) {
+        if (isInvalidColumnNamesAndTables(leftKeys, rightKeys, left, right) || leftKeys.size() != rightKeys.size()
+                || ObjectUtils.isEmpty(left.headers()) || ObjectUtils.isEmpty(right.headers())) {
+            return hashJoiner.joinTables(leftKeys, rightKeys, left, right);
+        }
+        if (leftKeys.size() == 1) {
+            return joinTables(leftKeys.getFirst(), rightKeys.getFirst(), left, right);
+        }
+        long comparisons = (long) left.rows().size() * right.rows().size();
+        JoinPlan plan = comparisons <= MAX_NESTED_LOOP_COMPARISONS && !sharesNonKeyColumn(rightKeys, left, right)
+                ? new JoinPlan(JoinType.NESTED, String.format(
+                "%d x %d rows need only %d key comparisons, fewer than building a hash table costs",
+                left.rows().size(), right.rows().size(), comparisons))
+                : new JoinPlan(JoinType.HASH, "composite keys of " + left.rows().size() + " x "
+                + right.rows().size() + " rows are joined by hash");
+        log.info("AUTO join picked the {} plan: {}", plan.joinType(), plan.reason());
+        return joiner(plan).joinTables(leftKeys, rightKeys, left, right);
+    }
+
+    /**
+     * Chooses the join plan for the given inputs and logs it.
+     *
+     * @param leftKey  the join key column from the left table
+     * @param rightKey the join key column from the right table
+     * @param left     the left table
+     * @param right    the right table
+     * @return the joiner to use and the reason it was picked
+     */
+    JoinPlan plan(String leftKey, String rightKey, Table left, Table right) {
+        JoinPlan plan = choosePlan(leftKey, rightKey, left, right);
+        log.info("AUTO join picked the {} plan: {}", plan.joinType(), plan.reason());
+        return plan;
+    }
+
+    private JoinPlan choosePlan(String leftKey, String rightKey, Table left, Table right) {
+        int leftRows = left.rows().size();
+        int rightRows = right.rows().size();
+        long comparisons = (long) leftRows * rightRows;
+        if (comparisons <= MAX_NESTED_LOOP_COMPARISONS && !sharesNonKeyColumn(List.of(rightKey), left, right)) {
+            return new JoinPlan(JoinType.NESTED, String.format(
+                    "%d x %d rows need only %d key comparisons, fewer than building a hash table costs",
+                    leftRows, rightRows, comparisons));
+        }
+
+        int leftOrder = keyOrder(left, leftKey);
+        if (leftOrder != 0 && leftOrder == keyOrder(right, rightKey)) {
+            return new JoinPlan(JoinType.MERGE, String.format(
+                    "both inputs (%d and %d rows) are already sorted %s on the join key and are merged without a hash table",
+                    leftRows, rightRows, leftOrder > 0 ? "ascending" : "descending"));
+        }
+
+        KeyStatistics leftKeys = KeyStatistics.of(left, leftKey);
+        KeyStatistics rightKeys = KeyStatistics.of(right, rightKey);
+        long estimatedMatches = comparisons / Math.max(1, Math.max(leftKeys.distinctKeys(), rightKeys.distinctKeys()));
+        long buildBytes = Math.min(leftKeys.estimatedHashTableBytes(), rightKeys.estimatedHashTableBytes());
+        String statistics = String.format("%d x %d rows with about %d and %d distinct keys, about %d matches",
+                leftRows, rightRows, leftKeys.distinctKeys(), rightKeys.distinctKeys(), estimatedMatches);
+        if (buildBytes > memoryBudgetBytes) {
+            return new JoinPlan(JoinType.GRACE, String.format(
+                    "%s; the hash table of about %d bytes exceeds the budget of %d bytes",
+                    statistics, buildBytes, memoryBudgetBytes));
+        }
+        return new JoinPlan(JoinType.HASH, String.format(
+                "%s; the hash table of about %d bytes fits the budget of %d bytes",
+                statistics, buildBytes, memoryBudgetBytes));
+    }
+
+    private TableJoiner joiner(JoinPlan plan) {
+        return switch (plan.joinType()) {
+            case NESTED -> nestedLoopJoiner;
+            case MERGE -> sortMergeJoiner;
+            case GRACE -> graceHashJoiner;
+            default -> hashJoiner;
+        };
+    }
+
+    private static boolean isInvalidInput(String leftKey, String rightKey, Table left, Table right) {
+        return isInvalidColumnNameAndTable(leftKey, rightKey, left, right)
+                || ObjectUtils.isEmpty(left.headers()) || ObjectUtils.isEmpty(right.headers());
+    }
+
+    /**
+     * @return {@code true} if both tables have a column that is not a right join key column
+     */
+    private static boolean sharesNonKeyColumn(List<String> rightKeys, Table left, Table right) {
+        return left.headers().stream().anyMatch(header -> !rightKeys.contains(header) && right.headers().contains(header));
+    }
+
+    /**
+     * Checks in one pass, stopping at the first key out of order both ways, whether the rows of a
+     * table are sorted on the join key in the order the merge join compares keys in: by value for the
+     * integer column of a columnar table, by normalized text otherwise. Rows without a key are skipped.
+     *
+     * @return {@code 1} if the keys are ascending, {@code -1} if they are descending, {@code 0} otherwise
+     */
+    private static int keyOrder(Table table, String columnName) {
+        boolean ascending = true;
+        boolean descending = true;
+        if (table.rows() instanceof ColumnarRows columnarRows
+                && columnarRows.column(columnName) instanceof LongColumn keys) {
+            int previous = -1;
+            for (int row = 0; row < keys.size() && (ascending || descending); row++) {
+                if (keys.isNull(row)) {
+                    continue;
+                }
+                if (previous >= 0) {
+                    int comparison = Long.compare(keys.value(previous), keys.value(row));
+                    ascending &= comparison <= 0;
+                    descending &= comparison >= 0;
+                }
+                previous = row;
+            }
+        } else {
+            IntFunction<String> keys = rawKeys(table, columnName);
+            String previous = null;
+            for (int row = 0; row < table.rows().size() && (ascending || descending); row++) {
+                String key = normalizeJoinKey(keys.apply(row));
+                if (key == null) {
+                    continue;
+                }
+                if (previous != null) {
+                    int comparison = previous.compareTo(key);
+                    ascending &= comparison <= 0;
+                    descending &= comparison >= 0;
+                }
+                previous = key;
+            }
+        }
+        return ascending ? 1 : descending ? -1 : 0;
+    }
+
+    /**
+     * @return the raw join key of every row, read straight from the column of a columnar table
+     */
+    private static IntFunction<String> rawKeys(Table table, String columnName) {
+        if (table.rows() instanceof ColumnarRows columnarRows && columnarRows.column(columnName) != null) {
+            Column column = columnarRows.column(columnName);
+            return column::get;
+        }
+        List<Row> rows = table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+        int columnIndex = table.headers().indexOf(columnName);
+        return row -> rows.get(row) == null ? null : rows.get(row).get(columnIndex, columnName);
+    }
+
+    /**
+     * The plan of a join.
+     *
+     * @param joinType the joiner to use
+     * @param reason   why it was picked, for logging
+     */
+    record JoinPlan(JoinType joinType, String reason) {
+    }
+
+    /**
+     * Join key statistics of one input, estimated from up to {@value #SAMPLE_SIZE} evenly spread rows.
+     *
+     * @param rows              the number of rows
+     * @param distinctKeys      the estimated number of distinct keys
+     * @param averageKeyLength  the average length of the normalized keys of the sample
+     */
+    private record KeyStatistics(int rows, long distinctKeys, double averageKeyLength) {
+
+        static KeyStatistics of(Table table, String columnName) {
+            int rows = table.rows().size();
+            IntFunction<String> keys = rawKeys(table, columnName);
+            int step = Math.max(1, rows / SAMPLE_SIZE);
+            Set<String> distinct = new HashSet<>();
+            int sampled = 0;
+            int sampledKeys = 0;
+            long keyLength = 0;
+            for (int row = 0; row < rows; row += step) {
+                sampled++;
+                String key = normalizeJoinKey(keys.apply(row));
+                if (key != null) {
+                    sampledKeys++;
+                    keyLength += key.length();
+                    distinct.add(key);
+                }
+            }
+            if (sampledKeys == 0) {
+                return new KeyStatistics(rows, 0, 0);
+            }
+            double rowsWithKey = (double) rows * sampledKeys / sampled;
+            long distinctKeys = distinct.size() == sampledKeys
+                    ? Math.round(rowsWithKey)
+                    : Math.max(distinct.size(), Math.round(rowsWithKey * distinct.size() / sampledKeys));
+            return new KeyStatistics(rows, distinctKeys, (double) keyLength / sampledKeys);
+        }
+
+        /**
+         * @return the estimated size of a hash table over the rows, the same estimate
+         * {@link GraceHashJoinImpl} compares with its memory budget
+         */
+        long estimatedHashTableBytes() {
+            return Math.round(rows * (ESTIMATED_ENTRY_OVERHEAD + averageKeyLength));
+        }
+    }
+}
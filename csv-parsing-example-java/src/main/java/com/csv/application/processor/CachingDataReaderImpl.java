@@ -0,0 +1,177 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.model.CacheStats;
+import com.csv.application.domain.model.ColumnFilter;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.processor.interfaces.DataReader;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.csv.application.util.ReaderUtil.validateAndGetPath;
+
+/**
+ * {@link DataReader} that keeps recently read tables in memory and only delegates to another reader
+ * when a file is read for the first time or has changed since.
+ * <p>
+ * Tables are cached per file and projection, together with the fingerprint of the file (size and
+ * last modified time) they were read from; a cached table whose file no longer has that fingerprint
+ * is read again. Tables are held in their columnar form, so callers get fresh read-only {@code Row}
+ * views on every access and cannot modify the cached values. Once the estimated size of all cached tables
+ * exceeds the limit, the least recently used tables are evicted.
+ * </p>
+ * <p>
+ * Reads with filters and streamed reads are not cached and always go to the delegate.
+ * </p>
+ */
+public class CachingDataReaderImpl implements DataReader {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingDataReaderImpl.class);
+
+    private final DataReader delegate;
+    private final long maxEstimatedBytes;
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long estimatedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param delegate          the reader used to read files that are not cached
+     * @param maxEstimatedBytes the limit for the estimated size of all cached tables
+     */
+    public CachingDataReaderImpl(DataReader delegate, long maxEstimatedBytes) {
+        this.delegate = delegate;
+        this.maxEstimatedBytes = maxEstimatedBytes;
+    }
+
+    @Override
+    public Result<Table> readCSVData(String path) {
+        return readCSVData(path, List.of(), List.of());
+    }
+
+    @Override
+    public Result<Table> readCSVData(String path, List<String> columns, List<ColumnFilter> filters) {
+        if (CollectionUtils.isNotEmpty(filters)) {
+            return delegate.readCSVData(path, columns, filters);
+        }
+        CacheKey key;
+        FileFingerprint fingerprint;
+        try {
+            Path CSVPath = validateAndGetPath(path);
+            key = new CacheKey(CSVPath.toAbsolutePath().normalize(),
+                    CollectionUtils.isEmpty(columns) ? List.of() : new ArrayList<>(columns));
+            fingerprint = FileFingerprint.of(CSVPath);
+        } catch (InvalidPathException | IOException ex) {
+            return delegate.readCSVData(path, columns, filters);
+        }
+
+        Table cachedTable = lookup(key, fingerprint);
+        if (cachedTable != null) {
+            return Result.success(cachedTable);
+        }
+        Result<Table> result = key.columns().isEmpty()
+                ? delegate.readColumnarCSVData(path)
+                : delegate.readCSVData(path, columns);
+        if (!result.isSuccess()) {
+            return result;
+        }
+        Table table = ColumnarRows.toColumnarTable(result.data());
+        store(key, new CacheEntry(fingerprint, table, ((ColumnarRows) table.rows()).estimatedBytes()));
+        return Result.success(table);
+    }
+
+    @Override
+    public Result<RowStream> streamCSVData(String path) {
+        return delegate.streamCSVData(path);
+    }
+
+    @Override
+    public Result<Table> readColumnarCSVData(String path) {
+        return readCSVData(path);
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction counters and the current cache size
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), estimatedBytes);
+    }
+
+    /**
+     * Removes all cached tables. The counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        estimatedBytes = 0;
+    }
+
+    private synchronized Table lookup(CacheKey key, FileFingerprint fingerprint) {
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.fingerprint().equals(fingerprint)) {
+            hits++;
+            return entry.table();
+        }
+        if (entry != null) {
+            log.debug("Cached table of {} is outdated, reading it again", key.path());
+            remove(key);
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized void store(CacheKey key, CacheEntry entry) {
+        if (entry.estimatedBytes() > maxEstimatedBytes) {
+            log.debug("Not caching table of {}, its estimated size of {} bytes exceeds the limit",
+                    key.path(), entry.estimatedBytes());
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        estimatedBytes += entry.estimatedBytes();
+
+        Iterator<Map.Entry<CacheKey, CacheEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (estimatedBytes > maxEstimatedBytes) {
+            Map.Entry<CacheKey, CacheEntry> evicted = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            estimatedBytes -= evicted.getValue().estimatedBytes();
+            evictions++;
+            log.debug("Evicted cached table of {}", evicted.getKey().path());
+        }
+    }
+
+    private void remove(CacheKey key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            estimatedBytes -= removed.estimatedBytes();
+        }
+    }
+
+    private record CacheKey(Path path, List<String> columns) {
+    }
+
+    private record CacheEntry(FileFingerprint fingerprint, Table table, long estimatedBytes) {
+    }
+
+    private record FileFingerprint(long size, long lastModifiedMillis) {
+
+        static FileFingerprint of(Path CSVPath) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(CSVPath, BasicFileAttributes.class);
+            return new FileFingerprint(attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+    }
+}
@@ -2,34 +2,100 @@ package com.csv.application.processor;
 
 import com.csv.application.domain.enums.HttpStatusCode;
 import com.csv.application.domain.exception.CSVParsingException;
-import com.csv.application.domain.model.ErrorResponse;
+import com.csv.application.domain.exception.InvalidColumnException;
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowStream;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnBuilder;
+import com.csv.application.domain.model.column.ColumnarRows;
 import com.csv.application.processor.interfaces.DataReader;
+import com.csv.application.util.ColumnProjection;
+import com.csv.application.util.ColumnarFileCache;
+import com.csv.application.util.ReaderUtil;
+import com.csv.application.util.RecordFilter;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toMap;
+import static com.csv.application.util.ReaderUtil.buildCSVFormat;
+import static com.csv.application.util.ReaderUtil.closeParser;
+import static com.csv.application.util.ReaderUtil.createErrorResponse;
+import static com.csv.application.util.ReaderUtil.mapRecordToRow;
+import static com.csv.application.util.ReaderUtil.openCSVReader;
+import static com.csv.application.util.ReaderUtil.readField;
+import static com.csv.application.util.ReaderUtil.validateAndGetPath;
+import static com.csv.application.util.ReaderUtil.validateHeaders;
 
 public class DataReaderImpl implements DataReader {
 
     private static final Logger log = LoggerFactory.getLogger(DataReaderImpl.class);
-    public static final String PATH_IS_INVALID = "Input CSV Path is invalid.";
+    public static final String PATH_IS_INVALID = ReaderUtil.PATH_IS_INVALID;
+
+    private final ColumnarFileCache cache;
+
+    public DataReaderImpl() {
+        this.cache = null;
+    }
+
+    /**
+     * Creates a reader that caches every fully read CSV file as a binary columnar file in the given
+     * directory. As long as a CSV file is unchanged, later reads of all its columns load the cache
+     * file instead of parsing the CSV again, and return a columnar {@link Table}. The rows of a columnar
+     * table are read-only views; {@link ColumnarRows#materialize()} copies them for modification.
+     *
+     * @param cacheDirectory the directory holding the cache files; created on first use
+     */
+    public DataReaderImpl(Path cacheDirectory) {
+        this.cache = new ColumnarFileCache(cacheDirectory);
+    }
 
     @Override
     public Result<Table> readCSVData(String path) {
+        return readCSVData(path, List.of(), List.of());
+    }
+
+    @Override
+    public Result<Table> readCSVData(String path, List<String> columns, List<ColumnFilter> filters) {
+        if (cache != null && CollectionUtils.isEmpty(columns) && CollectionUtils.isEmpty(filters)) {
+            return readValidatedPath(path, this::readCachedColumnarTable);
+        }
+        return readValidatedPath(path, CSVPath -> parseCSVToTable(CSVPath, columns, filters));
+    }
+
+    @Override
+    public Result<RowStream> streamCSVData(String path) {
+        return readValidatedPath(path, CSVPath -> Result.success(
+                openRowStream(CSVPath, List.of(), List.of(), new LongAdder())));
+    }
+
+    @Override
+    public Result<Table> readColumnarCSVData(String path) {
+        return readValidatedPath(path, cache != null ? this::readCachedColumnarTable : this::parseCSVToColumnarTable);
+    }
+
+    /**
+     * Validates the given path and applies the reader to it.
+     * An invalid path or an unknown projected or filtered column results in a 400 Bad Request failure;
+     * any I/O or parsing error raised by the reader results in a 500 Internal Server Error failure.
+     *
+     * @param path   the file system path to the CSV file
+     * @param reader the action reading the validated path
+     * @return the result of the reader, or a failure result
+     */
+    private <T> Result<T> readValidatedPath(String path, CSVPathReader<T> reader) {
 
         Path CSVPath;
         try {
@@ -39,8 +105,11 @@ public class DataReaderImpl implements DataReader {
                     HttpStatusCode.BAD_REQUEST.getCode(), ex.getMessage()));
         }
         try {
-            return parseCSVToTable(CSVPath);
-        } catch (IOException | CSVParsingException ex) {
+            return reader.read(CSVPath);
+        } catch (InvalidColumnException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.BAD_REQUEST.getCode(), ex.getMessage()));
+        } catch (IOException | UncheckedIOException | CSVParsingException ex) {
             log.error("Failed to read CSV file: {}, {}", path, ex.getMessage());
             return Result.failure(createErrorResponse(
                     HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
@@ -48,131 +117,152 @@ public class DataReaderImpl implements DataReader {
     }
 
     /**
-     * Below method validates the input path of type @{@link String}.
-     * If provided path is null, empty or blank throw InvalidPathException
-     * otherwise return the path of type @{@link Path}.
-     *
-     * @param path of type @{@link String}
-     * @return valid path of type @{@link Path}
-     * @throws InvalidPathException if any error occurred while validating path
-     */
-    private Path validateAndGetPath(String path) throws InvalidPathException {
-        if (path == null || path.isBlank()) {
-            throw new InvalidPathException("Please provide valid input CSV path.", PATH_IS_INVALID);
-        }
-        Path filePath = Path.of(path);
-        if (!Files.isRegularFile(filePath)) {
-            throw new InvalidPathException(path, "Either file does not exist at given path or Provided path is not a file.");
-        }
-        return filePath;
-    }
-
-    /**
-     * Parses the CSV file at the given path into a {@link Table} object.
+     * Parses the requested columns of the matching records of the CSV file at the given path into a
+     * {@link Table} object. Rows are pulled one at a time from the {@link RowStream}, so only the resulting
+     * {@link Row} list is kept in memory and not the parsed {@link CSVRecord}s as well.
+     * A file whose records are all dropped by the filters results in an empty table with the
+     * projected headers; only a file without any record is rejected.
      *
      * @param CSVPath the path to the CSV file
+     * @param columns the columns to keep, or an empty list to keep all columns
+     * @param filters the filters every kept record has to satisfy
      * @return a {@link Result} containing the parsed {@link Table}
-     * @throws IOException         if an I/O error occurs while reading the file
-     * @throws CSVParsingException if an error occurs while parsing the CSV content
+     * @throws IOException            if an I/O error occurs while reading the file
+     * @throws CSVParsingException    if an error occurs while parsing the CSV content or the file has no records
+     * @throws InvalidColumnException if a requested or filtered column is not part of the CSV headers
      */
-    private Result<Table> parseCSVToTable(Path CSVPath) throws IOException {
-        try (var csvParser = new CSVParser(Files.newBufferedReader(CSVPath), buildCSVFormat())) {
-
-            List<String> headers = csvParser.getHeaderNames();
-            List<CSVRecord> records = csvParser.getRecords();
-            List<Row> rows = buildRowsFromCSVParser(records, headers);
-            return Result.success(new Table(headers, rows));
+    private Result<Table> parseCSVToTable(Path CSVPath, List<String> columns, List<ColumnFilter> filters)
+            throws IOException {
+        LongAdder readRecords = new LongAdder();
+        try (RowStream rowStream = openRowStream(CSVPath, columns, filters, readRecords)) {
 
-        } catch (IllegalArgumentException ex) {
-            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+            List<Row> rows = rowStream.rows().toList();
+            if (readRecords.sum() == 0) {
+                throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+            }
+            return Result.success(new Table(rowStream.headers(), rows));
         }
     }
 
     /**
-     * The below method build CSV format which will be responsible
-     * for skipping the first row and to consider it as a header
-     * and return the valid CSVFormat.
+     * Opens a {@link CSVParser} on the given path and wraps it into a lazily evaluated {@link RowStream}.
+     * The headers are validated eagerly; records are only parsed while the stream is consumed.
+     * Records failing the filters are dropped before a row is built, and only the fields of the
+     * requested columns are copied into the rows.
+     * Closing the returned stream closes the parser and the underlying file.
      *
-     * @return CSVFormat of type @{@link CSVFormat}
+     * @param CSVPath     the path to the CSV file
+     * @param columns     the columns to keep, or an empty list to keep all columns
+     * @param filters     the filters every kept record has to satisfy
+     * @param readRecords counts the non-empty records read, before the filters are applied
+     * @return an open {@link RowStream} over the records of the file
+     * @throws IOException            if an I/O error occurs while opening the file
+     * @throws CSVParsingException    if the headers of the CSV are null, empty or invalid
+     * @throws InvalidColumnException if a requested or filtered column is not part of the CSV headers
      */
-    private CSVFormat buildCSVFormat() {
-        return CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+    private RowStream openRowStream(Path CSVPath, List<String> columns, List<ColumnFilter> filters,
+                                    LongAdder readRecords) throws IOException {
+        CSVParser csvParser = openCSVParser(CSVPath);
+        ColumnProjection projection;
+        RecordFilter recordFilter;
+        try {
+            projection = ColumnProjection.of(csvParser.getHeaderNames(), columns);
+            recordFilter = RecordFilter.of(csvParser.getHeaderNames(), filters);
+        } catch (RuntimeException ex) {
+            closeParser(csvParser);
+            throw ex;
+        }
+        Stream<Row> rows = csvParser.stream()
+                .filter(record -> record.size() != 0)
+                .peek(record -> readRecords.increment())
+                .filter(recordFilter)
+                .map(record -> mapRecordToRow(projection, record))
+                .onClose(() -> closeParser(csvParser));
+        return new RowStream(projection.headers(), rows);
     }
 
     /**
-     * Converts a list of {@link CSVRecord} objects into a list of {@link Row} objects
-     * using the provided CSV headers.
-     * Each record is mapped to a Row based on the headers. Empty records are filtered out.
-     * Throws a {@link CSVParsingException} if either the headers or records list is null or empty.
+     * Loads the columnar table of the CSV file at the given path from the cache, or parses the CSV
+     * file and writes its cache file if there is no valid one yet.
      *
-     * @param records the list of parsed CSV records
-     * @param headers the list of CSV column headers
-     * @return a list of {@link Row} objects constructed from the CSV records
-     * @throws CSVParsingException if the headers or records are null or empty
+     * @param CSVPath the path to the CSV file
+     * @return a {@link Result} containing the columnar {@link Table}
+     * @throws IOException         if an I/O error occurs while reading the file
+     * @throws CSVParsingException if the headers or records of the CSV are null or empty
      */
-    private List<Row> buildRowsFromCSVParser(List<CSVRecord> records,
-                                             List<String> headers) {
-
-        if (CollectionUtils.isEmpty(headers) || headers.stream().allMatch(String::isBlank)
-                || CollectionUtils.isEmpty(records)) {
-            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+    private Result<Table> readCachedColumnarTable(Path CSVPath) throws IOException {
+        Table cachedTable = cache.read(CSVPath);
+        if (cachedTable != null) {
+            log.debug("Loaded table of {} from cache file {}", CSVPath, cache.cacheFileOf(CSVPath));
+            return Result.success(cachedTable);
         }
-        return records.stream()
-                .filter(record -> record.size() != 0)
-                .map(record -> mapRecordToRow(headers, record))
-                .toList();
+        Result<Table> result = parseCSVToColumnarTable(CSVPath);
+        cache.write(CSVPath, result.data());
+        return result;
     }
 
     /**
-     * Maps a single {@link CSVRecord} to a {@link Row} object using the provided headers.
-     * For each header, attempts to retrieve the corresponding value from the record.
-     * If the header is missing or an error occurs, an empty string is used.
+     * Parses the CSV file at the given path directly into one {@link ColumnBuilder} per header,
+     * without creating a {@link Row} for any record.
      *
-     * @param headers the list of CSV column headers
-     * @param record  the CSV record to convert
-     * @return a {@link Row} object containing header-value pairs from the record
+     * @param CSVPath the path to the CSV file
+     * @return a {@link Result} containing the columnar {@link Table}
+     * @throws IOException         if an I/O error occurs while reading the file
+     * @throws CSVParsingException if the headers or records of the CSV are null or empty
      */
-    private Row mapRecordToRow(List<String> headers, CSVRecord record) {
-
-        Map<String, String> row = headers.stream()
-                .collect(toMap(
-                        header -> header,
-                        header -> {
-                            try {
-                                if (isRecordPresentForHeader(record, header)) {
-                                    return record.get(header);
-                                } else {
-                                    throw new CSVParsingException("The record for corresponding header is missing.");
-                                }
-                            } catch (Exception ex) {
-                                log.warn("Failed to get value for header '{}': {}", header, ex.getMessage());
-                                return "";
-                            }
-                        }
-                ));
-        return new Row(row);
+    private Result<Table> parseCSVToColumnarTable(Path CSVPath) throws IOException {
+        try (CSVParser csvParser = openCSVParser(CSVPath)) {
+
+            List<String> headers = csvParser.getHeaderNames();
+            List<ColumnBuilder> builders = headers.stream().map(header -> new ColumnBuilder()).toList();
+            for (CSVRecord record : csvParser) {
+                if (record.size() == 0) {
+                    continue;
+                }
+                for (int index = 0; index < builders.size(); index++) {
+                    builders.get(index).add(readField(headers.get(index), record, index));
+                }
+            }
+            int size = builders.getFirst().size();
+            if (size == 0) {
+                throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+            }
+            return Result.success(ColumnarRows.columnarTable(headers,
+                    builders.stream().map(ColumnBuilder::build).toList(), size));
+        }
     }
 
     /**
-     * Checks whether the specified header is mapped in the {@link CSVRecord} and has a non-null value.
+     * Opens a {@link CSVParser} on the given path and validates its headers.
      *
-     * @param record the CSV record
-     * @param header the header to check
-     * @return true if the record contains a non-null value for the given header; false otherwise
+     * @param CSVPath the path to the CSV file
+     * @return an open {@link CSVParser} positioned at the first record
+     * @throws IOException         if an I/O error occurs while opening the file
+     * @throws CSVParsingException if the headers of the CSV are null, empty or invalid
      */
-    private boolean isRecordPresentForHeader(CSVRecord record, String header) {
-        String value = record.isMapped(header) ? record.get(header) : null;
-        return value != null && !value.isBlank() && !"null".equalsIgnoreCase(value.trim());
+    private CSVParser openCSVParser(Path CSVPath) throws IOException {
+        BufferedReader reader = openCSVReader(CSVPath);
+        CSVParser csvParser;
+        try {
+            csvParser = new CSVParser(reader, buildCSVFormat());
+        } catch (IllegalArgumentException ex) {
+            reader.close();
+            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+        } catch (IOException ex) {
+            reader.close();
+            throw ex;
+        }
+        try {
+            validateHeaders(csvParser.getHeaderNames());
+            return csvParser;
+        } catch (RuntimeException ex) {
+            closeParser(csvParser);
+            throw ex;
+        }
     }
 
-    /**
-     * Creates an {@link ErrorResponse} object with the specified HTTP status code and message.
-     *
-     * @param statusCode the HTTP status code to set in the error response
-     * @param message    the error message
-     * @return an {@link ErrorResponse} containing the provided status code and message
-     */
-    private ErrorResponse createErrorResponse(int statusCode, String message) {
-        return new ErrorResponse(statusCode, message);
+    @FunctionalInterface
+    private interface CSVPathReader<T> {
+        Result<T> read(Path CSVPath) throws IOException;
     }
-}
\ No newline at end of file
+}
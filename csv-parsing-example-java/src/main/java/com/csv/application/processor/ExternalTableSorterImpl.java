@@ -0,0 +1,464 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ErrorResponse;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.SortKey;
+import com.csv.application.domain.model.Table;
+import com.csv.application.processor.interfaces.TableSorter;
+import com.csv.application.util.ValueSortKeys;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.csv.application.util.SortUtils.sortedRowOrder;
+
+/**
+ * Sorts tables and row streams that do not fit in memory with an external merge sort.
+ * <p>
+ * Rows are read in runs of at most {@code maxRowsPerRun} rows; every run is sorted in memory and
+ * spilled to a temporary file. The runs are then merged k-way: each run is read back in small blocks
+ * whose {@link ValueSortKeys} are extracted once, and a priority queue over the head rows of the runs
+ * picks the next row. Runs hold consecutive input rows and ties are broken by run order, so the order
+ * is the same stable order as the one of {@link TableSorterImpl}. Input that fits a single run is
+ * sorted in memory and never spilled.
+ * </p>
+ * <p>
+ * At most {@code maxFanIn} runs are open at once, each with one buffer and one block of rows. If more
+ * runs were spilled, groups of consecutive runs are first merged into longer runs, in as many passes
+ * as it takes, which keeps both the open files and the memory of the merge bounded.
+ * </p>
+ */
+public class ExternalTableSorterImpl implements TableSorter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalTableSorterImpl.class);
+    static final int DEFAULT_MAX_ROWS_PER_RUN = 1 << 20;
+    static final int DEFAULT_MAX_FAN_IN = 64;
+    private static final int MAX_BLOCK_ROWS = 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int NULL_VALUE = -1;
+
+    private final int maxRowsPerRun;
+    private final int maxFanIn;
+    private final Path spillDirectory;
+    private final TableSorter inMemorySorter = new TableSorterImpl();
+
+    public ExternalTableSorterImpl() {
+        this(DEFAULT_MAX_ROWS_PER_RUN, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param maxRowsPerRun  the number of rows sorted in memory at once
+     * @param spillDirectory the directory for the temporary run files
+     */
+    public ExternalTableSorterImpl(int maxRowsPerRun, Path spillDirectory) {
+        this(maxRowsPerRun, DEFAULT_MAX_FAN_IN, spillDirectory);
+    }
+
+    /**
+     * @param maxRowsPerRun  the number of rows sorted in memory at once
+     * @param maxFanIn       the number of runs merged at once; at least {@code 2}
+     * @param spillDirectory the directory for the temporary run files
+     */
+    public ExternalTableSorterImpl(int maxRowsPerRun, int maxFanIn, Path spillDirectory) {
+        this.maxRowsPerRun = Math.max(1, maxRowsPerRun);
+        this.maxFanIn = Math.max(2, maxFanIn);
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Sorts like {@link TableSorter#sortTableByDesc(Table, String)}. Tables of up to one run are
+     * sorted by {@link TableSorterImpl}; larger ones are sorted in spilled runs and merged back.
+     */
+    @Override
+    public Result<Table> sortTableByDesc(Table table, String columnName) {
+        if (isInvalidColumnName(table.headers(), columnName)) {
+            return invalidColumnFailure();
+        }
+        if (table.rows().size() <= maxRowsPerRun) {
+            return inMemorySorter.sortTableByDesc(table, columnName);
+        }
+        Result<RowStream> sortedRows = sortRowsByDesc(new RowStream(table.headers(), table.rows().stream()), columnName);
+        if (!sortedRows.isSuccess()) {
+            return Result.failure(sortedRows.error());
+        }
+        try (RowStream rows = sortedRows.data()) {
+            return Result.success(new Table(table.headers(), rows.rows().toList()));
+        } catch (UncheckedIOException ex) {
+            return spillFailure(ex);
+        }
+    }
+
+    /**
+     * Sorts by several columns like {@link TableSorterImpl} does: the table is already in memory.
+     */
+    @Override
+    public Result<Table> sortTable(Table table, List<SortKey> sortKeys) {
+        return inMemorySorter.sortTable(table, sortKeys);
+    }
+
+    /**
+     * Keeps the first rows like {@link TableSorterImpl} does: a bounded heap never needs to spill.
+     */
+    @Override
+    public Result<Table> sortTableByDesc(Table table, String columnName, int limit) {
+        return inMemorySorter.sortTableByDesc(table, columnName, limit);
+    }
+
+    @Override
+    public Result<Table> sortRowsByDesc(RowStream rows, String columnName, int limit) {
+        return inMemorySorter.sortRowsByDesc(rows, columnName, limit);
+    }
+
+    /**
+     * Sorts the rows of the given {@link RowStream} without ever holding more than one run of rows in
+     * memory. Rows are read lazily from the returned stream while the runs are merged, and closing it
+     * deletes the remaining run files. An I/O error while spilling results in a
+     * {@code 500 Internal Server Error} failure; one while merging is thrown as an {@link UncheckedIOException}.
+     */
+    @Override
+    public Result<RowStream> sortRowsByDesc(RowStream source, String columnName) {
+        if (isInvalidColumnName(source.headers(), columnName)) {
+            source.close();
+            return invalidColumnFailure();
+        }
+        int columnIndex = source.headers().indexOf(columnName);
+        RowSchema schema = RowSchema.of(source.headers());
+        List<Path> runFiles = new ArrayList<>();
+        List<Long> runSizes = new ArrayList<>();
+        try (source) {
+            Iterator<Row> rows = source.rows().iterator();
+            List<Row> run = sortRun(readRun(rows), columnIndex, columnName);
+            if (!rows.hasNext()) {
+                return Result.success(new RowStream(source.headers(), run.stream()));
+            }
+            while (!run.isEmpty()) {
+                runSizes.add(writeRun(run.iterator(), schema, runFiles));
+                run = null; // release the spilled run before the next one is read
+                run = sortRun(readRun(rows), columnIndex, columnName);
+            }
+            log.info("Spilled {} sorted runs of up to {} rows to {}", runFiles.size(), maxRowsPerRun, spillDirectory);
+            mergeToFanIn(runFiles, runSizes, schema, columnIndex);
+            return Result.success(new RowStream(source.headers(), mergeRuns(runFiles, runSizes, schema, columnIndex)));
+        } catch (IOException | UncheckedIOException ex) {
+            deleteRunFiles(runFiles);
+            return spillFailure(ex);
+        }
+    }
+
+    /**
+     * Sorts the rows of the given {@link RowStream} like {@link #sortRowsByDesc(RowStream, String)} and
+     * writes them as a CSV file with the headers of the stream, streaming the merged rows to disk.
+     *
+     * @param source     the rows to be sorted
+     * @param columnName the name of the column to sort by in descending order
+     * @param target     the CSV file to write, replaced if it exists
+     * @return a {@link Result} containing the number of written rows, or a failure result
+     */
+    public Result<Long> sortRowsToFile(RowStream source, String columnName, Path target) {
+        Result<RowStream> sortedRows = sortRowsByDesc(source, columnName);
+        if (!sortedRows.isSuccess()) {
+            return Result.failure(sortedRows.error());
+        }
+        List<String> headers = sortedRows.data().headers();
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader(headers.toArray(String[]::new)).build();
+        try (RowStream rows = sortedRows.data();
+             CSVPrinter printer = format.print(target, StandardCharsets.UTF_8)) {
+            long writtenRows = 0;
+            for (Iterator<Row> iterator = rows.rows().iterator(); iterator.hasNext(); writtenRows++) {
+                Row row = iterator.next();
+                for (int column = 0; column < headers.size(); column++) {
+                    printer.print(row.get(column, headers.get(column)));
+                }
+                printer.println();
+            }
+            return Result.success(writtenRows);
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("Failed to write sorted rows to {}: {}", target, ex.getMessage());
+            return Result.failure(new ErrorResponse(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(),
+                    "Failed to write sorted rows: " + ex.getMessage()));
+        }
+    }
+
+    private List<Row> readRun(Iterator<Row> rows) {
+        List<Row> run = new ArrayList<>();
+        while (run.size() < maxRowsPerRun && rows.hasNext()) {
+            run.add(rows.next());
+        }
+        return run;
+    }
+
+    private static List<Row> sortRun(List<Row> run, int columnIndex, String columnName) {
+        int[] order = sortedRowOrder(run.size(), row -> run.get(row).get(columnIndex, columnName));
+        return Arrays.stream(order).mapToObj(run::get).toList();
+    }
+
+    /**
+     * Merges groups of up to {@code maxFanIn} consecutive runs into one run each until at most
+     * {@code maxFanIn} runs are left. A merged run again holds consecutive input rows, so ties keep
+     * their order. The merged runs replace the given ones in both lists.
+     */
+    private void mergeToFanIn(List<Path> runFiles, List<Long> runSizes, RowSchema schema, int columnIndex)
+            throws IOException {
+        while (runFiles.size() > maxFanIn) {
+            List<Path> mergedFiles = new ArrayList<>();
+            List<Long> mergedSizes = new ArrayList<>();
+            try {
+                for (int from = 0; from < runFiles.size(); from += maxFanIn) {
+                    int to = Math.min(runFiles.size(), from + maxFanIn);
+                    if (to - from == 1) {
+                        mergedFiles.add(runFiles.get(from));
+                        mergedSizes.add(runSizes.get(from));
+                        continue;
+                    }
+                    try (Stream<Row> rows = mergeRuns(runFiles.subList(from, to), runSizes.subList(from, to),
+                            schema, columnIndex)) {
+                        mergedSizes.add(writeRun(rows.iterator(), schema, mergedFiles));
+                    }
+                }
+            } catch (IOException | UncheckedIOException ex) {
+                deleteRunFiles(mergedFiles);
+                throw ex;
+            }
+            log.info("Merged {} sorted runs into {} longer runs", runFiles.size(), mergedFiles.size());
+            runFiles.clear();
+            runFiles.addAll(mergedFiles);
+            runSizes.clear();
+            runSizes.addAll(mergedSizes);
+        }
+    }
+
+    /**
+     * Writes every value of the sorted rows of a run, in column order, as its UTF-8 length and bytes;
+     * a {@code null} value is written as a negative length.
+     *
+     * @return the number of written rows
+     */
+    private long writeRun(Iterator<Row> run, RowSchema schema, List<Path> runFiles) throws IOException {
+        Path file = Files.createTempFile(spillDirectory, "sort-run-" + runFiles.size() + "-", ".run");
+        runFiles.add(file);
+        long writtenRows = 0;
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file), BUFFER_SIZE))) {
+            for (; run.hasNext(); writtenRows++) {
+                Row row = run.next();
+                for (int column = 0; column < schema.size(); column++) {
+                    String value = row.get(column, schema.headers().get(column));
+                    if (value == null) {
+                        output.writeInt(NULL_VALUE);
+                        continue;
+                    }
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+        }
+        return writtenRows;
+    }
+
+    /**
+     * Opens every given run and returns the lazily merged rows. Every run file is deleted as soon as
+     * the run is exhausted, and closing the stream deletes the others.
+     */
+    private Stream<Row> mergeRuns(List<Path> runFiles, List<Long> runSizes, RowSchema schema, int columnIndex)
+            throws IOException {
+        int blockRows = Math.min(MAX_BLOCK_ROWS, maxRowsPerRun);
+        List<SortedRun> runs = new ArrayList<>();
+        PriorityQueue<SortedRun> heads = new PriorityQueue<>(runFiles.size());
+        try {
+            for (int run = 0; run < runFiles.size(); run++) {
+                SortedRun sortedRun = new SortedRun(run, runFiles.get(run), runSizes.get(run), schema.size(),
+                        columnIndex, blockRows);
+                runs.add(sortedRun);
+                if (sortedRun.advance()) {
+                    heads.add(sortedRun);
+                }
+            }
+        } catch (IOException ex) {
+            closeRuns(runs);
+            throw ex;
+        }
+
+        Iterator<Row> mergedRows = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public Row next() {
+                SortedRun run = heads.poll();
+                if (run == null) {
+                    throw new NoSuchElementException();
+                }
+                Row row = Row.of(schema, run.head());
+                try {
+                    if (run.advance()) {
+                        heads.add(run);
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(mergedRows, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        closeRuns(runs);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    private static void closeRuns(List<SortedRun> runs) throws IOException {
+        for (SortedRun run : runs) {
+            run.close();
+        }
+    }
+
+    private void deleteRunFiles(List<Path> runFiles) {
+        for (Path runFile : runFiles) {
+            try {
+                Files.deleteIfExists(runFile);
+            } catch (IOException ex) {
+                log.warn("Failed to delete sort run file {}: {}", runFile, ex.getMessage());
+            }
+        }
+    }
+
+    private <T> Result<T> spillFailure(Exception ex) {
+        log.error("Failed to spill sorted runs to {}: {}", spillDirectory, ex.getMessage());
+        return Result.failure(new ErrorResponse(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(),
+                "Failed to spill sorted runs: " + ex.getMessage()));
+    }
+
+    private static <T> Result<T> invalidColumnFailure() {
+        return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                "The specified column does not exist in the table."));
+    }
+
+    /**
+     * Checks if the specified column name is invalid for the given headers, like {@link TableSorterImpl} does.
+     */
+    private static boolean isInvalidColumnName(List<String> headers, String columnName) {
+        return columnName == null || StringUtils.isBlank(columnName) ||
+                CollectionUtils.isEmpty(headers) || !headers.contains(columnName);
+    }
+
+    /**
+     * A spilled run that is read back one block of rows at a time. The sort keys of a block are
+     * extracted once when it is read, and the run is ordered by the key of its head row.
+     */
+    private static final class SortedRun implements Comparable<SortedRun> {
+
+        private final int runIndex;
+        private final Path file;
+        private final DataInputStream input;
+        private final int columnCount;
+        private final int columnIndex;
+        private final String[][] block;
+        private long remainingRows;
+        private ValueSortKeys keys;
+        private int blockSize;
+        private int position = -1;
+        private boolean closed;
+
+        SortedRun(int runIndex, Path file, long rows, int columnCount, int columnIndex, int blockRows)
+                throws IOException {
+            this.runIndex = runIndex;
+            this.file = file;
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            this.remainingRows = rows;
+            this.columnCount = columnCount;
+            this.columnIndex = columnIndex;
+            this.block = new String[blockRows][];
+        }
+
+        String[] head() {
+            return block[position];
+        }
+
+        /**
+         * Moves to the next row, reading the next block once the current one is consumed.
+         *
+         * @return whether the run has a next row; an exhausted run is closed
+         */
+        boolean advance() throws IOException {
+            if (++position < blockSize) {
+                return true;
+            }
+            if (remainingRows == 0) {
+                close();
+                return false;
+            }
+            blockSize = (int) Math.min(block.length, remainingRows);
+            for (int row = 0; row < blockSize; row++) {
+                String[] values = new String[columnCount];
+                for (int column = 0; column < columnCount; column++) {
+                    values[column] = readValue();
+                }
+                block[row] = values;
+            }
+            remainingRows -= blockSize;
+            keys = ValueSortKeys.of(blockSize, row -> block[row][columnIndex]);
+            position = 0;
+            return true;
+        }
+
+        private String readValue() throws IOException {
+            int length = input.readInt();
+            if (length == NULL_VALUE) {
+                return null;
+            }
+            if (length < 0) {
+                throw new EOFException("Corrupt sort run file.");
+            }
+            return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int compareTo(SortedRun other) {
+            int order = ValueSortKeys.compareDescending(keys, position, other.keys, other.position);
+            return order != 0 ? order : Integer.compare(runIndex, other.runIndex);
+        }
+
+        void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            input.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.exception.EmptyHeaderException;
+import com.csv.application.domain.model.JoinMatches;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.processor.interfaces.TableJoiner;
+import com.csv.application.util.JoinedRowLayout;
+import com.csv.application.util.JoinedRows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import static com.csv.application.util.JoinerUtil.createColumnarJoinedTable;
+import static com.csv.application.util.JoinerUtil.createErrorResponse;
+import static com.csv.application.util.JoinerUtil.createJoinedHeaders;
+import static com.csv.application.util.JoinerUtil.isColumnarJoin;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.normalizeJoinKey;
+
+/**
+ * Hash join that stays within a memory budget by partitioning both inputs to disk (grace hash join).
+ * <p>
+ * If the hash table of the smaller input is estimated to fit the budget, the join is delegated to
+ * {@link HashJoinImpl}. Otherwise the normalized join key and row index of every row of both tables
+ * are hash-partitioned into temporary files, and the partitions are joined pair by pair: only the
+ * hash table of a single partition is held in memory while the other partition is streamed past it.
+ * A partition pair whose smaller side still exceeds the budget, e.g. because of skewed keys, is
+ * partitioned again with a hash function of its own, up to {@value #MAX_REPARTITION_DEPTH} levels
+ * deep. Only a partition that does not split any further, such as the one of a single heavy key, is
+ * joined in memory above the budget.
+ * </p>
+ * <p>
+ * The matches are finally put in left row order and then right row order, so the result is the
+ * same as the one of {@link HashJoinImpl}, including the left-wins rule for shared columns. The
+ * matching row pairs are held in memory at about {@value #ESTIMATED_MATCH_BYTES} bytes each and are
+ * bounded by a budget of their own: a partitioned join with more matches fails instead of exceeding it.
+ * </p>
+ * <p>
+ * The tables themselves are already in memory when they are passed to a {@link TableJoiner}, so only
+ * the join index is spilled; rows are copied into the result from the input tables.
+ * </p>
+ */
+public class GraceHashJoinImpl implements TableJoiner {
+
+    private static final Logger log = LoggerFactory.getLogger(GraceHashJoinImpl.class);
+    static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+    static final int ESTIMATED_ENTRY_OVERHEAD = 96;
+    static final int ESTIMATED_MATCH_BYTES = 16;
+    static final int MAX_REPARTITION_DEPTH = 3;
+    private static final int MAX_PARTITIONS = 256;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long memoryBudgetBytes;
+    private final long matchBudgetBytes;
+    private final Path spillDirectory;
+    private final TableJoiner inMemoryJoiner = new HashJoinImpl();
+
+    public GraceHashJoinImpl() {
+        this(DEFAULT_MEMORY_BUDGET, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudgetBytes the estimated heap size the hash table of a join may use, and separately
+     *                          the matching row pairs of a partitioned join
+     * @param spillDirectory    the directory for the temporary partition files
+     */
+    public GraceHashJoinImpl(long memoryBudgetBytes, Path spillDirectory) {
+        this(memoryBudgetBytes, memoryBudgetBytes, spillDirectory);
+    }
+
+    /**
+     * @param memoryBudgetBytes the estimated heap size the hash table of a join may use
+     * @param matchBudgetBytes  the estimated heap size the matching row pairs of a partitioned join may use
+     * @param spillDirectory    the directory for the temporary partition files
+     */
+    public GraceHashJoinImpl(long memoryBudgetBytes, long matchBudgetBytes, Path spillDirectory) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.matchBudgetBytes = matchBudgetBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public Result<Table> joinTables(String leftKey, String rightKey, Table left, Table right) {
+        return join(leftKey, rightKey, left, right, false);
+    }
+
+    /**
+     * Joins like {@link #joinTables(String, String, Table, Table)}, but returns the joined rows as a
+     * {@link JoinedRows} view over the input rows instead of copying them.
+     */
+    @Override
+    public Result<Table> joinTablesLazily(String leftKey, String rightKey, Table left, Table right) {
+        return join(leftKey, rightKey, left, right, true);
+    }
+
+    private Result<Table> join(String leftKey, String rightKey, Table left, Table right, boolean lazy) {
+        if (isInvalidColumnNameAndTable(leftKey, rightKey, left, right)) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The either left or right columnName or table itself is empty or null."));
+        }
+        try {
+            List<String> joinedHeaders = createJoinedHeaders(rightKey, left, right);
+            JoinInput leftInput = JoinInput.of(left, leftKey);
+            JoinInput rightInput = JoinInput.of(right, rightKey);
+            long buildBytes = Math.min(leftInput.estimatedHashTableBytes(), rightInput.estimatedHashTableBytes());
+            if (buildBytes <= memoryBudgetBytes) {
+                return lazy
+                        ? inMemoryJoiner.joinTablesLazily(leftKey, rightKey, left, right)
+                        : inMemoryJoiner.joinTables(leftKey, rightKey, left, right);
+            }
+
+            int partitions = partitionCount(buildBytes);
+            log.info("Hash table of about {} bytes exceeds the budget of {} bytes, joining in {} partitions",
+                    buildBytes, memoryBudgetBytes, partitions);
+            JoinMatches matches = partitionedMatches(leftKey, leftInput, rightInput, partitions);
+            if (matches == null) {
+                return Result.failure(createErrorResponse(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(),
+                        "The join has more matching rows than fit the memory budget of " + matchBudgetBytes + " bytes."));
+            }
+
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightKey, left, right, true);
+            if (!lazy && isColumnarJoin(leftKey, rightKey, left, right)) {
+                return Result.success(createColumnarJoinedTable(joinedHeaders, layout,
+                        (ColumnarRows) left.rows(), (ColumnarRows) right.rows(), matches));
+            }
+            JoinedRows joinedRows = new JoinedRows(layout, left.rows(), right.rows(), matches);
+            return Result.success(new Table(joinedHeaders, lazy ? joinedRows : joinedRows.materialize()));
+        } catch (EmptyHeaderException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        } catch (IOException | UncheckedIOException ex) {
+            log.error("Failed to spill join partitions to {}: {}", spillDirectory, ex.getMessage());
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), "Failed to spill join partitions: " + ex.getMessage()));
+        }
+    }
+
+    /**
+     * @param buildBytes the estimated size of the hash table of the smaller input
+     * @return the power of two number of partitions so that a single partition fits the budget
+     */
+    private int partitionCount(long buildBytes) {
+        long needed = Math.ceilDiv(buildBytes, Math.max(1, memoryBudgetBytes));
+        int partitions = Integer.highestOneBit((int) Math.min(MAX_PARTITIONS, Math.max(2, needed)));
+        return partitions < needed ? Math.min(MAX_PARTITIONS, partitions * 2) : partitions;
+    }
+
+    /**
+     * Partitions both inputs to disk and joins the partitions pair by pair.
+     *
+     * @return the matching row index pairs in left row order, then right row order, or {@code null} if
+     * there are more of them than fit the match budget
+     */
+    private JoinMatches partitionedMatches(String leftColumnName, JoinInput leftInput, JoinInput rightInput,
+                                           int partitions) throws IOException {
+        List<Path> spillFiles = new ArrayList<>();
+        try {
+            Partition[] leftPartitions = writePartitions("grace-join-left-", leftColumnName, leftInput, partitions, spillFiles);
+            Partition[] rightPartitions = writePartitions("grace-join-right-", null, rightInput, partitions, spillFiles);
+
+            MatchBuffer matches = new MatchBuffer(matchBudgetBytes / ESTIMATED_MATCH_BYTES);
+            for (int partition = 0; partition < partitions; partition++) {
+                if (!joinPartition(leftPartitions[partition], rightPartitions[partition], 0, matches, spillFiles)) {
+                    log.warn("Join exceeds the match budget of {} bytes after {} matches", matchBudgetBytes, matches.size());
+                    return null;
+                }
+            }
+            return matches.toJoinMatches();
+        } finally {
+            for (Path spillFile : spillFiles) {
+                Files.deleteIfExists(spillFile);
+            }
+        }
+    }
+
+    /**
+     * Writes the normalized key and row index of every row with a key into the partition of its key.
+     * Rows without a key never match and are not written.
+     */
+    private Partition[] writePartitions(String prefix, String loggedColumnName, JoinInput input, int partitions,
+                                        List<Path> spillFiles) throws IOException {
+        try (PartitionWriter writer = new PartitionWriter(prefix, partitions, 0, spillFiles)) {
+            for (int row = 0; row < input.size(); row++) {
+                String key = normalizeJoinKey(input.rawKey(row));
+                if (key == null) {
+                    if (loggedColumnName != null) {
+                        log.warn("Skipping invalid left row for columnName. Since it's key is empty or null.: {}, {}",
+                                row, loggedColumnName);
+                    }
+                    continue;
+                }
+                writer.write(row, key);
+            }
+            return writer.partitions();
+        }
+    }
+
+    /**
+     * Splits a partition into sub-partitions with the hash function of the given depth.
+     */
+    private Partition[] repartition(Partition partition, String prefix, int partitions, int depth,
+                                    List<Path> spillFiles) throws IOException {
+        try (PartitionWriter writer = new PartitionWriter(prefix, partitions, depth, spillFiles);
+             DataInputStream input = openPartition(partition.file())) {
+            for (long entry = 0; entry < partition.size(); entry++) {
+                int row = input.readInt();
+                writer.write(row, readKey(input));
+            }
+            return writer.partitions();
+        }
+    }
+
+    /**
+     * Joins a single partition pair: the smaller partition is loaded into a hash table and the other
+     * one is streamed from disk to probe it. A pair whose smaller side exceeds the budget is first
+     * partitioned again, one level deeper, as long as that actually splits its keys.
+     *
+     * @return {@code false} if the matches no longer fit the match budget
+     */
+    private boolean joinPartition(Partition left, Partition right, int depth, MatchBuffer matches,
+                                  List<Path> spillFiles) throws IOException {
+        if (left.size() == 0 || right.size() == 0) {
+            return true;
+        }
+        boolean buildLeft = left.size() < right.size();
+        Partition build = buildLeft ? left : right;
+        Partition probe = buildLeft ? right : left;
+
+        if (build.estimatedBytes() > memoryBudgetBytes && depth < MAX_REPARTITION_DEPTH) {
+            int partitions = partitionCount(build.estimatedBytes());
+            String buildPrefix = buildLeft ? "grace-join-left-" : "grace-join-right-";
+            Partition[] buildPartitions = repartition(build, buildPrefix + depth + "-", partitions, depth + 1, spillFiles);
+            if (Arrays.stream(buildPartitions).noneMatch(partition -> partition.size() == build.size())) {
+                String probePrefix = buildLeft ? "grace-join-right-" : "grace-join-left-";
+                Partition[] probePartitions = repartition(probe, probePrefix + depth + "-", partitions, depth + 1, spillFiles);
+                for (int partition = 0; partition < partitions; partition++) {
+                    Partition leftPartition = buildLeft ? buildPartitions[partition] : probePartitions[partition];
+                    Partition rightPartition = buildLeft ? probePartitions[partition] : buildPartitions[partition];
+                    if (!joinPartition(leftPartition, rightPartition, depth + 1, matches, spillFiles)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        if (build.estimatedBytes() > memoryBudgetBytes) {
+            log.warn("Joining a partition of {} rows with a hash table of about {} bytes in memory, "
+                    + "its keys do not split any further", build.size(), build.estimatedBytes());
+        }
+
+        int buildSize = Math.toIntExact(build.size());
+        int[] buildRows = new int[buildSize];
+        int[] nextEntries = new int[buildSize];
+        Map<String, Integer> firstEntries = new HashMap<>();
+        try (DataInputStream input = openPartition(build.file())) {
+            for (int entry = 0; entry < buildSize; entry++) {
+                buildRows[entry] = input.readInt();
+                Integer next = firstEntries.put(readKey(input), entry);
+                nextEntries[entry] = next == null ? -1 : next;
+            }
+        }
+        int matchesBefore = matches.size();
+        try (DataInputStream input = openPartition(probe.file())) {
+            for (long entry = 0; entry < probe.size(); entry++) {
+                int probeRow = input.readInt();
+                Integer first = firstEntries.get(readKey(input));
+                for (int match = first == null ? -1 : first; match >= 0; match = nextEntries[match]) {
+                    int leftRow = buildLeft ? buildRows[match] : probeRow;
+                    int rightRow = buildLeft ? probeRow : buildRows[match];
+                    if (!matches.add(leftRow, rightRow)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        log.debug("Partition of {} and {} rows at depth {} has {} matches",
+                left.size(), right.size(), depth, matches.size() - matchesBefore);
+        return true;
+    }
+
+    /**
+     * Mixes the hash code of a key with a seed per depth, so that every level of partitioning spreads
+     * the keys of a partition independently of the levels above it.
+     */
+    private static int partitionOf(String key, int partitions, int depth) {
+        int hash = key.hashCode() + depth * 0x9E3779B9;
+        hash = (hash ^ (hash >>> 16)) * 0x85EBCA6B;
+        hash = (hash ^ (hash >>> 13)) * 0xC2B2AE35;
+        return (hash ^ (hash >>> 16)) & (partitions - 1);
+    }
+
+    private static DataInputStream openPartition(Path file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+    }
+
+    private static String readKey(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            throw new EOFException("Corrupt join partition file.");
+        }
+        return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static List<Row> randomAccessRows(Table table) {
+        return table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+    }
+
+    /**
+     * A partition file with the number of its entries and the estimated size of a hash table over them.
+     * An empty partition has no file.
+     */
+    private record Partition(Path file, long size, long estimatedBytes) {
+    }
+
+    /**
+     * Writes the entries of one input into partition files, creating the file of a partition only
+     * once its first entry is written.
+     */
+    private final class PartitionWriter implements Closeable {
+
+        private final String prefix;
+        private final int depth;
+        private final List<Path> spillFiles;
+        private final Path[] files;
+        private final DataOutputStream[] outputs;
+        private final long[] sizes;
+        private final long[] estimatedBytes;
+
+        PartitionWriter(String prefix, int partitions, int depth, List<Path> spillFiles) {
+            this.prefix = prefix;
+            this.depth = depth;
+            this.spillFiles = spillFiles;
+            this.files = new Path[partitions];
+            this.outputs = new DataOutputStream[partitions];
+            this.sizes = new long[partitions];
+            this.estimatedBytes = new long[partitions];
+        }
+
+        void write(int row, String key) throws IOException {
+            int partition = partitionOf(key, files.length, depth);
+            DataOutputStream output = outputs[partition];
+            if (output == null) {
+                files[partition] = Files.createTempFile(spillDirectory, prefix + partition + "-", ".part");
+                spillFiles.add(files[partition]);
+                output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[partition]), BUFFER_SIZE));
+                outputs[partition] = output;
+            }
+            output.writeInt(row);
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            sizes[partition]++;
+            estimatedBytes[partition] += ESTIMATED_ENTRY_OVERHEAD + key.length();
+        }
+
+        /**
+         * @return the written partitions; call after closing the writer or not at all
+         */
+        Partition[] partitions() throws IOException {
+            close();
+            Partition[] partitions = new Partition[files.length];
+            for (int partition = 0; partition < files.length; partition++) {
+                partitions[partition] = new Partition(files[partition], sizes[partition], estimatedBytes[partition]);
+            }
+            return partitions;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (int partition = 0; partition < outputs.length; partition++) {
+                if (outputs[partition] == null) {
+                    continue;
+                }
+                try {
+                    outputs[partition].close();
+                } catch (IOException ex) {
+                    failure = failure == null ? ex : failure;
+                }
+                outputs[partition] = null;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * The matching row pairs, each packed into a {@code long} with the left row in the upper and the
+     * right row in the lower half, so that sorting them puts them in left row order, then right row order.
+     */
+    private static final class MatchBuffer {
+
+        private final long maxMatches;
+        private long[] matches = new long[64];
+        private int size;
+
+        MatchBuffer(long maxMatches) {
+            this.maxMatches = Math.min(maxMatches, Integer.MAX_VALUE - 8);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return {@code false} if the pair does not fit the match budget and was not added
+         */
+        boolean add(int leftRow, int rightRow) {
+            if (size >= maxMatches) {
+                return false;
+            }
+            if (size == matches.length) {
+                matches = Arrays.copyOf(matches, (int) Math.min(maxMatches, 2L * size));
+            }
+            matches[size++] = (long) leftRow << Integer.SIZE | rightRow;
+            return true;
+        }
+
+        JoinMatches toJoinMatches() {
+            Arrays.parallelSort(matches, 0, size);
+            int[] leftMatches = new int[size];
+            int[] rightMatches = new int[size];
+            for (int match = 0; match < size; match++) {
+                leftMatches[match] = (int) (matches[match] >>> Integer.SIZE);
+                rightMatches[match] = (int) matches[match];
+            }
+            return new JoinMatches(leftMatches, rightMatches);
+        }
+    }
+
+    /**
+     * Read access to the raw join key of every row of one join input, by column for columnar tables
+     * and by row otherwise.
+     */
+    private record JoinInput(int size, Column keyColumn, List<Row> rows, int columnIndex, String columnName) {
+
+        static JoinInput of(Table table, String columnName) {
+            if (table.rows() instanceof ColumnarRows columnarRows && columnarRows.column(columnName) != null) {
+                return new JoinInput(columnarRows.size(), columnarRows.column(columnName), null, -1, columnName);
+            }
+            List<Row> rows = randomAccessRows(table);
+            return new JoinInput(rows.size(), null, rows, table.headers().indexOf(columnName), columnName);
+        }
+
+        String rawKey(int row) {
+            return keyColumn != null ? keyColumn.get(row) : rows.get(row).get(columnIndex, columnName);
+        }
+
+        /**
+         * @return the estimated heap size of a hash table over the keys of this input
+         */
+        long estimatedHashTableBytes() {
+            long bytes = 0;
+            for (int row = 0; row < size; row++) {
+                String key = rawKey(row);
+                bytes += ESTIMATED_ENTRY_OVERHEAD + (key == null ? 0 : key.length());
+            }
+            return bytes;
+        }
+    }
+}
@@ -5,37 +5,159 @@ import com.csv.application.domain.enums.HttpStatusCode;
 import com.csv.application.domain.exception.EmptyHeaderException;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.JoinMatches;
 import com.csv.application.domain.model.Table;
-import org.apache.commons.lang3.StringUtils;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.util.CompositeJoinKeys;
+import com.csv.application.util.JoinedRowLayout;
+import com.csv.application.util.ForkJoinPools;
+import com.csv.application.util.JoinKeyBloomFilter;
+import com.csv.application.util.JoinedRows;
+import com.csv.application.util.LongRowIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toMap;
+import static com.csv.application.util.JoinerUtil.createColumnarJoinedTable;
 import static com.csv.application.util.JoinerUtil.createErrorResponse;
 import static com.csv.application.util.JoinerUtil.createJoinedHeaders;
+import static com.csv.application.util.JoinerUtil.isColumnarJoin;
 import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNamesAndTables;
+import static com.csv.application.util.JoinerUtil.longJoinKeys;
+import static com.csv.application.util.JoinerUtil.normalizedJoinKeys;
 
 public class HashJoinImpl implements TableJoiner {
 
     private static final Logger log = LoggerFactory.getLogger(HashJoinImpl.class);
+    private static final int MIN_ROWS_PER_TASK = 1 << 14;
+    private static final int RANGES_PER_THREAD = 4;
 
+    private final int parallelism;
+    /**
+     * The pool large inputs are joined on, or {@code null} if every join runs on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a joiner that joins large inputs on the common fork-join pool.
+     */
+    public HashJoinImpl() {
+        this(Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a joiner that joins large inputs on the shared fork-join pool of the given parallelism,
+     * see {@link ForkJoinPools}, so a join keeps at most {@code parallelism} threads busy.
+     *
+     * @param parallelism the number of cores to build and probe the hash table of large inputs on
+     */
+    public HashJoinImpl(int parallelism) {
+        this(parallelism, ForkJoinPools.ofParallelism(parallelism));
+    }
+
+    private HashJoinImpl(int parallelism, ForkJoinPool pool) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = pool;
+    }
+
+    @Override
     public Result<Table> joinTables(String leftKey, String rightKey, Table left, Table right) {
+        return join(leftKey, rightKey, left, right, false);
+    }
+
+    /**
+     * Joins on several key columns at once. The composite keys are hashed and compared column by
+     * column through {@link CompositeJoinKeys}, without building a combined key per row, and matched
+     * by the same partitioned, Bloom-filtered hash join as single-column keys.
+     */
+    @Override
+    public Result<Table> joinTables(List<String> leftKeys, List<String> rightKeys, Table left, Table right) {
+        if (isInvalidColumnNamesAndTables(leftKeys, rightKeys, left, right)) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The either left or right columnName or table itself is empty or null."));
+        }
+        if (leftKeys.size() != rightKeys.size()) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The left and right tables must be joined on the same number of columns."));
+        }
+        if (leftKeys.size() == 1) {
+            return joinTables(leftKeys.getFirst(), rightKeys.getFirst(), left, right);
+        }
+        return onPool(left, right, () -> joinOnKeys(leftKeys, rightKeys, left, right));
+    }
+
+    private Result<Table> joinOnKeys(List<String> leftKeys, List<String> rightKeys, Table left, Table right) {
+        try {
+            List<String> joinedHeaders = createJoinedHeaders(rightKeys, left, right);
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightKeys, left, right, true);
+            JoinMatches matches = matchKeys(String.join(", ", leftKeys),
+                    new CompositeKeys(CompositeJoinKeys.of(left, leftKeys)),
+                    new CompositeKeys(CompositeJoinKeys.of(right, rightKeys)));
+            if (isColumnarJoin(leftKeys, rightKeys, left, right)) {
+                return Result.success(createColumnarJoinedTable(joinedHeaders, layout,
+                        (ColumnarRows) left.rows(), (ColumnarRows) right.rows(), matches));
+            }
+            return Result.success(new Table(joinedHeaders,
+                    createJoinedRows(layout, randomAccessRows(left), randomAccessRows(right), matches)));
+        } catch (EmptyHeaderException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Joins like {@link #joinTables(String, String, Table, Table)}, but returns the joined rows as a
+     * {@link JoinedRows} view over the input rows instead of copying them.
+     */
+    @Override
+    public Result<Table> joinTablesLazily(String leftKey, String rightKey, Table left, Table right) {
+        return join(leftKey, rightKey, left, right, true);
+    }
+
+    private Result<Table> join(String leftKey, String rightKey, Table left, Table right, boolean lazy) {
         if (isInvalidColumnNameAndTable(leftKey, rightKey, left, right)) {
             return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
                     "The either left or right columnName or table itself is empty or null."));
         }
+        return onPool(left, right, () -> joinOnKey(leftKey, rightKey, left, right, lazy));
+    }
+
+    private Result<Table> joinOnKey(String leftKey, String rightKey, Table left, Table right, boolean lazy) {
         try {
             List<String> joinedHeaders = createJoinedHeaders(rightKey, left, right);
-            List<Row> joinedRows = performHashJoin(leftKey, rightKey, left, right);
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightKey, left, right, true);
+            if (isColumnarJoin(leftKey, rightKey, left, right)) {
+                ColumnarRows leftRows = (ColumnarRows) left.rows();
+                ColumnarRows rightRows = (ColumnarRows) right.rows();
+                JoinMatches matches = matchColumns(leftKey, rightKey, leftRows, rightRows);
+                return Result.success(lazy
+                        ? new Table(joinedHeaders, new JoinedRows(layout, leftRows, rightRows, matches))
+                        : createColumnarJoinedTable(joinedHeaders, layout, leftRows, rightRows, matches));
+            }
+            List<Row> leftRows = randomAccessRows(left);
+            List<Row> rightRows = randomAccessRows(right);
+            JoinMatches matches = matchRows(leftKey, rightKey, left.headers(), leftRows, right.headers(), rightRows);
 
-            return Result.success(new Table(joinedHeaders, joinedRows));
+            return Result.success(new Table(joinedHeaders, lazy
+                    ? new JoinedRows(layout, leftRows, rightRows, matches)
+                    : createJoinedRows(layout, leftRows, rightRows, matches)));
         } catch (EmptyHeaderException ex) {
             return Result.failure(createErrorResponse(
                     HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
@@ -43,87 +165,459 @@ public class HashJoinImpl implements TableJoiner {
     }
 
     /**
-     * Performs a hash-based inner join between two tables on the specified join columns.
-     * This method builds a hash map from the right table based on the join key, and for each
-     * row in the left table, finds matching rows in the right table. If a match is found,
-     * it creates a new combined {@link Row} and adds it to the result.
-     * Rows with null or blank keys in the left table are skipped and logged.
+     * Runs a join on the calling thread, or on the pool of this joiner if an input is large enough to be
+     * split into tasks. The parallel streams of the join then run on the threads of that pool.
+     */
+    private Result<Table> onPool(Table left, Table right, Supplier<Result<Table>> join) {
+        if (pool == null || Math.max(left.rows().size(), right.rows().size()) < MIN_ROWS_PER_TASK) {
+            return join.get();
+        }
+        return pool.invoke(ForkJoinTask.adapt(join::get));
+    }
+
+    /**
+     * Matches the rows of two tables on the specified join columns for a hash-based inner join.
+     * If the keys of both tables are integers they are matched on their primitive values, otherwise
+     * they are normalized once; either way they are matched by {@link #matchKeys}, in left row order
+     * and then right row order. Rows with null or blank keys in the left table are skipped and logged.
      *
      * @param leftColumnName  the join key column from the left table
      * @param rightColumnName the join key column from the right table
-     * @param leftTable       the left table
-     * @param rightTable      the right table
-     * @return a list of {@link Row} objects that are the result of the join
-     */
-    private List<Row> performHashJoin(String leftColumnName,
-                                      String rightColumnName,
-                                      Table leftTable,
-                                      Table rightTable) {
-
-        Map<String, List<Row>> rightTableMap = buildRightTableMap(rightColumnName, rightTable);
-
-        List<Row> joinedRows = new ArrayList<>();
-        for (Row leftRow : leftTable.rows()) {
-            String leftKey = null != leftRow.get(leftColumnName) ? leftRow.get(leftColumnName).trim().toLowerCase() : "";
-            if (StringUtils.isEmpty(leftKey)) {
-                log.warn("Skipping invalid left row for columnName. Since it's key is empty or null.: {}, {}",
-                        leftRow, leftColumnName);
-                continue;
+     * @param leftHeaders     the headers of the left table
+     * @param leftRows        the rows of the left table
+     * @param rightHeaders    the headers of the right table
+     * @param rightRows       the rows of the right table
+     * @return the matching row index pairs
+     */
+    private JoinMatches matchRows(String leftColumnName,
+                                  String rightColumnName,
+                                  List<String> leftHeaders,
+                                  List<Row> leftRows,
+                                  List<String> rightHeaders,
+                                  List<Row> rightRows) {
+
+        int leftColumnIndex = leftHeaders.indexOf(leftColumnName);
+        int rightColumnIndex = rightHeaders.indexOf(rightColumnName);
+        LongColumn leftLongKeys = longJoinKeys(leftRows, leftColumnIndex, leftColumnName);
+        LongColumn rightLongKeys = leftLongKeys == null ? null : longJoinKeys(rightRows, rightColumnIndex, rightColumnName);
+        if (rightLongKeys != null) {
+            return matchKeys(leftColumnName, new LongKeys(leftLongKeys), new LongKeys(rightLongKeys));
+        }
+        return matchKeys(leftColumnName,
+                new TextKeys(normalizedJoinKeys(leftRows, leftColumnIndex, leftColumnName)),
+                new TextKeys(normalizedJoinKeys(rightRows, rightColumnIndex, rightColumnName)));
+    }
+
+    /**
+     * Matches the rows of two columnar tables directly on their join key columns. Integer key columns
+     * are matched on their primitive values through a {@link LongRowIndex}, any other key columns on
+     * their normalized text. The matches come out in the same order as {@link #matchRows}.
+     *
+     * @param leftColumnName  the join key column from the left table
+     * @param rightColumnName the join key column from the right table
+     * @param leftRows        the columnar rows of the left table
+     * @param rightRows       the columnar rows of the right table
+     * @return the matching row index pairs
+     */
+    private JoinMatches matchColumns(String leftColumnName,
+                                     String rightColumnName,
+                                     ColumnarRows leftRows,
+                                     ColumnarRows rightRows) {
+
+        Column leftKeyColumn = leftRows.column(leftColumnName);
+        Column rightKeyColumn = rightRows.column(rightColumnName);
+        if (leftKeyColumn instanceof LongColumn leftKeys && rightKeyColumn instanceof LongColumn rightKeys) {
+            return matchKeys(leftColumnName, new LongKeys(leftKeys), new LongKeys(rightKeys));
+        }
+        return matchKeys(leftColumnName,
+                new TextKeys(normalizedJoinKeys(leftKeyColumn)), new TextKeys(normalizedJoinKeys(rightKeyColumn)));
+    }
+
+    /**
+     * Creates a combined array-backed {@link Row} for every matching pair, concurrently for large results.
+     */
+    private List<Row> createJoinedRows(JoinedRowLayout layout, List<Row> leftRows, List<Row> rightRows,
+                                       JoinMatches matches) {
+        IntStream matchIndexes = IntStream.range(0, matches.size());
+        if (parallelism > 1 && matches.size() >= MIN_ROWS_PER_TASK) {
+            matchIndexes = matchIndexes.parallel();
+        }
+        return matchIndexes
+                .mapToObj(match -> layout.join(leftRows.get(matches.leftRows()[match]), rightRows.get(matches.rightRows()[match])))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Hash-matches the keys of two inputs. The smaller input is indexed as chains of row indexes per key
+     * and the larger one probes it row by row, so the hash table only ever holds the smaller side.
+     * Either way the matches are returned in left row order and then right row order, which is the
+     * order of probing with the left rows. Rows without a key never match, and probe rows whose key
+     * is rejected by the Bloom filter of the index are dropped without a hash table lookup.
+     * <p>
+     * Large inputs use the cores of the pool: the index is built as independent hash partitions of the keys, one
+     * task per partition, and the probe rows are split into ranges that are probed concurrently. The
+     * matches of the ranges are appended in range order, so the result is the same as a sequential join.
+     * </p>
+     *
+     * @param leftColumnName the join key column from the left table, used for logging
+     * @param leftKeys       the keys of the left rows
+     * @param rightKeys      the keys of the right rows, of the same kind as the left keys
+     * @return the matching row index pairs in left row order, then right row order
+     */
+    private JoinMatches matchKeys(String leftColumnName, JoinKeys leftKeys, JoinKeys rightKeys) {
+        if (leftKeys.size() < rightKeys.size()) {
+            return matchKeysBuildingLeft(leftColumnName, leftKeys, rightKeys);
+        }
+
+        RowIndex rightIndex = rightKeys.index(leftKeys, partitionCount(rightKeys.size()));
+        JoinMatches matches = probeInRanges(leftKeys.size(), (fromRow, toRow) -> {
+            IntStream.Builder leftMatches = IntStream.builder();
+            IntStream.Builder rightMatches = IntStream.builder();
+            for (int leftRow = fromRow; leftRow < toRow; leftRow++) {
+                if (leftKeys.isMissing(leftRow)) {
+                    logSkippedLeftRow(leftRow, leftColumnName);
+                    continue;
+                }
+                if (!rightIndex.mightMatch(leftRow)) {
+                    continue;
+                }
+                int firstRightRow = rightIndex.first(leftRow);
+                if (firstRightRow < 0) {
+                    log.debug("No matching right rows found for left key: '{}'", leftKeys.key(leftRow));
+                    continue;
+                }
+                for (int rightRow = firstRightRow; rightRow >= 0; rightRow = rightIndex.next(rightRow)) {
+                    leftMatches.add(leftRow);
+                    rightMatches.add(rightRow);
+                }
             }
-            List<Row> matchingRightRows = rightTableMap.get(leftKey);
-            if (matchingRightRows == null) {
-                log.warn("No matching right rows found for left key: '{}'", leftKey);
-                continue;
+            return new JoinMatches(leftMatches.build().toArray(), rightMatches.build().toArray());
+        });
+        logEliminatedRows(rightIndex, "left", leftKeys.size());
+        return matches;
+    }
+
+    /**
+     * Matches the keys by indexing the smaller left input and probing it with the right rows.
+     * The matches found in right row order are then put back into left row order with a stable
+     * counting sort on the left row index.
+     */
+    private JoinMatches matchKeysBuildingLeft(String leftColumnName, JoinKeys leftKeys, JoinKeys rightKeys) {
+        int leftSize = leftKeys.size();
+        log.debug("Building the hash table on the left table, it has fewer rows: {} < {}", leftSize, rightKeys.size());
+        RowIndex leftIndex = leftKeys.index(rightKeys, partitionCount(leftSize));
+        JoinMatches probeMatches = probeInRanges(rightKeys.size(), (fromRow, toRow) -> {
+            IntStream.Builder probeLeftMatches = IntStream.builder();
+            IntStream.Builder probeRightMatches = IntStream.builder();
+            for (int rightRow = fromRow; rightRow < toRow; rightRow++) {
+                if (rightKeys.isMissing(rightRow) || !leftIndex.mightMatch(rightRow)) {
+                    continue;
+                }
+                for (int leftRow = leftIndex.first(rightRow); leftRow >= 0; leftRow = leftIndex.next(leftRow)) {
+                    probeLeftMatches.add(leftRow);
+                    probeRightMatches.add(rightRow);
+                }
             }
-            for (Row rightRow : matchingRightRows) {
-                joinedRows.add(createJoinedRow(leftRow, rightRow, rightColumnName));
+            return new JoinMatches(probeLeftMatches.build().toArray(), probeRightMatches.build().toArray());
+        });
+        logEliminatedRows(leftIndex, "right", rightKeys.size());
+
+        int[] unorderedLeftRows = probeMatches.leftRows();
+        int[] unorderedRightRows = probeMatches.rightRows();
+        int[] matchCounts = new int[leftSize + 1];
+        for (int leftRow : unorderedLeftRows) {
+            matchCounts[leftRow + 1]++;
+        }
+        for (int leftRow = 0; leftRow < leftSize; leftRow++) {
+            if (matchCounts[leftRow + 1] == 0) {
+                if (leftKeys.isMissing(leftRow)) {
+                    logSkippedLeftRow(leftRow, leftColumnName);
+                } else {
+                    log.debug("No matching right rows found for left key: '{}'", leftKeys.key(leftRow));
+                }
             }
+            matchCounts[leftRow + 1] += matchCounts[leftRow];
+        }
+
+        int[] leftMatches = new int[unorderedLeftRows.length];
+        int[] rightMatches = new int[unorderedRightRows.length];
+        for (int match = 0; match < unorderedLeftRows.length; match++) {
+            int position = matchCounts[unorderedLeftRows[match]]++;
+            leftMatches[position] = unorderedLeftRows[match];
+            rightMatches[position] = unorderedRightRows[match];
         }
-        return joinedRows;
+        return new JoinMatches(leftMatches, rightMatches);
     }
 
     /**
-     * Builds a hash map from the right table for efficient lookup during join.
-     * The map uses the values from the specified {@code rightColumnName} as keys and groups
-     * the corresponding rows in a list.
-     * Rows with null or blank join key values are excluded from the map.
+     * Splits the probe rows into contiguous ranges, probes them concurrently and appends their
+     * matches in range order. Small inputs are probed as a single range on the calling thread.
      *
-     * @param rightColumnName the column name to use as the key
-     * @param rightTable      the table to index
-     * @return a map of join key to list of rows in the right table
+     * @param probeSize  the number of probe rows
+     * @param rangeProbe probes the rows {@code [fromRow, toRow)} and returns their matches in row order
+     * @return the matches of all probe rows, in probe row order
      */
-    private static Map<String, List<Row>> buildRightTableMap(String rightColumnName, Table rightTable) {
-        return rightTable.rows().stream().filter(row -> {
-            String rightKey = row.get(rightColumnName);
-            return rightKey != null && !rightKey.isBlank();
-        }).collect(Collectors.groupingBy(row -> row.get(rightColumnName).trim().toLowerCase()));
+    private JoinMatches probeInRanges(int probeSize, RangeProbe rangeProbe) {
+        int ranges = taskCount(probeSize, parallelism * RANGES_PER_THREAD);
+        if (ranges == 1) {
+            return rangeProbe.probe(0, probeSize);
+        }
+        return JoinMatches.concat(IntStream.range(0, ranges).parallel()
+                .mapToObj(range -> rangeProbe.probe(rangeStart(probeSize, ranges, range),
+                        rangeStart(probeSize, ranges, range + 1)))
+                .toList());
     }
 
     /**
-     * Creates a new {@link Row} by combining the data from a row in the left table and a matching row
-     * from the right table.
-     * The right table's join key column is excluded to avoid duplication in the joined row.
-     * If the same column name exists in both tables (except for the join key), the value from the
-     * left table is preserved.
+     * @param buildSize the number of rows of the indexed input
+     * @return the power of two number of hash partitions to build the index in, {@code 1} for small inputs
+     */
+    private int partitionCount(int buildSize) {
+        int partitions = taskCount(buildSize, parallelism);
+        return partitions == 1 ? 1 : Integer.highestOneBit(partitions - 1) << 1;
+    }
+
+    private static int taskCount(int rows, int maxTasks) {
+        return Math.max(1, Math.min(maxTasks, rows / MIN_ROWS_PER_TASK));
+    }
+
+    private static int rangeStart(int size, int ranges, int range) {
+        return (int) ((long) size * range / ranges);
+    }
+
+    private static void logEliminatedRows(RowIndex index, String probeSide, int probeSize) {
+        log.info("Bloom filter of the join keys eliminated {} of {} {} rows before the hash table lookup",
+                index.filter().eliminatedRows(), probeSize, probeSide);
+    }
+
+    private static void logSkippedLeftRow(int leftRow, String leftColumnName) {
+        log.warn("Skipping invalid left row for columnName. Since it's key is empty or null.: {}, {}",
+                leftRow, leftColumnName);
+    }
+
+    private static List<Row> randomAccessRows(Table table) {
+        return table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+    }
+
+    @FunctionalInterface
+    private interface RangeProbe {
+        JoinMatches probe(int fromRow, int toRow);
+    }
+
+    /**
+     * The join keys of one input, either all normalized text, all primitive integers or all composite.
+     */
+    private sealed interface JoinKeys permits TextKeys, LongKeys, CompositeKeys {
+
+        int size();
+
+        boolean isMissing(int row);
+
+        /**
+         * @return the key of a row, for logging
+         */
+        Object key(int row);
+
+        /**
+         * Indexes these keys for probing with the rows of the other input.
+         *
+         * @param probeKeys  the keys of the other input, of the same kind as these keys
+         * @param partitions the power of two number of hash partitions to build the index in
+         * @return the index, looked up by probe row
+         */
+        RowIndex index(JoinKeys probeKeys, int partitions);
+    }
+
+    /**
+     * Looks up the rows of the indexed input that match a row of the probe input. A Bloom filter over
+     * the indexed keys rejects most probe rows without a match before the hash table is touched.
      *
-     * @param leftRow         the row from the left table
-     * @param rightRow        the matching row from the right table
-     * @param rightJoinColumn the join column name from the right table
-     * @return a new {@link Row} that combines values from both input rows
-     */
-    private Row createJoinedRow(Row leftRow, Row rightRow, String rightJoinColumn) {
-
-        Map<String, String> hashMap = Stream.concat(
-                        leftRow.getData().entrySet().stream(),
-                        rightRow.getData()
-                                .entrySet()
-                                .stream()
-                                .filter(entry -> !entry.getKey().equals(rightJoinColumn)))
-                .collect(toMap(
-                        Map.Entry::getKey,
-                        Map.Entry::getValue,
-                        (v1, v2) -> v1,
-                        LinkedHashMap::new));
-        return new Row(hashMap);
+     * @param filter      the Bloom filter over the indexed keys
+     * @param filterKeys  whether the filter accepts the key of a probe row
+     * @param firstRows   the first indexed row with the key of a probe row, or {@code -1}
+     * @param nextRows    the next indexed row with the same key as an indexed row, or {@code -1}
+     */
+    private record RowIndex(JoinKeyBloomFilter filter, IntPredicate filterKeys,
+                            IntUnaryOperator firstRows, IntUnaryOperator nextRows) {
+
+        boolean mightMatch(int probeRow) {
+            return filterKeys.test(probeRow);
+        }
+
+        int first(int probeRow) {
+            return firstRows.applyAsInt(probeRow);
+        }
+
+        int next(int row) {
+            return nextRows.applyAsInt(row);
+        }
+    }
+
+    private record TextKeys(String[] keys) implements JoinKeys {
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean isMissing(int row) {
+            return keys[row] == null;
+        }
+
+        @Override
+        public Object key(int row) {
+            return keys[row];
+        }
+
+        @Override
+        public RowIndex index(JoinKeys probeKeys, int partitions) {
+            KeyChains<String> chains = KeyChains.of(keys.length, row -> keys[row], partitions);
+            JoinKeyBloomFilter filter = JoinKeyBloomFilter.of(keys);
+            String[] probe = ((TextKeys) probeKeys).keys();
+            return new RowIndex(filter, probeRow -> filter.mightContain(probe[probeRow]),
+                    probeRow -> chains.first(probe[probeRow]), chains::next);
+        }
+    }
+
+    /**
+     * Integer keys, indexed in a primitive {@link LongRowIndex} so that no key is boxed or hashed as
+     * an object.
+     */
+    private record LongKeys(LongColumn column) implements JoinKeys {
+
+        @Override
+        public int size() {
+            return column.size();
+        }
+
+        @Override
+        public boolean isMissing(int row) {
+            return column.isNull(row);
+        }
+
+        @Override
+        public Object key(int row) {
+            return column.value(row);
+        }
+
+        @Override
+        public RowIndex index(JoinKeys probeKeys, int partitions) {
+            LongRowIndex index = LongRowIndex.of(column, partitions);
+            JoinKeyBloomFilter filter = JoinKeyBloomFilter.of(column);
+            LongColumn probe = ((LongKeys) probeKeys).column();
+            return new RowIndex(filter, probeRow -> filter.mightContain(probe.value(probeRow)),
+                    probeRow -> index.first(probe.value(probeRow)), index::next);
+        }
+    }
+
+    /**
+     * Keys over several columns, indexed in a {@link CompositeJoinKeys.Index}.
+     */
+    private record CompositeKeys(CompositeJoinKeys keys) implements JoinKeys {
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public boolean isMissing(int row) {
+            return keys.isMissing(row);
+        }
+
+        @Override
+        public Object key(int row) {
+            return keys.key(row);
+        }
+
+        @Override
+        public RowIndex index(JoinKeys probeKeys, int partitions) {
+            CompositeJoinKeys.Index index = keys.index(partitions);
+            JoinKeyBloomFilter filter = JoinKeyBloomFilter.of(keys);
+            CompositeJoinKeys probe = ((CompositeKeys) probeKeys).keys();
+            return new RowIndex(filter, probeRow -> filter.mightContain(probe, probeRow),
+                    probeRow -> index.first(probe, probeRow), index::next);
+        }
+    }
+
+    /**
+     * Hash index of the rows of one join input: for every key the first row with that key, and for
+     * every row the next row with the same key, both in ascending row order.
+     * <p>
+     * The keys are spread over independent hash partitions by the high bits of their mixed hash
+     * code, so the partitions can be built concurrently without locking; every row belongs to exactly
+     * one partition and the chains of different partitions never share a row.
+     * </p>
+     */
+    private record KeyChains<K>(List<Map<K, Integer>> firstRows, int[] nextRows, int partitionShift) {
+
+        static <K> KeyChains<K> of(int size, IntFunction<K> keys, int partitions) {
+            int partitionShift = Integer.SIZE - Integer.numberOfTrailingZeros(partitions);
+            int[] nextRows = new int[size];
+            if (partitions == 1) {
+                Map<K, Integer> firstRows = new HashMap<>();
+                for (int row = size - 1; row >= 0; row--) {
+                    addRow(firstRows, nextRows, keys, row);
+                }
+                return new KeyChains<>(List.of(firstRows), nextRows, partitionShift);
+            }
+
+            int[] rowPartitions = new int[size];
+            int[] partitionStarts = new int[partitions + 1];
+            IntStream.range(0, size).parallel().forEach(row -> {
+                K key = keys.apply(row);
+                rowPartitions[row] = key == null ? -1 : partitionOf(key, partitionShift);
+            });
+            for (int partition : rowPartitions) {
+                if (partition >= 0) {
+                    partitionStarts[partition + 1]++;
+                }
+            }
+            for (int partition = 0; partition < partitions; partition++) {
+                partitionStarts[partition + 1] += partitionStarts[partition];
+            }
+            int[] partitionedRows = new int[partitionStarts[partitions]];
+            int[] positions = Arrays.copyOf(partitionStarts, partitions);
+            for (int row = 0; row < size; row++) {
+                if (rowPartitions[row] >= 0) {
+                    partitionedRows[positions[rowPartitions[row]]++] = row;
+                }
+            }
+
+            List<Map<K, Integer>> firstRows = IntStream.range(0, partitions).parallel()
+                    .mapToObj(partition -> {
+                        int start = partitionStarts[partition];
+                        int end = partitionStarts[partition + 1];
+                        Map<K, Integer> partitionRows = HashMap.newHashMap(end - start);
+                        for (int index = end - 1; index >= start; index--) {
+                            addRow(partitionRows, nextRows, keys, partitionedRows[index]);
+                        }
+                        return partitionRows;
+                    })
+                    .toList();
+            return new KeyChains<>(firstRows, nextRows, partitionShift);
+        }
+
+        private static <K> void addRow(Map<K, Integer> firstRows, int[] nextRows, IntFunction<K> keys, int row) {
+            K key = keys.apply(row);
+            if (key != null) {
+                Integer next = firstRows.put(key, row);
+                nextRows[row] = next == null ? -1 : next;
+            }
+        }
+
+        private static int partitionOf(Object key, int partitionShift) {
+            return partitionShift == Integer.SIZE ? 0 : (key.hashCode() * 0x9E3779B9) >>> partitionShift;
+        }
+
+        int first(K key) {
+            Integer first = firstRows.get(partitionOf(key, partitionShift)).get(key);
+            return first == null ? -1 : first;
+        }
+
+        int next(int row) {
+            return nextRows[row];
+        }
     }
 }
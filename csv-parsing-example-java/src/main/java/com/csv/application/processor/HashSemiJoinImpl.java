@@ -0,0 +1,135 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.processor.interfaces.TableSemiJoiner;
+import com.csv.application.util.LongRowIndex;
+import org.apache.commons.lang3.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.csv.application.util.JoinerUtil.createErrorResponse;
+import static com.csv.application.util.JoinerUtil.isColumnarJoin;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.longJoinKeys;
+import static com.csv.application.util.JoinerUtil.normalizedJoinKeys;
+
+/**
+ * Semi-join and anti-join that only build the set of the right join keys and filter the left rows
+ * against it.
+ * <p>
+ * Unlike an inner join followed by a projection, no combined row is ever built and a left row with
+ * several matching right rows is not duplicated. Integer keys are looked up in a primitive
+ * {@link LongRowIndex}, any other keys in a set of their normalized text. The kept left rows are the
+ * original {@link Row} instances; the rows of a columnar table are gathered column by column, without
+ * a {@link Row} per row.
+ * </p>
+ */
+public class HashSemiJoinImpl implements TableSemiJoiner {
+
+    private static final Logger log = LoggerFactory.getLogger(HashSemiJoinImpl.class);
+    private static final int MIN_ROWS_PER_TASK = 1 << 14;
+
+    @Override
+    public Result<Table> semiJoin(String leftKey, String rightKey, Table left, Table right) {
+        return filterRows(leftKey, rightKey, left, right, true);
+    }
+
+    @Override
+    public Result<Table> antiJoin(String leftKey, String rightKey, Table left, Table right) {
+        return filterRows(leftKey, rightKey, left, right, false);
+    }
+
+    /**
+     * @param keepMatching whether to keep the left rows with a match (semi-join) or those without (anti-join)
+     */
+    private Result<Table> filterRows(String leftKey, String rightKey, Table left, Table right, boolean keepMatching) {
+        if (isInvalidColumnNameAndTable(leftKey, rightKey, left, right)) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The either left or right columnName or table itself is empty or null."));
+        }
+        if (ObjectUtils.isEmpty(left.headers()) || ObjectUtils.isEmpty(right.headers())) {
+            return Result.failure(createErrorResponse(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(),
+                    "The left or right table header list is empty or null."));
+        }
+
+        IntPredicate hasMatch = matcher(leftKey, rightKey, left, right);
+        IntStream leftRowIndexes = IntStream.range(0, left.rows().size());
+        if (left.rows().size() >= MIN_ROWS_PER_TASK) {
+            leftRowIndexes = leftRowIndexes.parallel();
+        }
+        int[] keptRows = leftRowIndexes.filter(row -> hasMatch.test(row) == keepMatching).toArray();
+        log.debug("The {} kept {} of {} left rows", keepMatching ? "semi-join" : "anti-join",
+                keptRows.length, left.rows().size());
+
+        if (left.rows() instanceof ColumnarRows columnarRows) {
+            return Result.success(new Table(left.headers(), columnarRows.select(keptRows)));
+        }
+        List<Row> leftRows = randomAccessRows(left);
+        return Result.success(new Table(left.headers(), Arrays.stream(keptRows)
+                .mapToObj(leftRows::get)
+                .collect(Collectors.toCollection(ArrayList::new))));
+    }
+
+    /**
+     * Builds the set of the right join keys.
+     *
+     * @return whether a left row has a key that is in the set
+     */
+    private static IntPredicate matcher(String leftKey, String rightKey, Table left, Table right) {
+        if (isColumnarJoin(leftKey, rightKey, left, right)) {
+            Column leftKeyColumn = ((ColumnarRows) left.rows()).column(leftKey);
+            Column rightKeyColumn = ((ColumnarRows) right.rows()).column(rightKey);
+            if (leftKeyColumn instanceof LongColumn leftKeys && rightKeyColumn instanceof LongColumn rightKeys) {
+                return longKeyMatcher(leftKeys, rightKeys);
+            }
+            return textKeyMatcher(normalizedJoinKeys(leftKeyColumn), normalizedJoinKeys(rightKeyColumn));
+        }
+
+        List<Row> leftRows = randomAccessRows(left);
+        List<Row> rightRows = randomAccessRows(right);
+        int leftColumnIndex = left.headers().indexOf(leftKey);
+        int rightColumnIndex = right.headers().indexOf(rightKey);
+        LongColumn leftLongKeys = longJoinKeys(leftRows, leftColumnIndex, leftKey);
+        LongColumn rightLongKeys = leftLongKeys == null ? null : longJoinKeys(rightRows, rightColumnIndex, rightKey);
+        if (rightLongKeys != null) {
+            return longKeyMatcher(leftLongKeys, rightLongKeys);
+        }
+        return textKeyMatcher(normalizedJoinKeys(leftRows, leftColumnIndex, leftKey),
+                normalizedJoinKeys(rightRows, rightColumnIndex, rightKey));
+    }
+
+    private static IntPredicate longKeyMatcher(LongColumn leftKeys, LongColumn rightKeys) {
+        LongRowIndex rightIndex = LongRowIndex.of(rightKeys, 1);
+        return row -> !leftKeys.isNull(row) && rightIndex.first(leftKeys.value(row)) >= 0;
+    }
+
+    private static IntPredicate textKeyMatcher(String[] leftKeys, String[] rightKeys) {
+        Set<String> rightKeySet = HashSet.newHashSet(rightKeys.length);
+        for (String key : rightKeys) {
+            if (key != null) {
+                rightKeySet.add(key);
+            }
+        }
+        return row -> leftKeys[row] != null && rightKeySet.contains(leftKeys[row]);
+    }
+
+    private static List<Row> randomAccessRows(Table table) {
+        return table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+    }
+}
@@ -5,17 +5,28 @@ import com.csv.application.domain.enums.HttpStatusCode;
 import com.csv.application.domain.exception.EmptyHeaderException;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.JoinMatches;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.util.CompositeJoinKeys;
+import com.csv.application.util.JoinedRowLayout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
+import static com.csv.application.util.JoinerUtil.createColumnarJoinedTable;
 import static com.csv.application.util.JoinerUtil.createErrorResponse;
 import static com.csv.application.util.JoinerUtil.createJoinedHeaders;
+import static com.csv.application.util.JoinerUtil.isColumnarJoin;
 import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNamesAndTables;
+import static com.csv.application.util.JoinerUtil.normalizedJoinKeys;
 
 public class InnerNestedLoopJoinImpl implements TableJoiner {
 
@@ -33,8 +44,59 @@ public class InnerNestedLoopJoinImpl implements TableJoiner {
         }
         try {
             List<String> joinedHeaders = createJoinedHeaders(rightColumnName, leftTable, rightTable);
-            List<Row> joinedRows = createJoinedRows(leftColumnName, rightColumnName, leftTable, rightTable);
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightColumnName, leftTable, rightTable, false);
+            if (isColumnarJoin(leftColumnName, rightColumnName, leftTable, rightTable)) {
+                return Result.success(performColumnarNestedLoopJoin(leftColumnName, rightColumnName,
+                        (ColumnarRows) leftTable.rows(), (ColumnarRows) rightTable.rows(), joinedHeaders, layout));
+            }
+            List<Row> joinedRows = createJoinedRows(leftColumnName, rightColumnName, leftTable, rightTable, layout);
+
+            return Result.success(new Table(joinedHeaders, joinedRows));
+        } catch (EmptyHeaderException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Joins on several key columns at once, comparing the normalized keys of every pair of rows column
+     * by column through {@link CompositeJoinKeys} instead of building a combined key per row.
+     */
+    @Override
+    public Result<Table> joinTables(List<String> leftColumnNames,
+                                    List<String> rightColumnNames,
+                                    Table leftTable,
+                                    Table rightTable) {
 
+        if (isInvalidColumnNamesAndTables(leftColumnNames, rightColumnNames, leftTable, rightTable)) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The either left or right columnName or table itself is empty or null."));
+        }
+        if (leftColumnNames.size() != rightColumnNames.size()) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The left and right tables must be joined on the same number of columns."));
+        }
+        if (leftColumnNames.size() == 1) {
+            return joinTables(leftColumnNames.getFirst(), rightColumnNames.getFirst(), leftTable, rightTable);
+        }
+        try {
+            List<String> joinedHeaders = createJoinedHeaders(rightColumnNames, leftTable, rightTable);
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightColumnNames, leftTable, rightTable, false);
+            CompositeJoinKeys leftKeys = CompositeJoinKeys.of(leftTable, leftColumnNames);
+            CompositeJoinKeys rightKeys = CompositeJoinKeys.of(rightTable, rightColumnNames);
+            JoinMatches matches = matchKeys(String.join(", ", leftColumnNames), leftKeys.size(), rightKeys.size(),
+                    leftKeys::isMissing, rightKeys::isMissing,
+                    (leftRow, rightRow) -> leftKeys.matches(leftRow, rightKeys, rightRow));
+            if (isColumnarJoin(leftColumnNames, rightColumnNames, leftTable, rightTable)) {
+                return Result.success(createColumnarJoinedTable(joinedHeaders, layout,
+                        (ColumnarRows) leftTable.rows(), (ColumnarRows) rightTable.rows(), matches));
+            }
+            List<Row> leftRows = new ArrayList<>(leftTable.rows());
+            List<Row> rightRows = new ArrayList<>(rightTable.rows());
+            List<Row> joinedRows = new ArrayList<>(matches.size());
+            for (int match = 0; match < matches.size(); match++) {
+                joinedRows.add(layout.join(leftRows.get(matches.leftRows()[match]), rightRows.get(matches.rightRows()[match])));
+            }
             return Result.success(new Table(joinedHeaders, joinedRows));
         } catch (EmptyHeaderException ex) {
             return Result.failure(createErrorResponse(
@@ -53,26 +115,28 @@ public class InnerNestedLoopJoinImpl implements TableJoiner {
      * @param rightColumnName the join key from the right table
      * @param leftTable       the left table
      * @param rightTable      the right table
+     * @param layout          the precomputed layout of the joined rows
      * @return a list of joined {@link Row} objects
      */
     private List<Row> createJoinedRows(String leftColumnName, String rightColumnName,
-                                       Table leftTable, Table rightTable) {
+                                       Table leftTable, Table rightTable, JoinedRowLayout layout) {
+        int leftColumnIndex = leftTable.headers().indexOf(leftColumnName);
+        int rightColumnIndex = rightTable.headers().indexOf(rightColumnName);
         List<Row> joinedRows = new ArrayList<>();
         for (Row leftRow : leftTable.rows()) {
-            if (isRowInvalid(leftRow, leftColumnName)) {
+            if (isRowInvalid(leftRow, leftColumnIndex, leftColumnName)) {
                 log.warn("Skipping invalid left row and columnName : {}, {}", leftRow, leftColumnName);
                 continue;
             }
-            String leftValue = leftRow.get(leftColumnName).toLowerCase().trim();
+            String leftValue = leftRow.get(leftColumnIndex, leftColumnName).toLowerCase().trim();
             for (Row rightRow : rightTable.rows()) {
-                if (isRowInvalid(rightRow, rightColumnName)) {
+                if (isRowInvalid(rightRow, rightColumnIndex, rightColumnName)) {
                     log.warn("Skipping invalid right row and columnName : {}, {}", rightRow, rightColumnName);
                     continue;
                 }
-                String rightValue = rightRow.get(rightColumnName).toLowerCase().trim();
+                String rightValue = rightRow.get(rightColumnIndex, rightColumnName).toLowerCase().trim();
                 if (leftValue.equals(rightValue)) {
-                    Row eachRow = createEachRow(rightColumnName, rightTable, leftRow, rightRow);
-                    joinedRows.add(eachRow);
+                    joinedRows.add(layout.join(leftRow, rightRow));
                 }
             }
         }
@@ -80,35 +144,88 @@ public class InnerNestedLoopJoinImpl implements TableJoiner {
     }
 
     /**
-     * Checks if a row is invalid for join operations.
-     * A row is considered invalid if it is {@code null}, or if the value for the join column
-     * is null, empty, or blank.
+     * Runs the nested loop directly on the join key columns of two columnar tables. Integer key columns
+     * are compared on their primitive values; any other keys are normalized once up front instead of
+     * once per comparison. The output columns are gathered from the matching row index pairs.
      *
-     * @param row        the {@link Row} to check
-     * @param joinColumn the column used for joining
-     * @return {@code true} if the row is invalid; {@code false} otherwise
+     * @param leftColumnName  the join key from the left table
+     * @param rightColumnName the join key from the right table
+     * @param leftRows        the columnar rows of the left table
+     * @param rightRows       the columnar rows of the right table
+     * @param joinedHeaders   the headers of the joined table
+     * @param layout          the precomputed layout of the joined rows
+     * @return the joined columnar {@link Table}
      */
-    private boolean isRowInvalid(Row row, String joinColumn) {
-        return row == null || row.get(joinColumn) == null || row.get(joinColumn).trim().isEmpty();
+    private Table performColumnarNestedLoopJoin(String leftColumnName, String rightColumnName,
+                                                ColumnarRows leftRows, ColumnarRows rightRows,
+                                                List<String> joinedHeaders, JoinedRowLayout layout) {
+        Column leftKeyColumn = leftRows.column(leftColumnName);
+        Column rightKeyColumn = rightRows.column(rightColumnName);
+        JoinMatches matches;
+        if (leftKeyColumn instanceof LongColumn leftKeys && rightKeyColumn instanceof LongColumn rightKeys) {
+            matches = matchKeys(leftColumnName, leftKeys.size(), rightKeys.size(), leftKeys::isNull, rightKeys::isNull,
+                    (leftRow, rightRow) -> leftKeys.value(leftRow) == rightKeys.value(rightRow));
+        } else {
+            String[] leftKeys = normalizedJoinKeys(leftKeyColumn);
+            String[] rightKeys = normalizedJoinKeys(rightKeyColumn);
+            matches = matchKeys(leftColumnName, leftKeys.length, rightKeys.length,
+                    leftRow -> leftKeys[leftRow] == null, rightRow -> rightKeys[rightRow] == null,
+                    (leftRow, rightRow) -> leftKeys[leftRow].equals(rightKeys[rightRow]));
+        }
+        return createColumnarJoinedTable(joinedHeaders, layout, leftRows, rightRows, matches);
     }
 
     /**
-     * Creates a new {@link Row} by combining a row from the left table with a row from the right table,
-     * excluding the right table's join key column.
+     * Compares every valid left key with every valid right key.
      *
-     * @param rightColumnName the join key from the right table
-     * @param rightTable      the right table
-     * @param leftRow         the row from the left table
-     * @param rightRow        the row from the right table
-     * @return a new combined {@link Row}
+     * @param leftColumnName the join key from the left table, used for logging
+     * @param leftSize       the number of left rows
+     * @param rightSize      the number of right rows
+     * @param leftMissing    whether a left row has no key
+     * @param rightMissing   whether a right row has no key
+     * @param keysEqual      whether the keys of a left and a right row are equal
+     * @return the matching row index pairs in left row order, then right row order
      */
-    private Row createEachRow(String rightColumnName, Table rightTable, Row leftRow, Row rightRow) {
-        Row eachRow = new Row(new LinkedHashMap<>(leftRow.getData()));
-        for (String header : rightTable.headers()) {
-            if (!header.equals(rightColumnName)) {
-                eachRow.set(header, rightRow.get(header));
+    private JoinMatches matchKeys(String leftColumnName, int leftSize, int rightSize,
+                                  IntPredicate leftMissing, IntPredicate rightMissing,
+                                  BiIntPredicate keysEqual) {
+        IntStream.Builder leftMatches = IntStream.builder();
+        IntStream.Builder rightMatches = IntStream.builder();
+        for (int leftRow = 0; leftRow < leftSize; leftRow++) {
+            if (leftMissing.test(leftRow)) {
+                log.warn("Skipping invalid left row and columnName : {}, {}", leftRow, leftColumnName);
+                continue;
+            }
+            for (int rightRow = 0; rightRow < rightSize; rightRow++) {
+                if (!rightMissing.test(rightRow) && keysEqual.test(leftRow, rightRow)) {
+                    leftMatches.add(leftRow);
+                    rightMatches.add(rightRow);
+                }
             }
         }
-        return eachRow;
+        return new JoinMatches(leftMatches.build().toArray(), rightMatches.build().toArray());
+    }
+
+    /**
+     * Checks if a row is invalid for join operations.
+     * A row is considered invalid if it is {@code null}, or if the value for the join column
+     * is null, empty, or blank.
+     *
+     * @param row         the {@link Row} to check
+     * @param columnIndex the index of the join column in the table headers
+     * @param joinColumn  the column used for joining
+     * @return {@code true} if the row is invalid; {@code false} otherwise
+     */
+    private boolean isRowInvalid(Row row, int columnIndex, String joinColumn) {
+        if (row == null) {
+            return true;
+        }
+        String value = row.get(columnIndex, joinColumn);
+        return value == null || value.trim().isEmpty();
+    }
+
+    @FunctionalInterface
+    private interface BiIntPredicate {
+        boolean test(int leftRow, int rightRow);
     }
 }
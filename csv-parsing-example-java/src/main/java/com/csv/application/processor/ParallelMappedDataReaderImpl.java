@@ -0,0 +1,461 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.exception.CSVParsingException;
+import com.csv.application.domain.exception.InvalidColumnException;
+import com.csv.application.domain.model.ColumnFilter;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.Table;
+import com.csv.application.processor.interfaces.DataReader;
+import com.csv.application.util.ColumnProjection;
+import com.csv.application.util.ForkJoinPools;
+import com.csv.application.util.RecordFilter;
+import org.apache.commons.collections4.IteratorUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.csv.application.util.ReaderUtil.buildCSVFormat;
+import static com.csv.application.util.ReaderUtil.createErrorResponse;
+import static com.csv.application.util.ReaderUtil.isGzipFile;
+import static com.csv.application.util.ReaderUtil.mapRecordToRow;
+import static com.csv.application.util.ReaderUtil.validateAndGetPath;
+import static com.csv.application.util.ReaderUtil.validateHeaders;
+
+/**
+ * {@link DataReader} that memory-maps the CSV file and parses it in parallel.
+ * <p>
+ * The file is cut into byte ranges that always start at the beginning of a record: a first parallel
+ * pass counts the quotes of every chunk, so the chunk boundaries can be moved to the next newline that
+ * is not inside a quoted field. Every range is then parsed on its own core and the rows are stitched
+ * back together in file order. Both passes run on a fork-join pool sized by the parallelism of the reader.
+ * </p>
+ * <p>
+ * The quote count only finds the record boundaries of RFC 4180 quoting. A quote inside an unquoted field
+ * or an escaped quote can move a boundary into a quoted field; the range before it then ends inside that
+ * field and fails to parse, and the file is read again by a {@link DataReaderImpl}. Streams do not depend
+ * on the split at all, they parse the mapped file with a single parser.
+ * </p>
+ * <p>
+ * Gzip-compressed files cannot be split into byte ranges and are read by a {@link DataReaderImpl},
+ * which decompresses multi-member files in parallel instead.
+ * </p>
+ */
+public class ParallelMappedDataReaderImpl implements DataReader {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelMappedDataReaderImpl.class);
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte NEW_LINE = '\n';
+
+    private final int parallelism;
+
+    /**
+     * The pool the file is scanned and parsed on, or {@code null} if it is parsed on the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Reads gzip-compressed files, and the files whose split into record ranges turned out to be wrong.
+     */
+    private final DataReader sequentialReader = new DataReaderImpl();
+
+    /**
+     * Creates a reader that splits files into one chunk per core and parses them on the common fork-join pool.
+     */
+    public ParallelMappedDataReaderImpl() {
+        this(Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a reader that splits files into {@code parallelism} chunks and parses them on the shared
+     * fork-join pool of that parallelism, see {@link ForkJoinPools}, so a read keeps at most
+     * {@code parallelism} threads busy.
+     *
+     * @param parallelism the number of cores to parse on; {@code 1} parses on the calling thread
+     */
+    public ParallelMappedDataReaderImpl(int parallelism) {
+        this(Math.max(1, parallelism), ForkJoinPools.ofParallelism(parallelism));
+    }
+
+    private ParallelMappedDataReaderImpl(int parallelism, ForkJoinPool pool) {
+        this.parallelism = parallelism;
+        this.pool = pool;
+    }
+
+    @Override
+    public Result<Table> readCSVData(String path) {
+        return readCSVData(path, List.of(), List.of());
+    }
+
+    @Override
+    public Result<Table> readCSVData(String path, List<String> columns, List<ColumnFilter> filters) {
+
+        Path CSVPath;
+        try {
+            CSVPath = validateAndGetPath(path);
+        } catch (InvalidPathException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.BAD_REQUEST.getCode(), ex.getMessage()));
+        }
+        try {
+            if (isGzipFile(CSVPath)) {
+                return sequentialReader.readCSVData(path, columns, filters);
+            }
+            return parseCSVToTable(CSVPath, columns, filters);
+        } catch (InvalidSplitException ex) {
+            log.warn("Could not split CSV file {} into records, reading it sequentially: {}", path, ex.getMessage());
+            return sequentialReader.readCSVData(path, columns, filters);
+        } catch (InvalidColumnException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.BAD_REQUEST.getCode(), ex.getMessage()));
+        } catch (IOException | UncheckedIOException | CSVParsingException ex) {
+            log.error("Failed to read CSV file: {}, {}", path, ex.getMessage());
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        }
+    }
+
+    @Override
+    public Result<RowStream> streamCSVData(String path) {
+
+        Path CSVPath;
+        try {
+            CSVPath = validateAndGetPath(path);
+        } catch (InvalidPathException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.BAD_REQUEST.getCode(), ex.getMessage()));
+        }
+        try {
+            if (isGzipFile(CSVPath)) {
+                return sequentialReader.streamCSVData(path);
+            }
+            return Result.success(openRowStream(CSVPath));
+        } catch (IOException | UncheckedIOException | CSVParsingException ex) {
+            log.error("Failed to open CSV file: {}, {}", path, ex.getMessage());
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Parses the requested columns of the matching records of the CSV file at the given path into a
+     * {@link Table} object. Every record range is parsed concurrently on the pool of this reader; the
+     * ordered parallel stream keeps the rows in file order. A file whose records are all dropped by the
+     * filters results in an empty table with the projected headers.
+     *
+     * @param CSVPath the path to the CSV file
+     * @param columns the columns to keep, or an empty list to keep all columns
+     * @param filters the filters every kept record has to satisfy
+     * @return a {@link Result} containing the parsed {@link Table}
+     * @throws IOException            if an I/O error occurs while mapping the file
+     * @throws CSVParsingException    if the headers or records of the CSV are null or empty
+     * @throws InvalidColumnException if a requested or filtered column is not part of the CSV headers
+     * @throws InvalidSplitException  if a record range does not hold whole records
+     */
+    private Result<Table> parseCSVToTable(Path CSVPath, List<String> columns, List<ColumnFilter> filters)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(CSVPath, StandardOpenOption.READ)) {
+
+            long size = channel.size();
+            List<ByteRange> ranges = onPool(() -> splitIntoRecordRanges(channel, size));
+            List<String> headers = readHeaders(channel, ranges.getFirst());
+            ColumnProjection projection = ColumnProjection.of(headers, columns);
+            RecordFilter recordFilter = RecordFilter.of(headers, filters);
+
+            LongAdder readRecords = new LongAdder();
+            List<Row> rows = onPool(() -> ranges.subList(1, ranges.size()).parallelStream()
+                    .map(range -> parseRange(channel, projection, recordFilter, range, readRecords))
+                    .flatMap(List::stream)
+                    .toList());
+            if (readRecords.sum() == 0) {
+                throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+            }
+            return Result.success(new Table(projection.headers(), rows));
+        }
+    }
+
+    /**
+     * Runs a scan or a parse of a file on the calling thread, or on the pool of this reader if it has one.
+     * The parallel streams of the scan or parse then run on the threads of that pool.
+     */
+    private <T> T onPool(Supplier<T> task) {
+        if (pool == null) {
+            return task.get();
+        }
+        return pool.invoke(ForkJoinTask.adapt(task::get));
+    }
+
+    /**
+     * Opens the CSV file and exposes its records as a {@link RowStream}. The records are parsed by a
+     * single parser while the stream is consumed, reading the file through chunks that are mapped one
+     * after another, so the stream neither holds the file in memory nor depends on the split into
+     * record ranges.
+     *
+     * @param CSVPath the path to the CSV file
+     * @return an open {@link RowStream} over the records of the file
+     * @throws IOException         if an I/O error occurs while mapping the file
+     * @throws CSVParsingException if the headers of the CSV are null, empty or invalid
+     */
+    private RowStream openRowStream(Path CSVPath) throws IOException {
+        FileChannel channel = FileChannel.open(CSVPath, StandardOpenOption.READ);
+        try {
+            CSVParser csvParser = openParser(channel, channel.size());
+            List<String> headers = csvParser.getHeaderNames();
+            validateHeaders(headers);
+            ColumnProjection projection = ColumnProjection.all(headers);
+
+            Stream<Row> rows = csvParser.stream()
+                    .filter(record -> record.size() != 0)
+                    .map(record -> mapRecordToRow(projection, record))
+                    .onClose(() -> closeChannel(channel));
+            return new RowStream(projection.headers(), rows);
+        } catch (IOException | RuntimeException ex) {
+            closeChannel(channel);
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a parser over the whole file that reads the header record, mapping the file in chunks of
+     * at most the maximum chunk size only when the parser reaches them.
+     *
+     * @param channel the channel of the CSV file
+     * @param size    the size of the file
+     * @return a {@link CSVParser} positioned after the header record
+     * @throws IOException         if an I/O error occurs while reading the header
+     * @throws CSVParsingException if the headers are invalid
+     */
+    private CSVParser openParser(FileChannel channel, long size) throws IOException {
+        Iterator<InputStream> chunks = LongStream.iterate(0, start -> start < size, start -> start + MAX_CHUNK_SIZE)
+                .mapToObj(start -> (InputStream) new ByteBufferInputStream(
+                        map(channel, new ByteRange(start, Math.min(size, start + MAX_CHUNK_SIZE)))))
+                .iterator();
+        var reader = new InputStreamReader(new SequenceInputStream(IteratorUtils.asEnumeration(chunks)),
+                StandardCharsets.UTF_8);
+        try {
+            return new CSVParser(reader, buildCSVFormat());
+        } catch (IllegalArgumentException ex) {
+            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+        }
+    }
+
+    /**
+     * Splits the file into byte ranges that each start at the beginning of a record.
+     * The first range always holds the header record, the remaining ranges hold the data records.
+     * <p>
+     * The file is scanned in fixed size chunks in parallel. A newline ends a record only if it is
+     * preceded by an even number of quotes in the whole file, so the quote count of all previous chunks
+     * decides which of the two candidate newlines of a chunk becomes its boundary.
+     * Escaped quotes ({@code ""}) do not change the parity and need no special handling.
+     * </p>
+     *
+     * @param channel the channel of the CSV file
+     * @param size    the size of the file
+     * @return the ordered list of record ranges, the header range first
+     */
+    private List<ByteRange> splitIntoRecordRanges(FileChannel channel, long size) {
+        long chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, (size + parallelism - 1) / parallelism));
+        int chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+
+        List<ChunkScan> scans = IntStream.range(0, chunkCount).parallel()
+                .mapToObj(chunk -> scanChunk(channel, chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize)))
+                .toList();
+
+        List<ByteRange> ranges = new ArrayList<>();
+        long rangeStart = 0;
+        boolean insideQuotes = false;
+        for (ChunkScan scan : scans) {
+            long newLine = insideQuotes ? scan.firstNewLineAfterOddQuotes() : scan.firstNewLineAfterEvenQuotes();
+            if (newLine >= 0) {
+                ranges.add(new ByteRange(rangeStart, newLine + 1));
+                rangeStart = newLine + 1;
+            }
+            insideQuotes ^= (scan.quoteCount() & 1) == 1;
+        }
+        if (rangeStart < size || ranges.isEmpty()) {
+            ranges.add(new ByteRange(rangeStart, size));
+        }
+        return ranges;
+    }
+
+    /**
+     * Counts the quotes of a single chunk and remembers the first newline that follows an even
+     * and an odd number of quotes inside the chunk.
+     *
+     * @param channel the channel of the CSV file
+     * @param start   the absolute start offset of the chunk
+     * @param end     the absolute end offset of the chunk (exclusive)
+     * @return the {@link ChunkScan} of the chunk with absolute newline offsets
+     */
+    private ChunkScan scanChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer = map(channel, new ByteRange(start, end));
+        long quoteCount = 0;
+        long firstNewLineAfterEvenQuotes = -1;
+        long firstNewLineAfterOddQuotes = -1;
+        for (int index = 0; index < buffer.limit(); index++) {
+            byte current = buffer.get(index);
+            if (current == QUOTE) {
+                quoteCount++;
+            } else if (current == NEW_LINE) {
+                if ((quoteCount & 1) == 0 && firstNewLineAfterEvenQuotes < 0) {
+                    firstNewLineAfterEvenQuotes = start + index;
+                } else if ((quoteCount & 1) == 1 && firstNewLineAfterOddQuotes < 0) {
+                    firstNewLineAfterOddQuotes = start + index;
+                }
+            }
+        }
+        return new ChunkScan(quoteCount, firstNewLineAfterEvenQuotes, firstNewLineAfterOddQuotes);
+    }
+
+    /**
+     * Reads and validates the header names from the header range of the file. The range has to hold
+     * the header record and nothing else, otherwise the records that follow it would be lost.
+     *
+     * @param channel     the channel of the CSV file
+     * @param headerRange the byte range holding the header record
+     * @return the list of CSV column headers
+     * @throws CSVParsingException   if the headers are null, empty or invalid
+     * @throws InvalidSplitException if the range does not hold exactly the header record
+     */
+    private List<String> readHeaders(FileChannel channel, ByteRange headerRange) {
+        try (var csvParser = new CSVParser(openReader(channel, headerRange), buildCSVFormat())) {
+            List<String> headers = csvParser.getHeaderNames();
+            validateHeaders(headers);
+            if (csvParser.iterator().hasNext()) {
+                throw new InvalidSplitException("The header range " + headerRange + " holds more than the header record.");
+            }
+            return headers;
+        } catch (IllegalArgumentException ex) {
+            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+        } catch (IOException | UncheckedIOException ex) {
+            throw new InvalidSplitException("The header range " + headerRange + " cannot be parsed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Parses the matching records of a single byte range into {@link Row} objects holding the projected columns.
+     * As long as the range starts at a record boundary, it only fails to parse if it ends inside a quoted
+     * field, which means that its end is no record boundary, or if the file itself is malformed.
+     *
+     * @param channel      the channel of the CSV file
+     * @param projection   the projected columns of the CSV file
+     * @param recordFilter the filter every kept record has to satisfy
+     * @param range        the byte range to parse, starting at a record boundary
+     * @param readRecords  counts the non-empty records read, before the filter is applied
+     * @return the rows of the range in file order
+     * @throws InvalidSplitException if the range cannot be parsed
+     */
+    private List<Row> parseRange(FileChannel channel, ColumnProjection projection, RecordFilter recordFilter,
+                                 ByteRange range, LongAdder readRecords) {
+        try (var csvParser = new CSVParser(openReader(channel, range), CSVFormat.DEFAULT)) {
+            return csvParser.stream()
+                    .filter(record -> record.size() != 0)
+                    .peek(record -> readRecords.increment())
+                    .filter(recordFilter)
+                    .map(record -> mapRecordToRow(projection, record))
+                    .toList();
+        } catch (IOException | UncheckedIOException ex) {
+            throw new InvalidSplitException("The range " + range + " cannot be parsed: " + ex.getMessage());
+        }
+    }
+
+    private InputStreamReader openReader(FileChannel channel, ByteRange range) {
+        return new InputStreamReader(new ByteBufferInputStream(map(channel, range)), StandardCharsets.UTF_8);
+    }
+
+    private MappedByteBuffer map(FileChannel channel, ByteRange range) {
+        if (range.length() > Integer.MAX_VALUE) {
+            throw new CSVParsingException("A single CSV record exceeds the maximum mappable size.");
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeChannel(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record ByteRange(long start, long end) {
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    private record ChunkScan(long quoteCount, long firstNewLineAfterEvenQuotes, long firstNewLineAfterOddQuotes) {
+    }
+
+    /**
+     * Thrown if the byte ranges of a file do not hold whole records, so the file has to be read sequentially.
+     */
+    private static final class InvalidSplitException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private InvalidSplitException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Minimal {@link InputStream} over a {@link ByteBuffer}, so a mapped range can be decoded lazily
+     * by the CSV parser without being copied onto the heap first.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
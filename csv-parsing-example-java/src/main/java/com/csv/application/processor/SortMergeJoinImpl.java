@@ -0,0 +1,232 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.exception.EmptyHeaderException;
+import com.csv.application.domain.model.JoinMatches;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.processor.interfaces.TableJoiner;
+import com.csv.application.util.JoinedRowLayout;
+import com.csv.application.util.JoinedRows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static com.csv.application.util.JoinerUtil.createColumnarJoinedTable;
+import static com.csv.application.util.JoinerUtil.createErrorResponse;
+import static com.csv.application.util.JoinerUtil.createJoinedHeaders;
+import static com.csv.application.util.JoinerUtil.isColumnarJoin;
+import static com.csv.application.util.JoinerUtil.isInvalidColumnNameAndTable;
+import static com.csv.application.util.JoinerUtil.normalizedJoinKeys;
+import static com.csv.application.util.SortUtils.stableSort;
+
+/**
+ * Inner join that orders both inputs on the join key and merges them in a single sequential pass.
+ * <p>
+ * Inputs that are already sorted on the key, ascending or descending, are merged as they are; only
+ * inputs that are not are sorted first, with the stable merge sort of
+ * {@link com.csv.application.util.SortUtils}. Runs of equal keys on both sides produce every pair of
+ * their rows. The matches are put in left row order and then right row order, so the result is the
+ * same as the one of {@link HashJoinImpl}, including the left-wins rule for shared columns.
+ * </p>
+ * <p>
+ * Keys are ordered by their normalized text, or by their value for integer columns of columnar
+ * tables, instead of by the numeric-or-text order of {@link TableSorterImpl}: that order is not a
+ * total order on mixed values and ranks keys such as {@code 1} and {@code 1.0} as equal, so it
+ * cannot drive a merge on key equality.
+ * </p>
+ */
+public class SortMergeJoinImpl implements TableJoiner {
+
+    private static final Logger log = LoggerFactory.getLogger(SortMergeJoinImpl.class);
+
+    @Override
+    public Result<Table> joinTables(String leftColumnName, String rightColumnName, Table leftTable, Table rightTable) {
+        return join(leftColumnName, rightColumnName, leftTable, rightTable, false);
+    }
+
+    /**
+     * Joins like {@link #joinTables(String, String, Table, Table)}, but returns the joined rows as a
+     * {@link JoinedRows} view over the input rows instead of copying them.
+     */
+    @Override
+    public Result<Table> joinTablesLazily(String leftColumnName, String rightColumnName, Table leftTable, Table rightTable) {
+        return join(leftColumnName, rightColumnName, leftTable, rightTable, true);
+    }
+
+    private Result<Table> join(String leftColumnName, String rightColumnName, Table leftTable, Table rightTable,
+                               boolean lazy) {
+        if (isInvalidColumnNameAndTable(leftColumnName, rightColumnName, leftTable, rightTable)) {
+            return Result.failure(createErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The either left or right columnName or table itself is empty or null."));
+        }
+        try {
+            List<String> joinedHeaders = createJoinedHeaders(rightColumnName, leftTable, rightTable);
+            JoinedRowLayout layout = JoinedRowLayout.of(joinedHeaders, rightColumnName, leftTable, rightTable, true);
+            if (isColumnarJoin(leftColumnName, rightColumnName, leftTable, rightTable)) {
+                ColumnarRows leftRows = (ColumnarRows) leftTable.rows();
+                ColumnarRows rightRows = (ColumnarRows) rightTable.rows();
+                JoinMatches matches = matchColumnarKeys(leftColumnName,
+                        leftRows.column(leftColumnName), rightRows.column(rightColumnName));
+                return Result.success(lazy
+                        ? new Table(joinedHeaders, new JoinedRows(layout, leftRows, rightRows, matches))
+                        : createColumnarJoinedTable(joinedHeaders, layout, leftRows, rightRows, matches));
+            }
+
+            List<Row> leftRows = randomAccessRows(leftTable);
+            List<Row> rightRows = randomAccessRows(rightTable);
+            String[] leftKeys = normalizedJoinKeys(leftRows, leftTable.headers().indexOf(leftColumnName), leftColumnName);
+            String[] rightKeys = normalizedJoinKeys(rightRows, rightTable.headers().indexOf(rightColumnName), rightColumnName);
+            JoinedRows joinedRows = new JoinedRows(layout, leftRows, rightRows, matchTextKeys(leftColumnName, leftKeys, rightKeys));
+            return Result.success(new Table(joinedHeaders, lazy ? joinedRows : joinedRows.materialize()));
+        } catch (EmptyHeaderException ex) {
+            return Result.failure(createErrorResponse(
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), ex.getMessage()));
+        }
+    }
+
+    private JoinMatches matchColumnarKeys(String leftColumnName, Column leftKeyColumn, Column rightKeyColumn) {
+        if (leftKeyColumn instanceof LongColumn leftKeys && rightKeyColumn instanceof LongColumn rightKeys) {
+            return mergeKeys(leftColumnName,
+                    new SortKeys(leftKeys.size(), leftKeys::isNull,
+                            (row, other) -> Long.compare(leftKeys.value(row), leftKeys.value(other))),
+                    new SortKeys(rightKeys.size(), rightKeys::isNull,
+                            (row, other) -> Long.compare(rightKeys.value(row), rightKeys.value(other))),
+                    (leftRow, rightRow) -> Long.compare(leftKeys.value(leftRow), rightKeys.value(rightRow)));
+        }
+        return matchTextKeys(leftColumnName, normalizedJoinKeys(leftKeyColumn), normalizedJoinKeys(rightKeyColumn));
+    }
+
+    private JoinMatches matchTextKeys(String leftColumnName, String[] leftKeys, String[] rightKeys) {
+        return mergeKeys(leftColumnName,
+                new SortKeys(leftKeys.length, row -> leftKeys[row] == null,
+                        (row, other) -> leftKeys[row].compareTo(leftKeys[other])),
+                new SortKeys(rightKeys.length, row -> rightKeys[row] == null,
+                        (row, other) -> rightKeys[row].compareTo(rightKeys[other])),
+                (leftRow, rightRow) -> leftKeys[leftRow].compareTo(rightKeys[rightRow]));
+    }
+
+    /**
+     * Orders the rows with a key of both inputs and merges them on the key. If both inputs are already
+     * sorted in descending key order they are merged descending, otherwise ascending; an input that is
+     * not already in merge order is sorted stably, so the rows of a run of equal keys stay in row order.
+     *
+     * @param leftColumnName the join key column from the left table, used for logging
+     * @param left           the keys of the left rows
+     * @param right          the keys of the right rows
+     * @param compareAcross  compares the key of a left row with the key of a right row
+     * @return the matching row index pairs in left row order, then right row order
+     */
+    private JoinMatches mergeKeys(String leftColumnName, SortKeys left, SortKeys right, IntBinaryOperator compareAcross) {
+        int[] leftRows = left.rowsWithKey(leftColumnName);
+        int[] rightRows = right.rowsWithKey(null);
+        int direction = left.isSorted(leftRows, -1) && right.isSorted(rightRows, -1) ? -1 : 1;
+        leftRows = left.sorted(leftRows, direction, "left");
+        rightRows = right.sorted(rightRows, direction, "right");
+
+        IntStream.Builder mergedLeftMatches = IntStream.builder();
+        IntStream.Builder mergedRightMatches = IntStream.builder();
+        int[] matchCounts = new int[left.size() + 1];
+        int leftPosition = 0;
+        int rightPosition = 0;
+        while (leftPosition < leftRows.length && rightPosition < rightRows.length) {
+            int comparison = direction * compareAcross.applyAsInt(leftRows[leftPosition], rightRows[rightPosition]);
+            if (comparison < 0) {
+                leftPosition++;
+            } else if (comparison > 0) {
+                rightPosition++;
+            } else {
+                int leftRunEnd = left.runEnd(leftRows, leftPosition);
+                int rightRunEnd = right.runEnd(rightRows, rightPosition);
+                for (int leftRun = leftPosition; leftRun < leftRunEnd; leftRun++) {
+                    for (int rightRun = rightPosition; rightRun < rightRunEnd; rightRun++) {
+                        mergedLeftMatches.add(leftRows[leftRun]);
+                        mergedRightMatches.add(rightRows[rightRun]);
+                    }
+                    matchCounts[leftRows[leftRun] + 1] += rightRunEnd - rightPosition;
+                }
+                leftPosition = leftRunEnd;
+                rightPosition = rightRunEnd;
+            }
+        }
+
+        // stable counting sort on the left row index; the rows of a right run are already in row order
+        for (int leftRow = 0; leftRow < left.size(); leftRow++) {
+            matchCounts[leftRow + 1] += matchCounts[leftRow];
+        }
+        int[] unorderedLeftRows = mergedLeftMatches.build().toArray();
+        int[] unorderedRightRows = mergedRightMatches.build().toArray();
+        int[] leftMatches = new int[unorderedLeftRows.length];
+        int[] rightMatches = new int[unorderedRightRows.length];
+        for (int match = 0; match < unorderedLeftRows.length; match++) {
+            int position = matchCounts[unorderedLeftRows[match]]++;
+            leftMatches[position] = unorderedLeftRows[match];
+            rightMatches[position] = unorderedRightRows[match];
+        }
+        return new JoinMatches(leftMatches, rightMatches);
+    }
+
+    private static List<Row> randomAccessRows(Table table) {
+        return table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+    }
+
+    /**
+     * The join keys of one input.
+     *
+     * @param size    the number of rows
+     * @param missing whether a row has no key; such rows never match
+     * @param compare compares the keys of two rows of the input
+     */
+    private record SortKeys(int size, IntPredicate missing, IntBinaryOperator compare) {
+
+        int[] rowsWithKey(String loggedColumnName) {
+            return IntStream.range(0, size)
+                    .filter(row -> {
+                        if (!missing.test(row)) {
+                            return true;
+                        }
+                        if (loggedColumnName != null) {
+                            log.warn("Skipping invalid left row for columnName. Since it's key is empty or null.: {}, {}",
+                                    row, loggedColumnName);
+                        }
+                        return false;
+                    })
+                    .toArray();
+        }
+
+        boolean isSorted(int[] rows, int direction) {
+            for (int position = 1; position < rows.length; position++) {
+                if (direction * compare.applyAsInt(rows[position - 1], rows[position]) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int[] sorted(int[] rows, int direction, String side) {
+            if (isSorted(rows, direction)) {
+                log.debug("The {} table is already sorted on the join key, merging it without sorting", side);
+                return rows;
+            }
+            return stableSort(rows, (row, other) -> direction * compare.applyAsInt(row, other));
+        }
+
+        int runEnd(int[] rows, int runStart) {
+            int runEnd = runStart + 1;
+            while (runEnd < rows.length && compare.applyAsInt(rows[runStart], rows[runEnd]) == 0) {
+                runEnd++;
+            }
+            return runEnd;
+        }
+    }
+}
@@ -5,42 +5,260 @@ import com.csv.application.domain.enums.HttpStatusCode;
 import com.csv.application.domain.model.ErrorResponse;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.SortKey;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.DictionaryColumn;
+import com.csv.application.domain.model.column.DoubleColumn;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.domain.model.column.StringColumn;
+import com.csv.application.util.ForkJoinPools;
+import com.csv.application.util.SortKeyComparators;
+import com.csv.application.util.TopRowsHeap;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
 
-import static com.csv.application.util.SortUtils.createValueComparator;
+import static com.csv.application.util.SortKeyComparators.thenComparing;
+import static com.csv.application.util.SortUtils.descendingComparator;
+import static com.csv.application.util.SortUtils.identityOrder;
+import static com.csv.application.util.SortUtils.sortedRowOrder;
+import static com.csv.application.util.SortUtils.stableSort;
+import static com.csv.application.util.TopRowsHeap.topRows;
 
 public class TableSorterImpl implements TableSorter {
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * The pool large tables are sorted on, or {@code null} if every table is sorted sequentially.
+     */
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    /**
+     * Creates a sorter that sorts large tables on the common fork-join pool.
+     */
+    public TableSorterImpl() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a sorter that sorts large tables on the shared fork-join pool of the given parallelism,
+     * see {@link ForkJoinPools}, so a sort keeps at most {@code parallelism} threads busy.
+     *
+     * @param parallelism       the number of cores to sort on; {@code 1} always sorts sequentially
+     * @param parallelThreshold the number of rows from which a table is sorted on the fork-join pool
+     */
+    public TableSorterImpl(int parallelism, int parallelThreshold) {
+        this(ForkJoinPools.ofParallelism(parallelism), parallelThreshold);
+    }
+
+    private TableSorterImpl(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sorts like {@link TableSorter#sortTableByDesc(Table, String)}. Tables with at least the parallel
+     * threshold of rows have their sort keys extracted and their row order merge-sorted on the pool of
+     * this sorter; the sort is stable in both modes, so the order is the same.
+     */
     @Override
     public Result<Table> sortTableByDesc(Table table, String columnName) {
 
-        if (isInvalidColumnName(table, columnName)) {
+        if (isInvalidColumnName(table.headers(), columnName)) {
             return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
                     "The specified column does not exist in the table."));
         }
-        List<Row> rows = table.rows().stream()
-                .sorted(Comparator.comparing(row -> row.get(columnName), createValueComparator()))
-                .toList();
-        rows.forEach(System.out::println);
+        int columnIndex = table.headers().indexOf(columnName);
+        return Result.success(sort(table, parallel -> sortByDesc(table, columnIndex, columnName, parallel)));
+    }
+
+    private static Table sortByDesc(Table table, int columnIndex, String columnName, boolean parallel) {
+        if (table.rows() instanceof ColumnarRows columnarRows) {
+            int[] order = sortedRowOrder(columnarRows.column(columnIndex), parallel);
+            return new Table(table.headers(), columnarRows.select(order));
+        }
+        List<Row> tableRows = table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+        int[] order = sortedRowOrder(tableRows.size(), row -> tableRows.get(row).get(columnIndex, columnName), parallel);
+        return new Table(table.headers(), gatherRows(tableRows, order, parallel));
+    }
+
+    /**
+     * Builds one specialized comparator per sort key with {@link SortKeyComparators}, extracting the
+     * values of every sorted column once, and merge-sorts the row order over their combination. Like
+     * {@link #sortTableByDesc(Table, String)}, large tables are sorted on the pool of this sorter.
+     */
+    @Override
+    public Result<Table> sortTable(Table table, List<SortKey> sortKeys) {
+
+        if (CollectionUtils.isEmpty(sortKeys)) {
+            return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "At least one sort column must be specified."));
+        }
+        for (SortKey sortKey : sortKeys) {
+            if (sortKey == null || isInvalidColumnName(table.headers(), sortKey.columnName())) {
+                return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                        "The specified column does not exist in the table."));
+            }
+            if (sortKey.direction() == null || sortKey.nullPlacement() == null || sortKey.valueType() == null) {
+                return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                        "Every sort column needs a direction, a null placement and a value type."));
+            }
+        }
+        return Result.success(sort(table, parallel -> sortBy(table, sortKeys, parallel)));
+    }
 
-        return Result.success(new Table(table.headers(), rows));
+    private static Table sortBy(Table table, List<SortKey> sortKeys, boolean parallel) {
+        List<IntBinaryOperator> comparators = new ArrayList<>(sortKeys.size());
+        if (table.rows() instanceof ColumnarRows columnarRows) {
+            for (SortKey sortKey : sortKeys) {
+                Column column = columnarRows.column(table.headers().indexOf(sortKey.columnName()));
+                comparators.add(SortKeyComparators.comparator(sortKey, column, parallel));
+            }
+            int[] order = stableSort(identityOrder(columnarRows.size()), thenComparing(comparators), parallel);
+            return new Table(table.headers(), columnarRows.select(order));
+        }
+        List<Row> tableRows = table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+        for (SortKey sortKey : sortKeys) {
+            int columnIndex = table.headers().indexOf(sortKey.columnName());
+            comparators.add(SortKeyComparators.comparator(sortKey, tableRows.size(),
+                    row -> tableRows.get(row).get(columnIndex, sortKey.columnName()), parallel));
+        }
+        int[] order = stableSort(identityOrder(tableRows.size()), thenComparing(comparators), parallel);
+        return new Table(table.headers(), gatherRows(tableRows, order, parallel));
     }
 
     /**
-     * Checks if the specified column name is invalid for the given {@link Table}.
+     * Sorts a table sequentially, or on the pool of this sorter if it has at least the parallel threshold
+     * of rows. The parallel streams and fork-join tasks of the sort then run on the threads of that pool.
+     */
+    private Table sort(Table table, ParallelSort sort) {
+        if (pool == null || table.rows().size() < parallelThreshold) {
+            return sort.sort(false);
+        }
+        return pool.invoke(ForkJoinTask.adapt(() -> sort.sort(true)));
+    }
+
+    private static List<Row> gatherRows(List<Row> tableRows, int[] order, boolean parallel) {
+        IntStream sortedRows = Arrays.stream(order);
+        return (parallel ? sortedRows.parallel() : sortedRows).mapToObj(tableRows::get).toList();
+    }
+
+    /**
+     * Keeps the first {@code limit} rows in a {@link TopRowsHeap} while scanning the table once; a limit
+     * of at least the number of rows sorts the whole table instead. The rows of a columnar table are
+     * compared like {@link #sortTableByDesc(Table, String)} compares them, on the primitives of numeric
+     * columns and the dictionary ranks of dictionary-encoded ones, and gathered column by column.
+     */
+    @Override
+    public Result<Table> sortTableByDesc(Table table, String columnName, int limit) {
+
+        Result<Table> invalidResult = validateTopRows(table.headers(), columnName, limit);
+        if (invalidResult != null) {
+            return invalidResult;
+        }
+        if (limit >= table.rows().size()) {
+            return sortTableByDesc(table, columnName);
+        }
+        int columnIndex = table.headers().indexOf(columnName);
+        if (table.rows() instanceof ColumnarRows columnarRows) {
+            Column column = columnarRows.column(columnIndex);
+            int[] order = switch (column) {
+                case LongColumn longColumn -> topRows(column.size(), limit, descendingComparator(longColumn));
+                case DoubleColumn doubleColumn -> topRows(column.size(), limit, descendingComparator(doubleColumn));
+                case DictionaryColumn dictionaryColumn ->
+                        topRows(column.size(), limit, descendingComparator(dictionaryColumn));
+                case StringColumn stringColumn -> keepTopRows(stringColumn, limit);
+            };
+            return Result.success(new Table(table.headers(), columnarRows.select(order)));
+        }
+        return Result.success(new Table(table.headers(),
+                keepTopRows(table.rows().iterator(), columnIndex, columnName, limit)));
+    }
+
+    @Override
+    public Result<Table> sortRowsByDesc(RowStream rows, String columnName, int limit) {
+
+        try (rows) {
+            Result<Table> invalidResult = validateTopRows(rows.headers(), columnName, limit);
+            if (invalidResult != null) {
+                return invalidResult;
+            }
+            int columnIndex = rows.headers().indexOf(columnName);
+            return Result.success(new Table(rows.headers(),
+                    keepTopRows(rows.rows().iterator(), columnIndex, columnName, limit)));
+        }
+    }
+
+    private static int[] keepTopRows(StringColumn column, int limit) {
+        TopRowsHeap topRows = new TopRowsHeap(limit);
+        int[] keptRows = new int[limit];
+        for (int row = 0; row < column.size(); row++) {
+            int slot = topRows.offer(column.get(row));
+            if (slot >= 0) {
+                keptRows[slot] = row;
+            }
+        }
+        return Arrays.stream(topRows.sortedSlots()).map(slot -> keptRows[slot]).toArray();
+    }
+
+    private static List<Row> keepTopRows(Iterator<Row> rows, int columnIndex, String columnName, int limit) {
+        TopRowsHeap topRows = new TopRowsHeap(limit);
+        Row[] keptRows = new Row[limit];
+        while (rows.hasNext()) {
+            Row row = rows.next();
+            int slot = topRows.offer(row.get(columnIndex, columnName));
+            if (slot >= 0) {
+                keptRows[slot] = row;
+            }
+        }
+        return Arrays.stream(topRows.sortedSlots()).mapToObj(slot -> keptRows[slot]).toList();
+    }
+
+    /**
+     * @return a failure result if the column or the limit is invalid, {@code null} otherwise
+     */
+    private Result<Table> validateTopRows(List<String> headers, String columnName, int limit) {
+        if (isInvalidColumnName(headers, columnName)) {
+            return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The specified column does not exist in the table."));
+        }
+        if (limit < 0) {
+            return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                    "The limit must not be negative."));
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the specified column name is invalid for the given table headers.
      * A column is considered invalid if the name is blank, the table has no headers,
      * or the column does not exist in the header list.
      *
-     * @param table      the table to validate against
+     * @param headers    the headers of the table to validate against
      * @param columnName the column name to check
      * @return {@code true} if the column name is invalid; {@code false} otherwise
      */
-    private boolean isInvalidColumnName(Table table, String columnName) {
+    private boolean isInvalidColumnName(List<String> headers, String columnName) {
         return columnName == null || StringUtils.isBlank(columnName) ||
-                CollectionUtils.isEmpty(table.headers()) || !table.headers().contains(columnName);
+                CollectionUtils.isEmpty(headers) || !headers.contains(columnName);
+    }
+
+    @FunctionalInterface
+    private interface ParallelSort {
+        Table sort(boolean parallel);
     }
 }
@@ -1,7 +1,12 @@
 package com.csv.application.processor.interfaces;
 
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.Table;
 import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.column.ColumnarRows;
+
+import java.util.List;
 
 public interface DataReader {
 
@@ -21,4 +26,77 @@ public interface DataReader {
      * or a failure response with an appropriate HTTP status code and error message on failure
      */
     Result<Table> readCSVData(String path);
+
+    /**
+     * Reads only the given columns of a CSV file into a {@link Table} object.
+     * <p>
+     * Fields of all other columns are skipped while parsing, so no values are created for them.
+     * The headers of the resulting table are the requested columns in the requested order.
+     * A column that is not part of the CSV headers results in a failure response with a
+     * 400 Bad Request status; otherwise validation and error handling are the same as for
+     * {@link #readCSVData(String)}.
+     * </p>
+     *
+     * @param path    the file system path to the CSV file
+     * @param columns the columns to read, or {@code null} or an empty list to read all columns
+     * @return a {@link Result} containing the projected {@link Table} on success,
+     * or a failure response with an appropriate HTTP status code and error message on failure
+     */
+    default Result<Table> readCSVData(String path, List<String> columns) {
+        return readCSVData(path, columns, List.of());
+    }
+
+    /**
+     * Reads the given columns of those records of a CSV file that satisfy all given filters
+     * into a {@link Table} object.
+     * <p>
+     * The filters are tested on the fields of every record while parsing, and records that fail
+     * any of them are dropped before a {@link com.csv.application.domain.model.Row Row} is built.
+     * Filtered columns do not have to be part of the requested columns. A filter on a column that
+     * is not part of the CSV headers results in a failure response with a 400 Bad Request status.
+     * If no record satisfies the filters, the result is an empty table with the projected headers;
+     * only a file without any record results in a failure.
+     * Otherwise projection, validation and error handling are the same as for {@link #readCSVData(String, List)}.
+     * </p>
+     *
+     * @param path    the file system path to the CSV file
+     * @param columns the columns to read, or {@code null} or an empty list to read all columns
+     * @param filters the filters every kept record has to satisfy, or {@code null} or an empty list to keep all records
+     * @return a {@link Result} containing the filtered {@link Table} on success,
+     * or a failure response with an appropriate HTTP status code and error message on failure
+     */
+    Result<Table> readCSVData(String path, List<String> columns, List<ColumnFilter> filters);
+
+    /**
+     * Opens a CSV file from the provided file path and exposes its rows as a lazily parsed
+     * {@link RowStream} instead of materializing them into a {@link Table}.
+     * <p>
+     * The path and headers are validated eagerly with the same status codes as
+     * {@link #readCSVData(String)}. Records are parsed one at a time while the stream is consumed,
+     * so a file without records yields an empty stream rather than a failure.
+     * The returned stream keeps the file open and must be closed by the caller.
+     * </p>
+     *
+     * @param path the file system path to the CSV file
+     * @return a {@link Result} containing the opened {@link RowStream} on success,
+     * or a failure response with an appropriate HTTP status code and error message on failure
+     */
+    Result<RowStream> streamCSVData(String path);
+
+    /**
+     * Reads a CSV file from the provided file path into a columnar {@link Table}, whose rows are
+     * backed by one {@link ColumnarRows column} per header. Low-cardinality columns are dictionary-encoded.
+     * <p>
+     * Validation and error handling are the same as for {@link #readCSVData(String)}. The default
+     * implementation converts the row-based table; readers may build the columns directly instead.
+     * </p>
+     *
+     * @param path the file system path to the CSV file
+     * @return a {@link Result} containing the columnar {@link Table} on success,
+     * or a failure response with an appropriate HTTP status code and error message on failure
+     */
+    default Result<Table> readColumnarCSVData(String path) {
+        Result<Table> result = readCSVData(path);
+        return result.isSuccess() ? Result.success(ColumnarRows.toColumnarTable(result.data())) : result;
+    }
 }
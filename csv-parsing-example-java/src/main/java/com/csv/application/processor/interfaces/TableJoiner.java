@@ -1,8 +1,12 @@
 package com.csv.application.processor.interfaces;
 
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ErrorResponse;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Table;
 
+import java.util.List;
+
 public interface TableJoiner {
 
     /**
@@ -26,4 +30,49 @@ public interface TableJoiner {
                              String rightKey,
                              Table left,
                              Table right);
+
+    /**
+     * Performs an inner join on several key columns at once, such as {@code (USER_ID, REGION)}: a left
+     * and a right row match if the values of every pair of key columns at the same position match.
+     * The result table excludes all join key columns of the right table.
+     * Joiners that only support a single key column join single-column lists with
+     * {@link #joinTables(String, String, Table, Table)} and fail with a {@code 400} for longer lists.
+     *
+     * @param leftKeys  the column names to join on from the left table
+     * @param rightKeys the column names to join on from the right table, as many as {@code leftKeys}
+     * @param left      the left {@link Table}
+     * @param right     the right {@link Table}
+     * @return a {@link Result} containing the joined {@link Table} on success,
+     * or a failure result with an error message if the input is invalid or the join fails
+     */
+    default Result<Table> joinTables(List<String> leftKeys,
+                                     List<String> rightKeys,
+                                     Table left,
+                                     Table right) {
+        if (leftKeys != null && rightKeys != null && leftKeys.size() == 1 && rightKeys.size() == 1) {
+            return joinTables(leftKeys.getFirst(), rightKeys.getFirst(), left, right);
+        }
+        return Result.failure(new ErrorResponse(HttpStatusCode.BAD_REQUEST.getCode(),
+                "This join type only supports a single join column on each side."));
+    }
+
+    /**
+     * Performs the same inner join as {@link #joinTables(String, String, Table, Table)}, but may
+     * return the joined rows as a {@link com.csv.application.util.JoinedRows} view: the matching row
+     * index pairs plus read-only rows whose fields are only read from the input tables when accessed.
+     * Joiners that do not support late materialization return the materialized result.
+     *
+     * @param leftKey  the column name to join on from the left table
+     * @param rightKey the column name to join on from the right table
+     * @param left     the left {@link Table}
+     * @param right    the right {@link Table}
+     * @return a {@link Result} containing the joined {@link Table} on success,
+     * or a failure result with an error message if the input is invalid or the join fails
+     */
+    default Result<Table> joinTablesLazily(String leftKey,
+                                           String rightKey,
+                                           Table left,
+                                           Table right) {
+        return joinTables(leftKey, rightKey, left, right);
+    }
 }
@@ -0,0 +1,37 @@
+package com.csv.application.processor.interfaces;
+
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Table;
+
+public interface TableSemiJoiner {
+
+    /**
+     * Keeps the rows of the left {@link Table} that have at least one matching row in the right table,
+     * such as the users who have purchases. Join keys match like in
+     * {@link TableJoiner#joinTables(String, String, Table, Table)}, but no combined row is built: the
+     * result has the headers of the left table and holds its original rows, in their order, each once
+     * no matter how many right rows match it. Left rows without a key never match.
+     *
+     * @param leftKey  the column name to join on from the left table
+     * @param rightKey the column name to join on from the right table
+     * @param left     the {@link Table} whose rows are kept
+     * @param right    the {@link Table} whose keys are looked up
+     * @return a {@link Result} containing the matching left rows on success,
+     * or a failure result with an error message if the input is invalid
+     */
+    Result<Table> semiJoin(String leftKey, String rightKey, Table left, Table right);
+
+    /**
+     * Keeps the rows of the left {@link Table} that have no matching row in the right table, such as
+     * the purchases without a matching user: the complement of
+     * {@link #semiJoin(String, String, Table, Table)}. Left rows without a key have no match and are kept.
+     *
+     * @param leftKey  the column name to join on from the left table
+     * @param rightKey the column name to join on from the right table
+     * @param left     the {@link Table} whose rows are kept
+     * @param right    the {@link Table} whose keys are looked up
+     * @return a {@link Result} containing the left rows without a match on success,
+     * or a failure result with an error message if the input is invalid
+     */
+    Result<Table> antiJoin(String leftKey, String rightKey, Table left, Table right);
+}
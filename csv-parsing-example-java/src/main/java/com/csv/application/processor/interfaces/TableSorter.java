@@ -1,8 +1,12 @@
 package com.csv.application.processor.interfaces;
 
 import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.SortKey;
 import com.csv.application.domain.model.Table;
 
+import java.util.List;
+
 public interface TableSorter {
 
     /**
@@ -19,4 +23,64 @@ public interface TableSorter {
      * by the specified column, or a failure result if the column is invalid
      */
     Result<Table> sortTableByDesc(Table table, String columnName);
+
+    /**
+     * Sorts the rows of the given {@link Table} by several columns. Rows are ordered by the first
+     * sort key, rows that compare as equal on it by the next one, and so on; rows that compare as
+     * equal on every key keep their original order.
+     * An empty ordering or a key on an unknown column results in a failure with {@code 400 Bad Request} status.
+     *
+     * @param table    the table containing rows to be sorted
+     * @param sortKeys the columns to sort by, each with its direction, null placement and value type
+     * @return a {@link Result} containing a new {@link Table} with the sorted rows,
+     * or a failure result if the ordering is invalid
+     */
+    Result<Table> sortTable(Table table, List<SortKey> sortKeys);
+
+    /**
+     * Returns the first {@code limit} rows of the given {@link Table} in the order of
+     * {@link #sortTableByDesc(Table, String)}, without sorting the other rows.
+     * An invalid column or a negative limit results in a failure with {@code 400 Bad Request} status.
+     *
+     * @param table      the table containing rows to be sorted
+     * @param columnName the name of the column to sort by in descending order
+     * @param limit      the maximum number of returned rows
+     * @return a {@link Result} containing a new {@link Table} with at most {@code limit} rows sorted in
+     * descending order by the specified column, or a failure result if the column or limit is invalid
+     */
+    Result<Table> sortTableByDesc(Table table, String columnName, int limit);
+
+    /**
+     * Returns the first {@code limit} rows of the given {@link RowStream} like
+     * {@link #sortTableByDesc(Table, String, int)}, holding no more than {@code limit} rows in memory.
+     * The source stream is consumed and closed.
+     *
+     * @param rows       the rows to be sorted
+     * @param columnName the name of the column to sort by in descending order
+     * @param limit      the maximum number of returned rows
+     * @return a {@link Result} containing a {@link Table} with at most {@code limit} rows sorted in
+     * descending order by the specified column, or a failure result if the column or limit is invalid
+     */
+    Result<Table> sortRowsByDesc(RowStream rows, String columnName, int limit);
+
+    /**
+     * Sorts the rows of the given {@link RowStream} like {@link #sortTableByDesc(Table, String)}.
+     * The source stream is consumed and closed; the returned stream must be closed by the caller.
+     * By default, all rows are collected into a {@link Table} and sorted in memory.
+     *
+     * @param rows       the rows to be sorted
+     * @param columnName the name of the column to sort by in descending order
+     * @return a {@link Result} containing a {@link RowStream} over the sorted rows,
+     * or a failure result if the column is invalid
+     */
+    default Result<RowStream> sortRowsByDesc(RowStream rows, String columnName) {
+        Result<Table> sortedTable;
+        try (rows) {
+            sortedTable = sortTableByDesc(new Table(rows.headers(), rows.rows().toList()), columnName);
+        }
+        if (!sortedTable.isSuccess()) {
+            return Result.failure(sortedTable.error());
+        }
+        return Result.success(new RowStream(sortedTable.data().headers(), sortedTable.data().rows().stream()));
+    }
 }
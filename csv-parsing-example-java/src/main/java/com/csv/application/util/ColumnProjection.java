@@ -0,0 +1,84 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.exception.InvalidColumnException;
+import com.csv.application.domain.model.RowSchema;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.List;
+
+/**
+ * The columns of a CSV file that are kept while parsing it.
+ * <p>
+ * Maps every projected column to its field index in the records of the file, resolved once from the
+ * file headers. Only the projected fields of a record are read into the resulting rows.
+ * </p>
+ */
+public final class ColumnProjection {
+
+    private final RowSchema schema;
+    private final int[] recordIndexes;
+
+    private ColumnProjection(RowSchema schema, int[] recordIndexes) {
+        this.schema = schema;
+        this.recordIndexes = recordIndexes;
+    }
+
+    /**
+     * Creates the projection of the given columns. If no columns are requested, all columns of the file are kept.
+     *
+     * @param fileHeaders the headers of the CSV file
+     * @param columns     the columns to keep, in output order, or {@code null} or empty to keep all columns
+     * @return the projection of the requested columns
+     * @throws InvalidColumnException if a requested column is not part of the file headers
+     */
+    public static ColumnProjection of(List<String> fileHeaders, List<String> columns) {
+        if (CollectionUtils.isEmpty(columns)) {
+            return all(fileHeaders);
+        }
+        RowSchema fileSchema = RowSchema.of(fileHeaders);
+        int[] recordIndexes = new int[columns.size()];
+        for (int index = 0; index < recordIndexes.length; index++) {
+            recordIndexes[index] = fileSchema.indexOf(columns.get(index));
+            if (recordIndexes[index] < 0) {
+                throw new InvalidColumnException("The specified column does not exist in the CSV file: "
+                        + columns.get(index));
+            }
+        }
+        return new ColumnProjection(RowSchema.of(columns), recordIndexes);
+    }
+
+    /**
+     * @param fileHeaders the headers of the CSV file
+     * @return the projection keeping every column of the file
+     */
+    public static ColumnProjection all(List<String> fileHeaders) {
+        int[] recordIndexes = new int[fileHeaders.size()];
+        for (int index = 0; index < recordIndexes.length; index++) {
+            recordIndexes[index] = index;
+        }
+        return new ColumnProjection(RowSchema.of(fileHeaders), recordIndexes);
+    }
+
+    /**
+     * @return the schema of the projected rows
+     */
+    public RowSchema schema() {
+        return schema;
+    }
+
+    public List<String> headers() {
+        return schema.headers();
+    }
+
+    public int size() {
+        return recordIndexes.length;
+    }
+
+    /**
+     * @param column the position of the column in the projection
+     * @return the index of the field in the records of the file
+     */
+    public int recordIndex(int column) {
+        return recordIndexes[column];
+    }
+}
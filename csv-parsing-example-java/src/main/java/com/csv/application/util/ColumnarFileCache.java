@@ -0,0 +1,361 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.DictionaryColumn;
+import com.csv.application.domain.model.column.DoubleColumn;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.domain.model.column.StringColumn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of parsed CSV files in a compact binary columnar format.
+ * <p>
+ * Every CSV file is cached in its own file in the cache directory, named after its absolute path.
+ * The cache file records the path, size and last modified time of the CSV it was built from and is
+ * only used while all three still match; a changed CSV is parsed again and its cache file replaced.
+ * Cache files are memory-mapped when read, so the columns are copied straight out of the page cache
+ * instead of being tokenized and type-inferred again.
+ * </p>
+ * <p>
+ * Layout, all numbers big-endian: magic, version, source path, source size, source modification
+ * time, row count, column count, then per column its header, type tag and values. Strings are
+ * stored as their UTF-8 length ({@code -1} for {@code null}) followed by their bytes; the null
+ * bitmaps of numeric columns as their {@code long} words. Double columns end with a flag telling
+ * whether the original texts of their values follow.
+ * </p>
+ * <p>
+ * A cache file is mapped as a whole, so tables whose cache file would exceed the maximum file size,
+ * by default the largest mappable size, are not cached.
+ * </p>
+ */
+public final class ColumnarFileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarFileCache.class);
+    private static final int MAGIC = 0x43535643;
+    private static final int VERSION = 2;
+    private static final String FILE_EXTENSION = ".csvc";
+    private static final byte STRING_COLUMN = 0;
+    private static final byte DICTIONARY_COLUMN = 1;
+    private static final byte LONG_COLUMN = 2;
+    private static final byte DOUBLE_COLUMN = 3;
+
+    private final Path cacheDirectory;
+    private final long maxFileSize;
+
+    /**
+     * The CSV files, with their size and modification time, whose tables were too large to be cached.
+     */
+    private final Set<String> oversizedSources = ConcurrentHashMap.newKeySet();
+
+    public ColumnarFileCache(Path cacheDirectory) {
+        this(cacheDirectory, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param cacheDirectory the directory holding the cache files; created on first use
+     * @param maxFileSize    the size in bytes up to which a cache file is written, at most the largest mappable size
+     */
+    public ColumnarFileCache(Path cacheDirectory, long maxFileSize) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxFileSize = Math.min(maxFileSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the cached table of the given CSV file.
+     * A missing, stale or unreadable cache file is treated as a cache miss.
+     *
+     * @param CSVPath the path to the CSV file
+     * @return the cached columnar {@link Table}, or {@code null} if there is no valid cache file
+     */
+    public Table read(Path CSVPath) {
+        Path cacheFile = cacheFileOf(CSVPath);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            BasicFileAttributes attributes = Files.readAttributes(CSVPath, BasicFileAttributes.class);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || !CSVPath.toAbsolutePath().toString().equals(readString(buffer))
+                    || buffer.getLong() != attributes.size()
+                    || buffer.getLong() != attributes.lastModifiedTime().toMillis()) {
+                log.debug("Ignoring stale cache file {} for {}", cacheFile, CSVPath);
+                return null;
+            }
+            return readTable(buffer);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to read cache file {} for {}: {}", cacheFile, CSVPath, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given columnar table as the cache file of the given CSV file. The file is written
+     * to a temporary file first and then moved into place, so readers never see a partial file.
+     * Failures are logged and otherwise ignored, since the table is still available to the caller.
+     * <p>
+     * Writing stops as soon as the file exceeds the maximum file size. The CSV file is then remembered
+     * until it changes, so later writes of its table are skipped right away and only logged once.
+     * </p>
+     *
+     * @param CSVPath the path to the CSV file the table was parsed from
+     * @param table   the columnar {@link Table} parsed from the CSV file
+     */
+    public void write(Path CSVPath, Table table) {
+        if (!(table.rows() instanceof ColumnarRows columnarRows)) {
+            throw new IllegalArgumentException("Only columnar tables can be cached.");
+        }
+        Path cacheFile = cacheFileOf(CSVPath);
+        Path tempFile = null;
+        String source = null;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(CSVPath, BasicFileAttributes.class);
+            source = CSVPath.toAbsolutePath() + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+            if (oversizedSources.contains(source)) {
+                return;
+            }
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new BoundedOutputStream(Files.newOutputStream(tempFile), maxFileSize)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                writeString(output, CSVPath.toAbsolutePath().toString());
+                output.writeLong(attributes.size());
+                output.writeLong(attributes.lastModifiedTime().toMillis());
+                writeTable(output, table.headers(), columnarRows);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileTooLargeException ex) {
+            oversizedSources.add(source);
+            log.warn("Not caching {}, its cache file would exceed {} bytes", CSVPath, maxFileSize);
+            deleteQuietly(tempFile);
+            deleteQuietly(cacheFile);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to write cache file {} for {}: {}", cacheFile, CSVPath, ex.getMessage());
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * @param CSVPath the path to the CSV file
+     * @return the path of the cache file of the CSV file
+     */
+    public Path cacheFileOf(Path CSVPath) {
+        byte[] absolutePath = CSVPath.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8);
+        return cacheDirectory.resolve(UUID.nameUUIDFromBytes(absolutePath) + FILE_EXTENSION);
+    }
+
+    private void writeTable(DataOutputStream output, List<String> headers, ColumnarRows rows) throws IOException {
+        output.writeInt(rows.size());
+        output.writeInt(headers.size());
+        for (int index = 0; index < headers.size(); index++) {
+            writeString(output, headers.get(index));
+            writeColumn(output, rows.column(index));
+        }
+    }
+
+    private void writeColumn(DataOutputStream output, Column column) throws IOException {
+        switch (column) {
+            case StringColumn stringColumn -> {
+                output.writeByte(STRING_COLUMN);
+                for (String value : stringColumn.values()) {
+                    writeString(output, value);
+                }
+            }
+            case DictionaryColumn dictionaryColumn -> {
+                output.writeByte(DICTIONARY_COLUMN);
+                output.writeInt(dictionaryColumn.dictionary().length);
+                for (String value : dictionaryColumn.dictionary()) {
+                    writeString(output, value);
+                }
+                for (int code : dictionaryColumn.codes()) {
+                    output.writeInt(code);
+                }
+            }
+            case LongColumn longColumn -> {
+                output.writeByte(LONG_COLUMN);
+                for (long value : longColumn.values()) {
+                    output.writeLong(value);
+                }
+                writeBitSet(output, longColumn.nulls());
+            }
+            case DoubleColumn doubleColumn -> {
+                output.writeByte(DOUBLE_COLUMN);
+                for (double value : doubleColumn.values()) {
+                    output.writeDouble(value);
+                }
+                writeBitSet(output, doubleColumn.nulls());
+                output.writeBoolean(doubleColumn.texts() != null);
+                if (doubleColumn.texts() != null) {
+                    for (String text : doubleColumn.texts()) {
+                        writeString(output, text);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeBitSet(DataOutputStream output, BitSet bitSet) throws IOException {
+        long[] words = bitSet.toLongArray();
+        output.writeInt(words.length);
+        for (long word : words) {
+            output.writeLong(word);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private Table readTable(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        int columnCount = buffer.getInt();
+        List<String> headers = new ArrayList<>(columnCount);
+        List<Column> columns = new ArrayList<>(columnCount);
+        for (int index = 0; index < columnCount; index++) {
+            headers.add(readString(buffer));
+            columns.add(readColumn(buffer, size));
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalStateException("Unexpected trailing bytes in cache file.");
+        }
+        return ColumnarRows.columnarTable(headers, columns, size);
+    }
+
+    private Column readColumn(ByteBuffer buffer, int size) {
+        byte type = buffer.get();
+        return switch (type) {
+            case STRING_COLUMN -> new StringColumn(readStrings(buffer, size));
+            case DICTIONARY_COLUMN -> {
+                String[] dictionary = readStrings(buffer, buffer.getInt());
+                int[] codes = new int[size];
+                buffer.asIntBuffer().get(codes);
+                buffer.position(buffer.position() + size * Integer.BYTES);
+                yield new DictionaryColumn(dictionary, codes);
+            }
+            case LONG_COLUMN -> {
+                long[] values = new long[size];
+                buffer.asLongBuffer().get(values);
+                buffer.position(buffer.position() + size * Long.BYTES);
+                yield new LongColumn(values, readBitSet(buffer));
+            }
+            case DOUBLE_COLUMN -> {
+                double[] values = new double[size];
+                buffer.asDoubleBuffer().get(values);
+                buffer.position(buffer.position() + size * Double.BYTES);
+                BitSet nulls = readBitSet(buffer);
+                yield new DoubleColumn(values, nulls, buffer.get() != 0 ? readStrings(buffer, size) : null);
+            }
+            default -> throw new IllegalStateException("Unknown column type in cache file: " + type);
+        };
+    }
+
+    private static BitSet readBitSet(ByteBuffer buffer) {
+        long[] words = new long[buffer.getInt()];
+        buffer.asLongBuffer().get(words);
+        buffer.position(buffer.position() + words.length * Long.BYTES);
+        return BitSet.valueOf(words);
+    }
+
+    private static String[] readStrings(ByteBuffer buffer, int count) {
+        String[] values = new String[count];
+        for (int index = 0; index < count; index++) {
+            values[index] = readString(buffer);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Failed to delete cache file {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Counts the bytes written through it and fails once they exceed the maximum size.
+     */
+    private static final class BoundedOutputStream extends FilterOutputStream {
+
+        private final long maxSize;
+        private long size;
+
+        private BoundedOutputStream(OutputStream output, long maxSize) {
+            super(output);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            grow(1);
+            out.write(value);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            grow(length);
+            out.write(bytes, offset, length);
+        }
+
+        private void grow(int count) throws FileTooLargeException {
+            size += count;
+            if (size > maxSize) {
+                throw new FileTooLargeException();
+            }
+        }
+    }
+
+    private static final class FileTooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,235 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * The join keys of a table that is joined on several columns at once, such as {@code (USER_ID, REGION)}.
+ * <p>
+ * Every key column is normalized on its own like a single-column join key, see
+ * {@link JoinerUtil#normalizeJoinKey(String)}. The key of a row is never built as one value: its hash
+ * is combined from the hash codes of its column keys and two keys are compared column by column, so no
+ * concatenated key string or key object is created per row. A row without a key in any of the key
+ * columns has no key and never matches.
+ * </p>
+ */
+public final class CompositeJoinKeys {
+
+    private static final int NO_ROW = -1;
+
+    private final String[][] columns;
+    private final int size;
+
+    private CompositeJoinKeys(String[][] columns, int size) {
+        this.columns = columns;
+        this.size = size;
+    }
+
+    /**
+     * Reads the normalized keys of the given columns of a table, straight from the columns of a
+     * columnar table.
+     *
+     * @param table       the table to read the keys from
+     * @param columnNames the join key columns of the table
+     * @return the composite keys of every row of the table
+     */
+    public static CompositeJoinKeys of(Table table, List<String> columnNames) {
+        String[][] columns = new String[columnNames.size()][];
+        List<Row> rows = table.rows() instanceof RandomAccess ? table.rows() : new ArrayList<>(table.rows());
+        for (int column = 0; column < columns.length; column++) {
+            String columnName = columnNames.get(column);
+            columns[column] = rows instanceof ColumnarRows columnarRows && columnarRows.column(columnName) != null
+                    ? JoinerUtil.normalizedJoinKeys(columnarRows.column(columnName))
+                    : JoinerUtil.normalizedJoinKeys(rows, table.headers().indexOf(columnName), columnName);
+        }
+        return new CompositeJoinKeys(columns, rows.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row the row index
+     * @return {@code true} if the row has no key in at least one key column
+     */
+    public boolean isMissing(int row) {
+        for (String[] column : columns) {
+            if (column[row] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param row a row with a key
+     * @return the mixed hash of the key of the row, combined from the hash codes of its column keys
+     */
+    public long hash(int row) {
+        long hash = 0;
+        for (String[] column : columns) {
+            hash = hash * 31 + column[row].hashCode();
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * @param row      a row of these keys with a key
+     * @param other    the keys of the other join input, over the same number of columns
+     * @param otherRow a row of the other keys with a key
+     * @return {@code true} if both rows have the same key in every key column
+     */
+    public boolean matches(int row, CompositeJoinKeys other, int otherRow) {
+        for (int column = 0; column < columns.length; column++) {
+            if (!columns[column][row].equals(other.columns[column][otherRow])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param row the row index
+     * @return the normalized column keys of the row, for logging
+     */
+    public List<String> key(int row) {
+        return Arrays.stream(columns).map(column -> column[row]).toList();
+    }
+
+    /**
+     * Indexes every row with a key, see {@link Index}.
+     *
+     * @param partitions the power of two number of partitions to build concurrently
+     * @return the index of these keys
+     */
+    public Index index(int partitions) {
+        return Index.of(this, partitions);
+    }
+
+    /**
+     * Hash index from composite keys to the rows holding them, built like a
+     * {@link LongRowIndex}: every key is stored once in an open-addressing table as the first row with
+     * that key, the further rows with the same key are chained in ascending row order, and large inputs
+     * are split into hash partitions that are built concurrently. The slots hold row indexes only;
+     * keys are compared through their rows.
+     */
+    public static final class Index {
+
+        private final CompositeJoinKeys keys;
+        private final long[] hashes;
+        private final List<int[]> partitions;
+        private final int[] nextRows;
+        private final int partitionShift;
+
+        private Index(CompositeJoinKeys keys, long[] hashes, List<int[]> partitions, int[] nextRows, int partitionShift) {
+            this.keys = keys;
+            this.hashes = hashes;
+            this.partitions = partitions;
+            this.nextRows = nextRows;
+            this.partitionShift = partitionShift;
+        }
+
+        private static Index of(CompositeJoinKeys keys, int partitions) {
+            int size = keys.size();
+            int partitionShift = Long.SIZE - Integer.numberOfTrailingZeros(partitions);
+            long[] hashes = new long[size];
+            int[] rowPartitions = new int[size];
+            IntStream rows = IntStream.range(0, size);
+            (partitions == 1 ? rows : rows.parallel()).forEach(row -> {
+                if (keys.isMissing(row)) {
+                    rowPartitions[row] = NO_ROW;
+                } else {
+                    hashes[row] = keys.hash(row);
+                    rowPartitions[row] = partitions == 1 ? 0 : (int) (hashes[row] >>> partitionShift);
+                }
+            });
+
+            int[] partitionStarts = new int[partitions + 1];
+            for (int partition : rowPartitions) {
+                if (partition != NO_ROW) {
+                    partitionStarts[partition + 1]++;
+                }
+            }
+            for (int partition = 0; partition < partitions; partition++) {
+                partitionStarts[partition + 1] += partitionStarts[partition];
+            }
+            int[] partitionedRows = new int[partitionStarts[partitions]];
+            int[] positions = Arrays.copyOf(partitionStarts, partitions);
+            for (int row = 0; row < size; row++) {
+                if (rowPartitions[row] != NO_ROW) {
+                    partitionedRows[positions[rowPartitions[row]]++] = row;
+                }
+            }
+
+            int[] nextRows = new int[size];
+            IntStream partitionIndexes = IntStream.range(0, partitions);
+            List<int[]> built = (partitions == 1 ? partitionIndexes : partitionIndexes.parallel())
+                    .mapToObj(partition -> buildPartition(keys, hashes, partitionedRows,
+                            partitionStarts[partition], partitionStarts[partition + 1], nextRows))
+                    .toList();
+            return new Index(keys, hashes, built, nextRows, partitionShift);
+        }
+
+        /**
+         * Inserts {@code rows[from, to)} in descending order, so every chain ends up in ascending row order.
+         *
+         * @return the slots of the partition, each holding the first row of a key or {@code -1}
+         */
+        private static int[] buildPartition(CompositeJoinKeys keys, long[] hashes, int[] rows, int from, int to,
+                                            int[] nextRows) {
+            int capacity = Integer.highestOneBit(Math.max(1, to - from) * 2 - 1) << 1;
+            int[] firstRows = new int[capacity];
+            Arrays.fill(firstRows, NO_ROW);
+            int mask = capacity - 1;
+            for (int index = to - 1; index >= from; index--) {
+                int row = rows[index];
+                int slot = (int) hashes[row] & mask;
+                while (firstRows[slot] != NO_ROW
+                        && !(hashes[firstRows[slot]] == hashes[row] && keys.matches(firstRows[slot], keys, row))) {
+                    slot = (slot + 1) & mask;
+                }
+                nextRows[row] = firstRows[slot];
+                firstRows[slot] = row;
+            }
+            return firstRows;
+        }
+
+        /**
+         * @param probeKeys the keys of the probe input, over the same number of columns
+         * @param probeRow  a probe row with a key
+         * @return the first indexed row with the key of the probe row, or {@code -1} if no row has it
+         */
+        public int first(CompositeJoinKeys probeKeys, int probeRow) {
+            long hash = probeKeys.hash(probeRow);
+            int[] firstRows = partitions.get(partitions.size() == 1 ? 0 : (int) (hash >>> partitionShift));
+            int mask = firstRows.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                int row = firstRows[slot];
+                if (row == NO_ROW || (hashes[row] == hash && keys.matches(row, probeKeys, probeRow))) {
+                    return row;
+                }
+            }
+        }
+
+        /**
+         * @param row a row returned by {@link #first(CompositeJoinKeys, int)} or this method
+         * @return the next row with the same key, or {@code -1} if there is none
+         */
+        public int next(int row) {
+            return nextRows[row];
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.csv.application.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fork-join pools shared by the readers, sorters and joiners that run on a given number of cores.
+ * <p>
+ * Every instance created with an explicit parallelism uses the pool of that parallelism, so creating
+ * many instances does not create many pools. The pools live as long as the application and are never
+ * shut down: a fork-join pool retires its idle worker threads after a keep-alive time, so an unused
+ * pool holds no threads.
+ * </p>
+ */
+public class ForkJoinPools {
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * @param parallelism the number of cores to run on
+     * @return the shared pool of the given parallelism, or {@code null} if it is {@code 1} or less and
+     * work should run on the calling thread
+     */
+    public static ForkJoinPool ofParallelism(int parallelism) {
+        return parallelism > 1 ? POOLS.computeIfAbsent(parallelism, ForkJoinPool::new) : null;
+    }
+}
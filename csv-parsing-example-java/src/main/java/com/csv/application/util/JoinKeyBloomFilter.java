@@ -0,0 +1,170 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.column.ColumnBuilder;
+import com.csv.application.domain.model.column.LongColumn;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over the join keys of the build side of a join, used as a runtime filter for the
+ * other side: a key the filter rejects certainly has no match, so its row can be dropped before any
+ * hash table lookup, or while the other file is still being read.
+ * <p>
+ * The filter uses ten bits and seven hash functions per key, for a false positive rate of about one
+ * percent, up to a size of 2^31 bits (256 MiB); larger build sides share the bits of the largest
+ * filter and get a higher false positive rate. Keys are the normalized join keys of {@link JoinerUtil#normalizeJoinKey(String)}; integer
+ * keys are hashed on their {@code long} value, so filters built from {@link LongColumn}s and from
+ * text keys accept the same keys. Every rejected key is counted, see {@link #eliminatedRows()}.
+ * The filter is safe to query from several threads.
+ * </p>
+ */
+public final class JoinKeyBloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_FUNCTIONS = 7;
+    private static final long MAX_BITS = 1L << 31;
+
+    private final long[] words;
+    private final int mask;
+    private final LongAdder eliminatedRows = new LongAdder();
+
+    private JoinKeyBloomFilter(int keyCount) {
+        long bits = bitCount(keyCount);
+        this.words = new long[(int) (bits / Long.SIZE)];
+        this.mask = (int) (bits - 1);
+    }
+
+    /**
+     * @param keyCount the number of keys of the build side
+     * @return the number of bits of a filter over that many keys: a power of two of at least ten bits
+     * per key, but no less than 64 and no more than 2^31
+     */
+    public static long bitCount(long keyCount) {
+        long bits = Long.highestOneBit(Math.max(Long.SIZE, keyCount * BITS_PER_KEY) - 1) << 1;
+        return Math.min(bits, MAX_BITS);
+    }
+
+    /**
+     * @param keys the normalized join keys of the build side, {@code null} for rows without a key
+     * @return a filter accepting all the given keys
+     */
+    public static JoinKeyBloomFilter of(String[] keys) {
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(keys.length);
+        for (String key : keys) {
+            if (key != null) {
+                filter.add(hash(key));
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * @param keys the integer join keys of the build side
+     * @return a filter accepting all keys of the column that are not null
+     */
+    public static JoinKeyBloomFilter of(LongColumn keys) {
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(keys.size());
+        for (int row = 0; row < keys.size(); row++) {
+            if (!keys.isNull(row)) {
+                filter.add(hash(keys.value(row)));
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * @param keys the composite join keys of the build side
+     * @return a filter accepting the keys of all rows that have one
+     */
+    public static JoinKeyBloomFilter of(CompositeJoinKeys keys) {
+        JoinKeyBloomFilter filter = new JoinKeyBloomFilter(keys.size());
+        for (int row = 0; row < keys.size(); row++) {
+            if (!keys.isMissing(row)) {
+                filter.add(keys.hash(row));
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * @param key a normalized join key, {@code null} for a row without a key, which never matches
+     * @return {@code false} if no build row has the key, {@code true} if one might have it
+     */
+    public boolean mightContain(String key) {
+        if (key == null) {
+            eliminatedRows.increment();
+            return false;
+        }
+        return mightContainHash(hash(key));
+    }
+
+    /**
+     * @param key an integer join key
+     * @return {@code false} if no build row has the key, {@code true} if one might have it
+     */
+    public boolean mightContain(long key) {
+        return mightContainHash(hash(key));
+    }
+
+    /**
+     * @param keys the composite join keys of the probe side, over the same columns as the build keys
+     * @param row  a probe row with a key
+     * @return {@code false} if no build row has the key of the row, {@code true} if one might have it
+     */
+    public boolean mightContain(CompositeJoinKeys keys, int row) {
+        return mightContainHash(keys.hash(row));
+    }
+
+    /**
+     * @return the number of keys the filter rejected so far
+     */
+    public long eliminatedRows() {
+        return eliminatedRows.sum();
+    }
+
+    private void add(long hash) {
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int function = 0; function < HASH_FUNCTIONS; function++) {
+            int bit = (first + function * step) & mask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContainHash(long hash) {
+        int first = (int) hash;
+        int step = (int) (hash >>> 32) | 1;
+        for (int function = 0; function < HASH_FUNCTIONS; function++) {
+            int bit = (first + function * step) & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                eliminatedRows.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes a text key like the {@code long} it stands for if it is a canonical integer, so that it
+     * meets the same bits as the key of an integer column.
+     */
+    private static long hash(String key) {
+        if (!key.isEmpty() && ColumnBuilder.isCanonicalLong(key)) {
+            return hash(Long.parseLong(key));
+        }
+        return hash((long) key.hashCode() * 0x9E3779B97F4A7C15L ^ key.length());
+    }
+
+    /**
+     * Finalization step of MurmurHash3.
+     */
+    private static long hash(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,165 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.Table;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed layout of the rows produced by a join.
+ * <p>
+ * The joined schema and, for every output column, the side and column index it is copied from are
+ * resolved once per join. Building a joined row is then a plain copy of values into a {@code String[]}
+ * without any per-row map lookups or header comparisons.
+ * </p>
+ */
+public final class JoinedRowLayout {
+
+    private final RowSchema joinedSchema;
+    private final boolean[] fromRight;
+    private final int[] sourceIndexes;
+    private final String[] sourceColumns;
+    private final int[] visiblePositions;
+
+    private JoinedRowLayout(RowSchema joinedSchema, boolean[] fromRight, int[] sourceIndexes, String[] sourceColumns) {
+        this.joinedSchema = joinedSchema;
+        this.fromRight = fromRight;
+        this.sourceIndexes = sourceIndexes;
+        this.sourceColumns = sourceColumns;
+        this.visiblePositions = IntStream.range(0, sourceIndexes.length)
+                .filter(position -> joinedSchema.isAt(position, joinedSchema.headers().get(position)))
+                .toArray();
+    }
+
+    /**
+     * Creates the layout for joining the given tables. The output columns are the left headers followed
+     * by the right headers without the right join column, as returned by
+     * {@link JoinerUtil#createJoinedHeaders(String, Table, Table)}.
+     *
+     * @param joinedHeaders   the headers of the joined table
+     * @param rightColumnName the join column name from the right table
+     * @param leftTable       the left table
+     * @param rightTable      the right table
+     * @param leftWins        whether the left value is kept when both tables have a non-key column with the same name;
+     *                        otherwise the right value overrides the left one
+     * @return the layout used to build joined rows
+     */
+    public static JoinedRowLayout of(List<String> joinedHeaders,
+                                     String rightColumnName,
+                                     Table leftTable,
+                                     Table rightTable,
+                                     boolean leftWins) {
+        return of(joinedHeaders, List.of(rightColumnName), leftTable, rightTable, leftWins);
+    }
+
+    /**
+     * Creates the layout for joining the given tables on several columns, as returned by
+     * {@link JoinerUtil#createJoinedHeaders(List, Table, Table)}: no right join column is copied.
+     *
+     * @param joinedHeaders    the headers of the joined table
+     * @param rightColumnNames the join column names from the right table
+     * @param leftTable        the left table
+     * @param rightTable       the right table
+     * @param leftWins         whether the left value is kept for a shared non-key column
+     * @return the layout used to build joined rows
+     */
+    public static JoinedRowLayout of(List<String> joinedHeaders,
+                                     List<String> rightColumnNames,
+                                     Table leftTable,
+                                     Table rightTable,
+                                     boolean leftWins) {
+        List<String> leftHeaders = leftTable.headers();
+        List<String> rightHeaders = rightTable.headers();
+        RowSchema rightSchema = RowSchema.of(rightHeaders);
+
+        int size = joinedHeaders.size();
+        boolean[] fromRight = new boolean[size];
+        int[] sourceIndexes = new int[size];
+        String[] sourceColumns = new String[size];
+
+        for (int position = 0; position < leftHeaders.size(); position++) {
+            String header = leftHeaders.get(position);
+            int rightIndex = leftWins || rightColumnNames.contains(header) ? -1 : rightSchema.indexOf(header);
+            fromRight[position] = rightIndex >= 0;
+            sourceIndexes[position] = rightIndex >= 0 ? rightIndex : position;
+            sourceColumns[position] = header;
+        }
+        int position = leftHeaders.size();
+        for (int rightIndex = 0; rightIndex < rightHeaders.size(); rightIndex++) {
+            String header = rightHeaders.get(rightIndex);
+            if (!rightColumnNames.contains(header)) {
+                fromRight[position] = true;
+                sourceIndexes[position] = rightIndex;
+                sourceColumns[position] = header;
+                position++;
+            }
+        }
+        return new JoinedRowLayout(RowSchema.of(joinedHeaders), fromRight, sourceIndexes, sourceColumns);
+    }
+
+    public RowSchema joinedSchema() {
+        return joinedSchema;
+    }
+
+    public int size() {
+        return sourceIndexes.length;
+    }
+
+    /**
+     * @return the number of output columns visible through a joined row map, the first column of every
+     * header; a later column that repeats an earlier header is hidden like in an array-backed {@link Row}
+     */
+    public int visibleSize() {
+        return visiblePositions.length;
+    }
+
+    /**
+     * @param visibleIndex the index among the visible output columns
+     * @return the output column position of the visible column
+     */
+    public int visiblePosition(int visibleIndex) {
+        return visiblePositions[visibleIndex];
+    }
+
+    /**
+     * @param position the output column position
+     * @return {@code true} if the output column is copied from the right table
+     */
+    public boolean isFromRight(int position) {
+        return fromRight[position];
+    }
+
+    /**
+     * @param position the output column position
+     * @return the column index in the source table the output column is copied from
+     */
+    public int sourceIndex(int position) {
+        return sourceIndexes[position];
+    }
+
+    /**
+     * @param position the output column position
+     * @return the name of the source column the output column is copied from
+     */
+    public String sourceColumn(int position) {
+        return sourceColumns[position];
+    }
+
+    /**
+     * Creates the combined {@link Row} of a matching left and right row.
+     *
+     * @param leftRow  the row from the left table
+     * @param rightRow the matching row from the right table
+     * @return a new array-backed {@link Row} in joined schema order
+     */
+    public Row join(Row leftRow, Row rightRow) {
+        String[] values = new String[sourceIndexes.length];
+        for (int position = 0; position < values.length; position++) {
+            Row source = fromRight[position] ? rightRow : leftRow;
+            values[position] = source.get(sourceIndexes[position], sourceColumns[position]);
+        }
+        return Row.of(joinedSchema, values);
+    }
+}
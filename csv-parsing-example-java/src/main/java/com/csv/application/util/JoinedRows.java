@@ -0,0 +1,158 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.JoinMatches;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.column.ColumnarRows;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Lazy result of a join: the matching row index pairs together with read-only {@link Row} views
+ * that read their fields from the input rows when they are accessed.
+ * <p>
+ * No joined row is built and no value is copied by the join itself, so one-to-many matches cost two
+ * {@code int}s per output row instead of a full copy of both rows. Consumers that only count rows or
+ * read a few columns never touch the other fields; fields of columnar inputs are read straight from
+ * their columns. Use {@link #materialize()} to get independent, modifiable rows.
+ * </p>
+ * <p>
+ * The views reference the input rows, so changes to the inputs are visible through them.
+ * </p>
+ */
+public final class JoinedRows extends AbstractList<Row> implements RandomAccess {
+
+    private final JoinedRowLayout layout;
+    private final List<Row> leftRows;
+    private final List<Row> rightRows;
+    private final JoinMatches matches;
+
+    /**
+     * @param layout    the layout of the joined rows
+     * @param leftRows  the rows of the left table
+     * @param rightRows the rows of the right table
+     * @param matches   the matching row index pairs, in output order
+     */
+    public JoinedRows(JoinedRowLayout layout, List<Row> leftRows, List<Row> rightRows, JoinMatches matches) {
+        this.layout = layout;
+        this.leftRows = leftRows instanceof RandomAccess ? leftRows : new ArrayList<>(leftRows);
+        this.rightRows = rightRows instanceof RandomAccess ? rightRows : new ArrayList<>(rightRows);
+        this.matches = matches;
+    }
+
+    /**
+     * @return the matching left and right row indexes of every joined row
+     */
+    public JoinMatches matches() {
+        return matches;
+    }
+
+    /**
+     * Copies every joined row into a new array-backed {@link Row}.
+     *
+     * @return the joined rows, independent of the input tables
+     */
+    public List<Row> materialize() {
+        List<Row> joinedRows = new ArrayList<>(size());
+        for (int match = 0; match < size(); match++) {
+            joinedRows.add(layout.join(leftRows.get(matches.leftRows()[match]), rightRows.get(matches.rightRows()[match])));
+        }
+        return joinedRows;
+    }
+
+    @Override
+    public Row get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+        return new Row(new JoinedRowMap(index));
+    }
+
+    @Override
+    public int size() {
+        return matches.size();
+    }
+
+    private String valueAt(int match, int position) {
+        boolean fromRight = layout.isFromRight(position);
+        List<Row> rows = fromRight ? rightRows : leftRows;
+        int row = fromRight ? matches.rightRows()[match] : matches.leftRows()[match];
+        if (rows instanceof ColumnarRows columnarRows) {
+            return columnarRows.column(layout.sourceIndex(position)).get(row);
+        }
+        return rows.get(row).get(layout.sourceIndex(position), layout.sourceColumn(position));
+    }
+
+    /**
+     * Read-only {@link Map} view of one joined row.
+     */
+    private final class JoinedRowMap extends AbstractMap<String, String> {
+
+        private final int match;
+
+        private JoinedRowMap(int match) {
+            this.match = match;
+        }
+
+        @Override
+        public String get(Object key) {
+            int position = layout.joinedSchema().indexOf(key);
+            return position < 0 ? null : valueAt(match, position);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return layout.joinedSchema().indexOf(key) >= 0;
+        }
+
+        @Override
+        public String put(String key, String value) {
+            throw new UnsupportedOperationException("Joined row views are read-only, materialize them to modify rows.");
+        }
+
+        @Override
+        public int size() {
+            return layout.visibleSize();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int visibleIndex;
+
+                        @Override
+                        public boolean hasNext() {
+                            return visibleIndex < layout.visibleSize();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int position = layout.visiblePosition(visibleIndex++);
+                            String header = layout.joinedSchema().headers().get(position);
+                            return new SimpleImmutableEntry<>(header, valueAt(match, position));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return layout.visibleSize();
+                }
+            };
+        }
+    }
+}
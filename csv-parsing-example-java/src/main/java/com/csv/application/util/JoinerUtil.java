@@ -1,11 +1,21 @@
 package com.csv.application.util;
 
 import com.csv.application.domain.exception.EmptyHeaderException;
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.ErrorResponse;
+import com.csv.application.domain.model.JoinMatches;
+import com.csv.application.domain.model.Row;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.ColumnBuilder;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.DictionaryColumn;
+import com.csv.application.domain.model.column.LongColumn;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -30,6 +40,27 @@ public class JoinerUtil {
                 || null == leftTable || null == rightTable;
     }
 
+    /**
+     * Validates the key columns of a join on several columns like
+     * {@link #isInvalidColumnNameAndTable(String, String, Table, Table)}: no list may be null or empty
+     * and no column name blank.
+     *
+     * @param leftColumnNames  the join key columns from the left table
+     * @param rightColumnNames the join key columns from the right table
+     * @param leftTable        the left table
+     * @param rightTable       the right table
+     * @return {@code true} if any input is null or empty; {@code false} otherwise
+     */
+    public static boolean isInvalidColumnNamesAndTables(List<String> leftColumnNames,
+                                                        List<String> rightColumnNames,
+                                                        Table leftTable,
+                                                        Table rightTable) {
+        return ObjectUtils.isEmpty(leftColumnNames) || ObjectUtils.isEmpty(rightColumnNames)
+                || leftColumnNames.stream().anyMatch(StringUtils::isBlank)
+                || rightColumnNames.stream().anyMatch(StringUtils::isBlank)
+                || null == leftTable || null == rightTable;
+    }
+
     public static ErrorResponse createErrorResponse(int statusCode, String message) {
         return new ErrorResponse(statusCode, message);
     }
@@ -46,6 +77,21 @@ public class JoinerUtil {
      *                              or if any header in the right table is null or empty
      */
     public static List<String> createJoinedHeaders(String rightColumnName, Table leftTable, Table rightTable) {
+        return createJoinedHeaders(List.of(rightColumnName), leftTable, rightTable);
+    }
+
+    /**
+     * Creates the header list for a table joined on several columns like
+     * {@link #createJoinedHeaders(String, Table, Table)}, excluding every join key column of the right table.
+     *
+     * @param rightColumnNames the column names used for joining from the right table
+     * @param leftTable        the left table
+     * @param rightTable       the right table
+     * @return a combined list of headers for the joined table
+     * @throws EmptyHeaderException if either table's headers are null or empty,
+     *                              or if any header in the right table is null or empty
+     */
+    public static List<String> createJoinedHeaders(List<String> rightColumnNames, Table leftTable, Table rightTable) {
 
         if (ObjectUtils.isEmpty(leftTable.headers()) || ObjectUtils.isEmpty(rightTable.headers())) {
             throw new EmptyHeaderException("The left or right table header list is empty or null.");
@@ -56,7 +102,177 @@ public class JoinerUtil {
                     if (StringUtils.isEmpty(header)) {
                         throw new EmptyHeaderException("The header from right table is empty.");
                     }
-                    return !header.equals(rightColumnName);
+                    return !rightColumnNames.contains(header);
                 })).collect(toList());
     }
+
+    /**
+     * Checks whether both tables are columnar and contain their join key column, so the join can
+     * run directly on the columns.
+     *
+     * @param leftColumnName  the join key column from the left table
+     * @param rightColumnName the join key column from the right table
+     * @param leftTable       the left table
+     * @param rightTable      the right table
+     * @return {@code true} if the columnar join path can be used
+     */
+    public static boolean isColumnarJoin(String leftColumnName, String rightColumnName,
+                                         Table leftTable, Table rightTable) {
+        return isColumnarJoin(List.of(leftColumnName), List.of(rightColumnName), leftTable, rightTable);
+    }
+
+    /**
+     * Checks whether both tables are columnar and contain all their join key columns.
+     *
+     * @param leftColumnNames  the join key columns from the left table
+     * @param rightColumnNames the join key columns from the right table
+     * @param leftTable        the left table
+     * @param rightTable       the right table
+     * @return {@code true} if the columnar join path can be used
+     */
+    public static boolean isColumnarJoin(List<String> leftColumnNames, List<String> rightColumnNames,
+                                         Table leftTable, Table rightTable) {
+        return leftTable.rows() instanceof ColumnarRows leftRows
+                && leftColumnNames.stream().allMatch(columnName -> leftRows.column(columnName) != null)
+                && rightTable.rows() instanceof ColumnarRows rightRows
+                && rightColumnNames.stream().allMatch(columnName -> rightRows.column(columnName) != null);
+    }
+
+    /**
+     * Extracts the normalized join key of every row of a column: trimmed and lower-cased, or {@code null}
+     * if the value is null or blank. Dictionary-encoded columns are normalized once per distinct value,
+     * so rows sharing a value share the same key instance.
+     *
+     * @param column the join key column
+     * @return one normalized key per row
+     */
+    public static String[] normalizedJoinKeys(Column column) {
+        String[] keys = new String[column.size()];
+        if (column instanceof DictionaryColumn dictionaryColumn) {
+            String[] dictionary = dictionaryColumn.dictionary();
+            String[] normalizedDictionary = new String[dictionary.length];
+            for (int code = 0; code < dictionary.length; code++) {
+                normalizedDictionary[code] = normalizeJoinKey(dictionary[code]);
+            }
+            for (int row = 0; row < keys.length; row++) {
+                keys[row] = normalizedDictionary[dictionaryColumn.code(row)];
+            }
+        } else {
+            for (int row = 0; row < keys.length; row++) {
+                keys[row] = normalizeJoinKey(column.get(row));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Normalizes the join keys of a list of rows the same way as {@link #normalizedJoinKeys(Column)}.
+     *
+     * @param rows        the rows to read the keys from
+     * @param columnIndex the index of the join column in the table headers
+     * @param columnName  the name of the join column
+     * @return the trimmed, lower-cased key of every row, or {@code null} for rows without a key
+     */
+    public static String[] normalizedJoinKeys(List<Row> rows, int columnIndex, String columnName) {
+        String[] keys = new String[rows.size()];
+        int row = 0;
+        for (Row current : rows) {
+            keys[row++] = normalizeJoinKey(current.get(columnIndex, columnName));
+        }
+        return keys;
+    }
+
+    /**
+     * Reads the join keys of a list of rows as primitive {@code long}s, if every key that is not blank
+     * is a canonical integer once trimmed. Two such keys are equal exactly if their normalized text is,
+     * so the rows can be matched on the primitives without creating a normalized string per row.
+     *
+     * @param rows        the rows to read the keys from
+     * @param columnIndex the index of the join column in the table headers
+     * @param columnName  the name of the join column
+     * @return a {@link LongColumn} of the keys with blank keys as nulls, or {@code null} if a key is not an integer
+     */
+    public static LongColumn longJoinKeys(List<Row> rows, int columnIndex, String columnName) {
+        long[] keys = new long[rows.size()];
+        BitSet nulls = new BitSet(keys.length);
+        int row = 0;
+        for (Row current : rows) {
+            String value = current.get(columnIndex, columnName);
+            if (StringUtils.isBlank(value)) {
+                nulls.set(row++);
+                continue;
+            }
+            String key = value.trim();
+            if (!ColumnBuilder.isCanonicalLong(key)) {
+                return null;
+            }
+            keys[row++] = Long.parseLong(key);
+        }
+        return new LongColumn(keys, nulls);
+    }
+
+    /**
+     * Builds a Bloom filter over the join keys of a table, to drop the rows of the other join input
+     * that cannot match before they are joined.
+     *
+     * @param table      the build side of the join
+     * @param columnName the join column of the table
+     * @return a filter accepting every key of the table
+     */
+    public static JoinKeyBloomFilter joinKeyBloomFilter(Table table, String columnName) {
+        if (table.rows() instanceof ColumnarRows columnarRows && columnarRows.column(columnName) != null) {
+            Column column = columnarRows.column(columnName);
+            return column instanceof LongColumn longColumn
+                    ? JoinKeyBloomFilter.of(longColumn)
+                    : JoinKeyBloomFilter.of(normalizedJoinKeys(column));
+        }
+        return JoinKeyBloomFilter.of(normalizedJoinKeys(table.rows(), table.headers().indexOf(columnName), columnName));
+    }
+
+    /**
+     * Creates a reader filter that drops the records whose join key is rejected by the given Bloom
+     * filter, i.e. that have no matching row on the build side of the join. The field is normalized
+     * like a join key before it is tested.
+     *
+     * @param columnName the join column of the table being read
+     * @param filter     the Bloom filter over the join keys of the build side
+     * @return a {@link ColumnFilter} to push down into the reader
+     */
+    public static ColumnFilter joinKeyFilter(String columnName, JoinKeyBloomFilter filter) {
+        return new ColumnFilter(columnName, value -> filter.mightContain(normalizeJoinKey(value)));
+    }
+
+    /**
+     * @param value the raw join key of a row
+     * @return the trimmed, lower-cased key, or {@code null} if the value is null or blank
+     */
+    public static String normalizeJoinKey(String value) {
+        return StringUtils.isBlank(value) ? null : value.trim().toLowerCase();
+    }
+
+    /**
+     * Builds the columnar joined table from matching row index pairs by gathering every output
+     * column from its source column. No joined {@link com.csv.application.domain.model.Row} is created.
+     *
+     * @param joinedHeaders the headers of the joined table
+     * @param layout        the layout describing the source of every output column
+     * @param leftRows      the columnar rows of the left table
+     * @param rightRows     the columnar rows of the right table
+     * @param matches       the matching row index pairs
+     * @return the joined columnar {@link Table}
+     */
+    public static Table createColumnarJoinedTable(List<String> joinedHeaders,
+                                                  JoinedRowLayout layout,
+                                                  ColumnarRows leftRows,
+                                                  ColumnarRows rightRows,
+                                                  JoinMatches matches) {
+        List<Column> columns = new ArrayList<>(layout.size());
+        for (int position = 0; position < layout.size(); position++) {
+            Column source = layout.isFromRight(position)
+                    ? rightRows.column(layout.sourceIndex(position))
+                    : leftRows.column(layout.sourceIndex(position));
+            columns.add(source.select(layout.isFromRight(position) ? matches.rightRows() : matches.leftRows()));
+        }
+        return ColumnarRows.columnarTable(joinedHeaders, columns, matches.size());
+    }
 }
@@ -0,0 +1,142 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.model.column.LongColumn;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Hash index from primitive {@code long} join keys to the rows holding them.
+ * <p>
+ * Every key is stored once in an open-addressing table with linear probing, next to the first row
+ * with that key; the further rows with the same key are chained through a per-row {@code int} array,
+ * in ascending row order. Neither building nor probing the index allocates anything per row.
+ * </p>
+ * <p>
+ * Large columns are split into independent hash partitions by the high bits of the mixed key, which
+ * are built concurrently; the slot within a partition is taken from the low bits.
+ * </p>
+ */
+public final class LongRowIndex {
+
+    private static final int NO_ROW = -1;
+
+    private final List<Partition> partitions;
+    private final int[] nextRows;
+    private final int partitionShift;
+
+    private LongRowIndex(List<Partition> partitions, int[] nextRows, int partitionShift) {
+        this.partitions = partitions;
+        this.nextRows = nextRows;
+        this.partitionShift = partitionShift;
+    }
+
+    /**
+     * Indexes every row of the column that has a value.
+     *
+     * @param column     the join key column
+     * @param partitions the power of two number of partitions to build concurrently
+     * @return the index of the column
+     */
+    public static LongRowIndex of(LongColumn column, int partitions) {
+        int size = column.size();
+        int partitionShift = Long.SIZE - Integer.numberOfTrailingZeros(partitions);
+        int[] nextRows = new int[size];
+        if (partitions == 1) {
+            int[] rows = IntStream.range(0, size).filter(row -> !column.isNull(row)).toArray();
+            return new LongRowIndex(List.of(Partition.of(column, rows, 0, rows.length, nextRows)), nextRows, partitionShift);
+        }
+
+        int[] rowPartitions = new int[size];
+        IntStream.range(0, size).parallel().forEach(row -> rowPartitions[row] = column.isNull(row)
+                ? NO_ROW : (int) (mix(column.value(row)) >>> partitionShift));
+        int[] partitionStarts = new int[partitions + 1];
+        for (int partition : rowPartitions) {
+            if (partition != NO_ROW) {
+                partitionStarts[partition + 1]++;
+            }
+        }
+        for (int partition = 0; partition < partitions; partition++) {
+            partitionStarts[partition + 1] += partitionStarts[partition];
+        }
+        int[] partitionedRows = new int[partitionStarts[partitions]];
+        int[] positions = Arrays.copyOf(partitionStarts, partitions);
+        for (int row = 0; row < size; row++) {
+            if (rowPartitions[row] != NO_ROW) {
+                partitionedRows[positions[rowPartitions[row]]++] = row;
+            }
+        }
+        List<Partition> built = IntStream.range(0, partitions).parallel()
+                .mapToObj(partition -> Partition.of(column, partitionedRows,
+                        partitionStarts[partition], partitionStarts[partition + 1], nextRows))
+                .toList();
+        return new LongRowIndex(built, nextRows, partitionShift);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the first row with the key, or {@code -1} if no row has it
+     */
+    public int first(long key) {
+        long hash = mix(key);
+        Partition partition = partitions.get(partitions.size() == 1 ? 0 : (int) (hash >>> partitionShift));
+        int mask = partition.keys().length - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            int row = partition.firstRows()[slot];
+            if (row == NO_ROW || partition.keys()[slot] == key) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * @param row a row returned by {@link #first(long)} or this method
+     * @return the next row with the same key, or {@code -1} if there is none
+     */
+    public int next(int row) {
+        return nextRows[row];
+    }
+
+    /**
+     * Finalization step of MurmurHash3, so that sequential or strided keys spread over all bits.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The open-addressing table of one partition; a slot is empty if its first row is {@code -1}.
+     */
+    private record Partition(long[] keys, int[] firstRows) {
+
+        /**
+         * Inserts {@code rows[from, to)} in descending order, so every chain ends up in ascending row order.
+         */
+        static Partition of(LongColumn column, int[] rows, int from, int to, int[] nextRows) {
+            int capacity = Integer.highestOneBit(Math.max(1, to - from) * 2 - 1) << 1;
+            long[] keys = new long[capacity];
+            int[] firstRows = new int[capacity];
+            Arrays.fill(firstRows, NO_ROW);
+            int mask = capacity - 1;
+            for (int index = to - 1; index >= from; index--) {
+                int row = rows[index];
+                long key = column.value(row);
+                int slot = (int) mix(key) & mask;
+                while (firstRows[slot] != NO_ROW && keys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                nextRows[row] = firstRows[slot];
+                firstRows[slot] = row;
+            }
+            return new Partition(keys, firstRows);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.csv.application.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a multi-member gzip file on several threads while it is read.
+ * <p>
+ * A gzip file may consist of several independently compressed members, as written by block
+ * compressors or by concatenating gzip files. Members carry no length, so the file is first scanned
+ * for every offset that looks like a member header. Members are then inflated speculatively from
+ * these offsets on a bounded window of threads, and the stream walks the chain of real members in
+ * order: every member ends with a CRC and size trailer, and the next member has to start right
+ * after it. Candidates inside compressed data fail to inflate or are skipped by the walk.
+ * </p>
+ * <p>
+ * Every member in the window is inflated into memory, so at most {@code parallelism} members of at
+ * most {@value #MAX_MEMBER_SIZE} inflated bytes each are held at once. Once a member of the chain
+ * turns out to be larger, the rest of the file is read with a plain {@link GZIPInputStream}. The
+ * same holds for whole files that are too large to be memory-mapped, and for files that do not
+ * have a second member right after the first one, see {@link #open(Path, int)}: compressed data
+ * contains byte sequences that look like member headers, so candidates alone do not prove that a
+ * file has several members.
+ * </p>
+ */
+public final class ParallelGzipInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_MEMBER_SIZE = 32 * 1024 * 1024;
+    private static final int SCAN_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int HEADER_SIZE = 10;
+    private static final int TRAILER_SIZE = 8;
+    private static final int ID1 = 0x1f;
+    private static final int ID2 = 0x8b;
+    private static final int DEFLATE = 8;
+    private static final int FHCRC = 0x02;
+    private static final int FEXTRA = 0x04;
+    private static final int FNAME = 0x08;
+    private static final int FCOMMENT = 0x10;
+    private static final int RESERVED_FLAGS = 0xe0;
+
+    private final FileChannel channel;
+    private final ByteBuffer file;
+    private final int[] candidates;
+    private final int window;
+    private final ArrayDeque<MemberTask> pending = new ArrayDeque<>();
+    private int nextCandidate;
+    private int expectedStart;
+    private byte[] current;
+    private int currentPosition;
+    private InputStream sequential;
+    private boolean closed;
+
+    private ParallelGzipInputStream(FileChannel channel, ByteBuffer file, int[] candidates, int parallelism,
+                                    Member firstMember) {
+        this.channel = channel;
+        this.file = file;
+        this.candidates = candidates;
+        this.window = Math.max(1, parallelism);
+        this.current = firstMember.data();
+        this.expectedStart = firstMember.end();
+    }
+
+    /**
+     * Opens the given gzip file for reading. Files whose first member is followed by a second one
+     * are decompressed in parallel, other files with a sequential {@link GZIPInputStream}. The first
+     * member is inflated here to find where it ends; it is kept as the first output of the stream.
+     *
+     * @param gzipPath    the path to the gzip file
+     * @param parallelism the number of members inflated concurrently
+     * @return a stream of the decompressed content
+     * @throws IOException if the file cannot be opened or is not in gzip format
+     */
+    public static InputStream open(Path gzipPath, int parallelism) throws IOException {
+        FileChannel channel = FileChannel.open(gzipPath, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size <= Integer.MAX_VALUE) {
+                MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int[] candidates = findMemberCandidates(file);
+                if (candidates.length > 1 && parallelism > 1) {
+                    Member firstMember = inflateMember(file, 0);
+                    if (startsSecondMember(file, candidates, firstMember)) {
+                        return new ParallelGzipInputStream(channel, file, candidates, parallelism, firstMember);
+                    }
+                }
+            }
+            channel.close();
+            return new GZIPInputStream(Files.newInputStream(gzipPath), BUFFER_SIZE);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (currentPosition == current.length) {
+            if (sequential != null) {
+                return sequential.read(bytes, offset, length);
+            }
+            if (!nextMember()) {
+                return -1;
+            }
+        }
+        int count = Math.min(length, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, bytes, offset, count);
+        currentPosition += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(task -> task.member().cancel(true));
+        pending.clear();
+        if (sequential != null) {
+            sequential.close();
+        }
+        channel.close();
+    }
+
+    /**
+     * Moves on to the member starting where the previous one ended. If that member is too large to be
+     * inflated into memory, switches to reading the rest of the file sequentially.
+     *
+     * @return {@code false} if the end of the file or trailing non-gzip data is reached
+     * @throws IOException if a member is corrupt
+     */
+    private boolean nextMember() throws IOException {
+        if (expectedStart >= file.limit()) {
+            return false;
+        }
+        while (!pending.isEmpty() && pending.peekFirst().start() < expectedStart) {
+            pending.removeFirst().member().cancel(true);
+        }
+        while (nextCandidate < candidates.length && candidates[nextCandidate] < expectedStart) {
+            nextCandidate++;
+        }
+        fillWindow();
+        MemberTask task = pending.peekFirst();
+        if (task == null || task.start() != expectedStart) {
+            return false;
+        }
+        pending.removeFirst();
+        Member member;
+        try {
+            member = task.member().join();
+        } catch (CompletionException ex) {
+            throw new IOException("Failed to inflate gzip member at offset " + task.start(), ex.getCause());
+        }
+        if (member == null) {
+            throw new ZipException("Corrupt gzip member at offset " + expectedStart);
+        }
+        if (member == Member.TOO_LARGE) {
+            pending.forEach(pendingTask -> pendingTask.member().cancel(true));
+            pending.clear();
+            channel.position(expectedStart);
+            sequential = new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE);
+            return true;
+        }
+        current = member.data();
+        currentPosition = 0;
+        expectedStart = member.end();
+        fillWindow();
+        return true;
+    }
+
+    private void fillWindow() {
+        while (pending.size() < window && nextCandidate < candidates.length) {
+            int start = candidates[nextCandidate++];
+            pending.addLast(new MemberTask(start, CompletableFuture.supplyAsync(() -> inflateMember(file, start))));
+        }
+    }
+
+    /**
+     * Finds every offset that starts with a plausible gzip member header, scanning chunks of the file
+     * in parallel.
+     *
+     * @param file the mapped gzip file
+     * @return the candidate member offsets in ascending order
+     */
+    private static int[] findMemberCandidates(ByteBuffer file) {
+        int size = file.limit();
+        int chunks = (size + SCAN_CHUNK_SIZE - 1) / SCAN_CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scanChunk(file.duplicate(), chunk * SCAN_CHUNK_SIZE,
+                        (int) Math.min(size, (long) (chunk + 1) * SCAN_CHUNK_SIZE)))
+                .flatMapToInt(Arrays::stream)
+                .toArray();
+    }
+
+    private static int[] scanChunk(ByteBuffer file, int start, int end) {
+        IntStream.Builder candidates = IntStream.builder();
+        int lastHeaderStart = file.limit() - HEADER_SIZE;
+        for (int offset = start; offset < end && offset <= lastHeaderStart; offset++) {
+            if ((file.get(offset) & 0xff) == ID1 && (file.get(offset + 1) & 0xff) == ID2
+                    && file.get(offset + 2) == DEFLATE && (file.get(offset + 3) & RESERVED_FLAGS) == 0) {
+                candidates.add(offset);
+            }
+        }
+        return candidates.build().toArray();
+    }
+
+    /**
+     * @param file        the mapped gzip file
+     * @param candidates  the candidate member offsets in ascending order
+     * @param firstMember the inflated member at offset zero
+     * @return {@code true} if a valid member header follows right after the first member
+     */
+    private static boolean startsSecondMember(ByteBuffer file, int[] candidates, Member firstMember) {
+        return firstMember != null && firstMember != Member.TOO_LARGE
+                && Arrays.binarySearch(candidates, firstMember.end()) >= 0
+                && skipHeader(file.duplicate().order(ByteOrder.LITTLE_ENDIAN), firstMember.end()) >= 0;
+    }
+
+    /**
+     * Inflates the member starting at the given offset and verifies its trailer. Inflation stops as
+     * soon as the member exceeds {@value #MAX_MEMBER_SIZE} bytes.
+     *
+     * @param file  the mapped gzip file
+     * @param start the offset of the member header
+     * @return the inflated member, {@link Member#TOO_LARGE} if it is too large to be held in memory,
+     * or {@code null} if no valid member starts at the offset
+     */
+    private static Member inflateMember(ByteBuffer file, int start) {
+        ByteBuffer buffer = file.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int dataStart = skipHeader(buffer, start);
+        if (dataStart < 0) {
+            return null;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(buffer.slice(dataStart, buffer.limit() - dataStart));
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            CRC32 crc = new CRC32();
+            byte[] chunk = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                if (output.size() + count > MAX_MEMBER_SIZE) {
+                    return Member.TOO_LARGE;
+                }
+                output.write(chunk, 0, count);
+                crc.update(chunk, 0, count);
+            }
+            long trailerStart = dataStart + inflater.getBytesRead();
+            if (trailerStart + TRAILER_SIZE > buffer.limit()
+                    || buffer.getInt((int) trailerStart) != (int) crc.getValue()
+                    || buffer.getInt((int) trailerStart + Integer.BYTES) != output.size()) {
+                return null;
+            }
+            return new Member((int) trailerStart + TRAILER_SIZE, output.toByteArray());
+        } catch (DataFormatException ex) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param buffer the mapped gzip file
+     * @param start  the offset of the member header
+     * @return the offset of the compressed data after the header, or {@code -1} if the header is invalid
+     */
+    private static int skipHeader(ByteBuffer buffer, int start) {
+        int limit = buffer.limit();
+        int flags = buffer.get(start + 3) & 0xff;
+        int position = start + HEADER_SIZE;
+        if ((flags & FEXTRA) != 0) {
+            if (position + Short.BYTES > limit) {
+                return -1;
+            }
+            position += Short.BYTES + (buffer.getShort(position) & 0xffff);
+        }
+        if ((flags & FNAME) != 0) {
+            position = skipZeroTerminated(buffer, position);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            position = skipZeroTerminated(buffer, position);
+        }
+        if ((flags & FHCRC) != 0 && position >= 0) {
+            position += Short.BYTES;
+        }
+        return position >= 0 && position < limit ? position : -1;
+    }
+
+    private static int skipZeroTerminated(ByteBuffer buffer, int position) {
+        if (position < 0) {
+            return -1;
+        }
+        for (int offset = position; offset < buffer.limit(); offset++) {
+            if (buffer.get(offset) == 0) {
+                return offset + 1;
+            }
+        }
+        return -1;
+    }
+
+    private record MemberTask(int start, CompletableFuture<Member> member) {
+    }
+
+    private record Member(int end, byte[] data) {
+
+        private static final Member TOO_LARGE = new Member(-1, null);
+    }
+}
@@ -0,0 +1,177 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.exception.CSVParsingException;
+import com.csv.application.domain.model.ErrorResponse;
+import com.csv.application.domain.model.Row;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ReaderUtil {
+
+    private static final Logger log = LoggerFactory.getLogger(ReaderUtil.class);
+    public static final String PATH_IS_INVALID = "Input CSV Path is invalid.";
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    /**
+     * Below method validates the input path of type @{@link String}.
+     * If provided path is null, empty or blank throw InvalidPathException
+     * otherwise return the path of type @{@link Path}.
+     *
+     * @param path of type @{@link String}
+     * @return valid path of type @{@link Path}
+     * @throws InvalidPathException if any error occurred while validating path
+     */
+    public static Path validateAndGetPath(String path) throws InvalidPathException {
+        if (path == null || path.isBlank()) {
+            throw new InvalidPathException("Please provide valid input CSV path.", PATH_IS_INVALID);
+        }
+        Path filePath = Path.of(path);
+        if (!Files.isRegularFile(filePath)) {
+            throw new InvalidPathException(path, "Either file does not exist at given path or Provided path is not a file.");
+        }
+        return filePath;
+    }
+
+    /**
+     * Checks whether the given file is gzip-compressed, based on the gzip magic bytes at its start
+     * rather than on its file name.
+     *
+     * @param CSVPath the path to the file
+     * @return {@code true} if the file starts with the gzip magic bytes
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public static boolean isGzipFile(Path CSVPath) throws IOException {
+        try (InputStream input = Files.newInputStream(CSVPath)) {
+            return input.read() == GZIP_MAGIC_1 && input.read() == GZIP_MAGIC_2;
+        }
+    }
+
+    /**
+     * Opens a UTF-8 reader on the given CSV file. Gzip-compressed files are decompressed while they
+     * are read, multi-member files on several threads; see {@link ParallelGzipInputStream}.
+     *
+     * @param CSVPath the path to the plain or gzip-compressed CSV file
+     * @return a reader over the decompressed content of the file
+     * @throws IOException if an I/O error occurs while opening the file
+     */
+    public static BufferedReader openCSVReader(Path CSVPath) throws IOException {
+        if (!isGzipFile(CSVPath)) {
+            return Files.newBufferedReader(CSVPath);
+        }
+        InputStream input = ParallelGzipInputStream.open(CSVPath, Runtime.getRuntime().availableProcessors());
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8.newDecoder()));
+    }
+
+    /**
+     * The below method build CSV format which will be responsible
+     * for skipping the first row and to consider it as a header
+     * and return the valid CSVFormat.
+     *
+     * @return CSVFormat of type @{@link CSVFormat}
+     */
+    public static CSVFormat buildCSVFormat() {
+        return CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+    }
+
+    /**
+     * Validates the headers read from the CSV file.
+     * Throws a {@link CSVParsingException} if the headers are null, empty or all blank.
+     *
+     * @param headers the list of CSV column headers
+     * @throws CSVParsingException if the headers are null, empty or blank
+     */
+    public static void validateHeaders(List<String> headers) {
+        if (CollectionUtils.isEmpty(headers) || headers.stream().allMatch(String::isBlank)) {
+            throw new CSVParsingException("List of headers or records from CSV are null or empty.");
+        }
+    }
+
+    /**
+     * Maps a single {@link CSVRecord} to an array-backed {@link Row} holding the projected columns.
+     * Only the projected fields are read, by their index in the record.
+     * If the value for a header is missing, blank or {@code "null"}, an empty string is used.
+     *
+     * @param projection the projected columns of the CSV file
+     * @param record     the CSV record to convert
+     * @return a {@link Row} object containing the projected values of the record
+     */
+    public static Row mapRecordToRow(ColumnProjection projection, CSVRecord record) {
+
+        String[] values = new String[projection.size()];
+        for (int column = 0; column < values.length; column++) {
+            values[column] = readField(projection.headers().get(column), record, projection.recordIndex(column));
+        }
+        return Row.of(projection.schema(), values);
+    }
+
+    /**
+     * Reads a single field of a {@link CSVRecord} by its index.
+     * If the value is missing, blank or {@code "null"}, an empty string is returned instead.
+     *
+     * @param header the header of the field, used for logging
+     * @param record the CSV record to read from
+     * @param index  the index of the field in the record
+     * @return the field value, or an empty string if it is not present
+     */
+    public static String readField(String header, CSVRecord record, int index) {
+        String value = index < record.size() ? record.get(index) : null;
+        if (isValuePresent(value)) {
+            return value;
+        }
+        log.warn("Failed to get value for header '{}': {}", header,
+                "The record for corresponding header is missing.");
+        return "";
+    }
+
+    /**
+     * Checks whether the given field value is present, i.e. not null, blank or the literal {@code "null"}.
+     *
+     * @param value the raw field value of a record
+     * @return true if the value is present; false otherwise
+     */
+    public static boolean isValuePresent(String value) {
+        return value != null && !value.isBlank() && !"null".equalsIgnoreCase(value.trim());
+    }
+
+    /**
+     * Creates an {@link ErrorResponse} object with the specified HTTP status code and message.
+     *
+     * @param statusCode the HTTP status code to set in the error response
+     * @param message    the error message
+     * @return an {@link ErrorResponse} containing the provided status code and message
+     */
+    public static ErrorResponse createErrorResponse(int statusCode, String message) {
+        return new ErrorResponse(statusCode, message);
+    }
+
+    /**
+     * Closes the given {@link CSVParser}, rethrowing any I/O failure unchecked since it
+     * is invoked from {@link Stream#close()}.
+     *
+     * @param csvParser the parser to close
+     */
+    public static void closeParser(CSVParser csvParser) {
+        try {
+            csvParser.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
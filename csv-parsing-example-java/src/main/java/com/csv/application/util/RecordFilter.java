@@ -0,0 +1,70 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.exception.InvalidColumnException;
+import com.csv.application.domain.model.ColumnFilter;
+import com.csv.application.domain.model.RowSchema;
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.csv.application.util.ReaderUtil.isValuePresent;
+
+/**
+ * The conjunction of {@link ColumnFilter}s pushed down into a reader.
+ * <p>
+ * The field index of every filtered column is resolved once from the file headers, so a record is
+ * tested on its raw fields and dropped before any {@code Row} is built for it. Filtered columns do
+ * not have to be part of the projected columns.
+ * </p>
+ */
+public final class RecordFilter implements Predicate<CSVRecord> {
+
+    private final ColumnFilter[] filters;
+    private final int[] recordIndexes;
+
+    private RecordFilter(ColumnFilter[] filters, int[] recordIndexes) {
+        this.filters = filters;
+        this.recordIndexes = recordIndexes;
+    }
+
+    /**
+     * Resolves the given filters against the headers of a CSV file.
+     *
+     * @param fileHeaders the headers of the CSV file
+     * @param filters     the filters every kept record has to satisfy, or {@code null} or empty to keep all records
+     * @return the filter to apply to the records of the file
+     * @throws InvalidColumnException if a filtered column is not part of the file headers
+     */
+    public static RecordFilter of(List<String> fileHeaders, List<ColumnFilter> filters) {
+        if (filters == null) {
+            return new RecordFilter(new ColumnFilter[0], new int[0]);
+        }
+        RowSchema fileSchema = RowSchema.of(fileHeaders);
+        int[] recordIndexes = new int[filters.size()];
+        for (int index = 0; index < recordIndexes.length; index++) {
+            recordIndexes[index] = fileSchema.indexOf(filters.get(index).column());
+            if (recordIndexes[index] < 0) {
+                throw new InvalidColumnException("The specified column does not exist in the CSV file: "
+                        + filters.get(index).column());
+            }
+        }
+        return new RecordFilter(filters.toArray(ColumnFilter[]::new), recordIndexes);
+    }
+
+    /**
+     * @param record the CSV record to test
+     * @return {@code true} if the record satisfies every filter
+     */
+    @Override
+    public boolean test(CSVRecord record) {
+        for (int index = 0; index < filters.length; index++) {
+            int recordIndex = recordIndexes[index];
+            String value = recordIndex < record.size() ? record.get(recordIndex) : null;
+            if (!filters[index].test(isValuePresent(value) ? value : "")) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
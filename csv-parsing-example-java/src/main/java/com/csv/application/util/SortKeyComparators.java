@@ -0,0 +1,159 @@
+package com.csv.application.util;
+
+import com.csv.application.domain.enums.NullPlacement;
+import com.csv.application.domain.enums.SortDirection;
+import com.csv.application.domain.enums.SortValueType;
+import com.csv.application.domain.model.SortKey;
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.DoubleColumn;
+import com.csv.application.domain.model.column.LongColumn;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the row comparators of a multi-column ordering.
+ * <p>
+ * The comparator of a {@link SortKey} is specialized once for its value type: the values of the column
+ * are read, parsed or case-folded a single time into primitive arrays, numeric columnar values are
+ * compared on their primitives directly, and the direction and null placement are fixed when the
+ * comparator is built. Comparing two rows then never looks at a value again.
+ * </p>
+ * <p>
+ * Missing values are {@code null}, empty or blank for every value type: the readers store missing
+ * fields as {@code ""}, and empty numeric columnar values are marked in the null bitmap. Numeric keys
+ * additionally treat values that are not numbers as missing.
+ * </p>
+ */
+public final class SortKeyComparators {
+
+    private SortKeyComparators() {
+    }
+
+    /**
+     * Builds the comparator of a sort key over the rows of a column.
+     *
+     * @param sortKey  the sort key of the column
+     * @param column   the column to sort by
+     * @param parallel whether to extract the values on all cores
+     * @return a comparator of two row indexes
+     */
+    public static IntBinaryOperator comparator(SortKey sortKey, Column column, boolean parallel) {
+        if (sortKey.valueType() == SortValueType.NUMERIC) {
+            if (column instanceof LongColumn longColumn) {
+                return ordered(sortKey, longColumn::isNull,
+                        (left, right) -> Long.compare(longColumn.value(left), longColumn.value(right)));
+            }
+            if (column instanceof DoubleColumn doubleColumn) {
+                return ordered(sortKey, doubleColumn::isNull,
+                        (left, right) -> Double.compare(doubleColumn.value(left), doubleColumn.value(right)));
+            }
+        }
+        return comparator(sortKey, column.size(), column::get, parallel);
+    }
+
+    /**
+     * Builds the comparator of a sort key over arbitrary values.
+     *
+     * @param sortKey  the sort key of the column
+     * @param size     the number of rows
+     * @param values   the value of a row, {@code null} or blank for a missing value; read concurrently if parallel
+     * @param parallel whether to extract the values on all cores
+     * @return a comparator of two row indexes
+     */
+    public static IntBinaryOperator comparator(SortKey sortKey, int size, IntFunction<String> values, boolean parallel) {
+        IntStream rows = parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+        return switch (sortKey.valueType()) {
+            case AUTO -> {
+                ValueSortKeys keys = ValueSortKeys.of(size, row -> presentValue(values.apply(row)), parallel);
+                yield ordered(sortKey, keys::isNull, (left, right) -> keys.compareDescending(right, left));
+            }
+            case NUMERIC -> {
+                double[] numbers = new double[size];
+                boolean[] missing = new boolean[size];
+                rows.forEach(row -> missing[row] = !parseNumber(values.apply(row), numbers, row));
+                yield ordered(sortKey, row -> missing[row],
+                        (left, right) -> Double.compare(numbers[left], numbers[right]));
+            }
+            case TEXT -> {
+                String[] foldedValues = new String[size];
+                rows.forEach(row -> {
+                    String value = presentValue(values.apply(row));
+                    foldedValues[row] = value == null ? null : ValueSortKeys.foldCase(value);
+                });
+                yield ordered(sortKey, row -> foldedValues[row] == null,
+                        (left, right) -> foldedValues[left].compareTo(foldedValues[right]));
+            }
+        };
+    }
+
+    /**
+     * Combines the comparators of several sort keys: rows that compare as equal on a key are compared
+     * on the next one.
+     *
+     * @param comparators the comparators of the sort keys, in order of precedence
+     * @return a comparator of two row indexes
+     */
+    public static IntBinaryOperator thenComparing(List<IntBinaryOperator> comparators) {
+        if (comparators.size() == 1) {
+            return comparators.getFirst();
+        }
+        IntBinaryOperator[] keyComparators = comparators.toArray(IntBinaryOperator[]::new);
+        return (left, right) -> {
+            for (IntBinaryOperator keyComparator : keyComparators) {
+                int order = keyComparator.applyAsInt(left, right);
+                if (order != 0) {
+                    return order;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Places the missing values of a column as requested and applies the direction to the ascending
+     * comparison of the other ones.
+     */
+    private static IntBinaryOperator ordered(SortKey sortKey, IntPredicate isMissing, IntBinaryOperator ascending) {
+        int missingOrder = sortKey.nullPlacement() == NullPlacement.FIRST ? -1 : 1;
+        IntBinaryOperator present = sortKey.direction() == SortDirection.ASC
+                ? ascending
+                : (left, right) -> ascending.applyAsInt(right, left);
+        return (left, right) -> {
+            boolean leftMissing = isMissing.test(left);
+            boolean rightMissing = isMissing.test(right);
+            if (leftMissing || rightMissing) {
+                return leftMissing == rightMissing ? 0 : leftMissing ? missingOrder : -missingOrder;
+            }
+            return present.applyAsInt(left, right);
+        };
+    }
+
+    /**
+     * @return the value, or {@code null} if it is missing
+     */
+    private static String presentValue(String value) {
+        return StringUtils.isBlank(value) ? null : value;
+    }
+
+    /**
+     * Parses a value into {@code numbers[row]}.
+     *
+     * @return whether the value is a number
+     */
+    private static boolean parseNumber(String value, double[] numbers, int row) {
+        if (value == null || !ValueSortKeys.mayBeNumeric(value)) {
+            return false;
+        }
+        try {
+            numbers[row] = Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package com.csv.application.util;
 
+import com.csv.application.domain.model.column.Column;
+import com.csv.application.domain.model.column.DictionaryColumn;
+import com.csv.application.domain.model.column.DoubleColumn;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.domain.model.column.StringColumn;
+
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 public class SortUtils {
 
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+    private static final int PARALLEL_SORT_GRANULARITY = 1 << 13;
+
     /**
      * Creates a comparator for comparing string values in descending order.
      * If both values can be parsed as numbers, they are compared numerically in descending order.
@@ -37,4 +51,272 @@ public class SortUtils {
             return false;
         }
     }
+
+    /**
+     * Computes the stable descending sort order of a column, following the ordering of
+     * {@link #createValueComparator()}. Only the given column is scanned, and numeric columns are
+     * compared on their primitives with empty values last, without parsing any text.
+     *
+     * @param column the column to sort by
+     * @return the row indexes of the column in sorted order
+     */
+    public static int[] sortedRowOrder(Column column) {
+        return sortedRowOrder(column, false);
+    }
+
+    /**
+     * Computes the same order as {@link #sortedRowOrder(Column)}, on the fork-join pool if {@code parallel}
+     * is set. The sorts are stable either way, so the order does not depend on the mode.
+     *
+     * @param column   the column to sort by
+     * @param parallel whether to sort on the current fork-join pool
+     * @return the row indexes of the column in sorted order
+     */
+    public static int[] sortedRowOrder(Column column, boolean parallel) {
+        return switch (column) {
+            case DictionaryColumn dictionaryColumn -> sortedRowOrder(dictionaryColumn, parallel);
+            case LongColumn longColumn ->
+                    stableSort(identityOrder(longColumn.size()), descendingComparator(longColumn), parallel);
+            case DoubleColumn doubleColumn ->
+                    stableSort(identityOrder(doubleColumn.size()), descendingComparator(doubleColumn), parallel);
+            case StringColumn stringColumn -> sortedRowOrder(stringColumn.size(), stringColumn::get, parallel);
+        };
+    }
+
+    /**
+     * Compares two rows of an integral column on their primitives, in the descending order of
+     * {@link #sortedRowOrder(Column)}: larger values first and empty values last.
+     *
+     * @param column the column to compare the rows of
+     * @return a comparator of two row indexes of the column
+     */
+    public static IntBinaryOperator descendingComparator(LongColumn column) {
+        return (left, right) -> {
+            boolean leftNull = column.isNull(left);
+            boolean rightNull = column.isNull(right);
+            if (leftNull || rightNull) {
+                return Boolean.compare(leftNull, rightNull);
+            }
+            return Long.compare(column.value(right), column.value(left));
+        };
+    }
+
+    /**
+     * Compares two rows of a decimal column on their primitives, in the descending order of
+     * {@link #sortedRowOrder(Column)}: larger values first and empty values last.
+     *
+     * @param column the column to compare the rows of
+     * @return a comparator of two row indexes of the column
+     */
+    public static IntBinaryOperator descendingComparator(DoubleColumn column) {
+        return (left, right) -> {
+            boolean leftNull = column.isNull(left);
+            boolean rightNull = column.isNull(right);
+            if (leftNull || rightNull) {
+                return Boolean.compare(leftNull, rightNull);
+            }
+            return Double.compare(column.value(right), column.value(left));
+        };
+    }
+
+    /**
+     * Compares two rows of a dictionary-encoded column by the rank of their code, see
+     * {@link #dictionaryRanks(DictionaryColumn)}.
+     *
+     * @param column the column to compare the rows of
+     * @return a comparator of two row indexes of the column
+     */
+    public static IntBinaryOperator descendingComparator(DictionaryColumn column) {
+        int[] ranks = dictionaryRanks(column);
+        return (left, right) -> Integer.compare(ranks[column.code(left)], ranks[column.code(right)]);
+    }
+
+    /**
+     * Computes the stable descending sort order of arbitrary values, following the ordering of
+     * {@link #createValueComparator()}. Every value is read, parsed and case-folded once into
+     * {@link ValueSortKeys}, and only the row indexes are sorted over those keys.
+     *
+     * @param size   the number of rows
+     * @param values the value of a row, {@code null} for a missing value
+     * @return the row indexes in sorted order
+     */
+    public static int[] sortedRowOrder(int size, IntFunction<String> values) {
+        return sortedRowOrder(size, values, false);
+    }
+
+    /**
+     * Computes the same order as {@link #sortedRowOrder(int, IntFunction)}, extracting the keys and
+     * sorting on the fork-join pool if {@code parallel} is set.
+     *
+     * @param size     the number of rows
+     * @param values   the value of a row, {@code null} for a missing value; read concurrently if parallel
+     * @param parallel whether to sort on the current fork-join pool
+     * @return the row indexes in sorted order
+     */
+    public static int[] sortedRowOrder(int size, IntFunction<String> values, boolean parallel) {
+        ValueSortKeys keys = ValueSortKeys.of(size, values, parallel);
+        return stableSort(identityOrder(size), keys::compareDescending, parallel);
+    }
+
+    /**
+     * Sorts a dictionary-encoded column by ranking its dictionary once with {@link #createValueComparator()}
+     * and then sorting the rows by the rank of their code. Values that compare as equal share a rank,
+     * so ties keep their original row order just like a stable sort on the values would.
+     *
+     * @param column the dictionary-encoded column to sort by
+     * @return the row indexes of the column in sorted order
+     */
+    private static int[] sortedRowOrder(DictionaryColumn column, boolean parallel) {
+        int[] ranks = dictionaryRanks(column);
+
+        // rank in the upper and row index in the lower half, so a primitive sort is stable by construction
+        long[] keys = new long[column.size()];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = ((long) ranks[column.code(row)] << 32) | row;
+        }
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        int[] order = new int[keys.length];
+        for (int index = 0; index < keys.length; index++) {
+            order[index] = (int) keys[index];
+        }
+        return order;
+    }
+
+    /**
+     * Ranks the dictionary of a column once with {@link #createValueComparator()}: codes whose values
+     * come first get lower ranks, and values that compare as equal share a rank.
+     *
+     * @param column the dictionary-encoded column
+     * @return the rank of every code of the dictionary
+     */
+    private static int[] dictionaryRanks(DictionaryColumn column) {
+        String[] dictionary = column.dictionary();
+        Comparator<String> comparator = createValueComparator();
+        Integer[] codesByValue = IntStream.range(0, dictionary.length).boxed()
+                .sorted(Comparator.comparing(code -> dictionary[code], comparator))
+                .toArray(Integer[]::new);
+
+        int[] ranks = new int[dictionary.length];
+        for (int position = 1; position < codesByValue.length; position++) {
+            boolean tie = comparator.compare(dictionary[codesByValue[position - 1]], dictionary[codesByValue[position]]) == 0;
+            ranks[codesByValue[position]] = ranks[codesByValue[position - 1]] + (tie ? 0 : 1);
+        }
+        return ranks;
+    }
+
+    /**
+     * Sorts the given row indexes with a primitive comparator. The sort is a stable merge sort, so rows
+     * that compare as equal keep their relative order.
+     *
+     * @param order      the row indexes to sort in place
+     * @param comparator compares two row indexes
+     * @return the sorted {@code order} array
+     */
+    public static int[] stableSort(int[] order, IntBinaryOperator comparator) {
+        mergeSort(order.clone(), order, 0, order.length, comparator);
+        return order;
+    }
+
+    /**
+     * Sorts like {@link #stableSort(int[], IntBinaryOperator)}, with the halves of large ranges sorted
+     * concurrently if {@code parallel} is set: on the fork-join pool the calling thread belongs to, or
+     * on the common pool otherwise. A stable sort has exactly one result, so both modes return the same
+     * order.
+     *
+     * @param order      the row indexes to sort in place
+     * @param comparator compares two row indexes; called concurrently if parallel
+     * @param parallel   whether to sort on the cores of the current fork-join pool
+     * @return the sorted {@code order} array
+     */
+    public static int[] stableSort(int[] order, IntBinaryOperator comparator, boolean parallel) {
+        if (!parallel || order.length <= PARALLEL_SORT_GRANULARITY) {
+            return stableSort(order, comparator);
+        }
+        new MergeSortTask(order.clone(), order, 0, order.length, comparator).invoke();
+        return order;
+    }
+
+    public static int[] identityOrder(int size) {
+        return IntStream.range(0, size).toArray();
+    }
+
+    /**
+     * Sorts {@code source[low, high)} into {@code destination[low, high)}. Both ranges must hold the same
+     * values on entry; the roles of the arrays alternate on every level of the recursion.
+     */
+    private static void mergeSort(int[] source, int[] destination, int low, int high, IntBinaryOperator comparator) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int index = low + 1; index < high; index++) {
+                for (int position = index; position > low
+                        && comparator.applyAsInt(destination[position - 1], destination[position]) > 0; position--) {
+                    int swap = destination[position];
+                    destination[position] = destination[position - 1];
+                    destination[position - 1] = swap;
+                }
+            }
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        mergeSort(destination, source, low, middle, comparator);
+        mergeSort(destination, source, middle, high, comparator);
+        merge(source, destination, low, middle, high, comparator);
+    }
+
+    /**
+     * Merges the sorted ranges {@code source[low, middle)} and {@code source[middle, high)} into
+     * {@code destination[low, high)}, taking the left element first on ties.
+     */
+    private static void merge(int[] source, int[] destination, int low, int middle, int high,
+                              IntBinaryOperator comparator) {
+        if (comparator.applyAsInt(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, low, destination, low, high - low);
+            return;
+        }
+        for (int index = low, left = low, right = middle; index < high; index++) {
+            if (right >= high || left < middle && comparator.applyAsInt(source[left], source[right]) <= 0) {
+                destination[index] = source[left++];
+            } else {
+                destination[index] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * The parallel form of {@link #mergeSort}: both halves of a range are sorted as concurrent subtasks
+     * until they are small enough to sort sequentially, and are then merged.
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] source;
+        private final int[] destination;
+        private final int low;
+        private final int high;
+        private final transient IntBinaryOperator comparator;
+
+        MergeSortTask(int[] source, int[] destination, int low, int high, IntBinaryOperator comparator) {
+            this.source = source;
+            this.destination = destination;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= PARALLEL_SORT_GRANULARITY) {
+                mergeSort(source, destination, low, high, comparator);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new MergeSortTask(destination, source, low, middle, comparator),
+                    new MergeSortTask(destination, source, middle, high, comparator));
+            merge(source, destination, low, middle, high, comparator);
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package com.csv.application.util;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Keeps the first {@code limit} rows of the descending order of {@link SortUtils#createValueComparator()}
+ * among the rows offered to it, in {@code O(n log k)} time and {@code O(k)} memory.
+ * <p>
+ * The kept rows live in a binary heap whose root is the kept row that comes last. An offered row is
+ * only compared with the root: if it comes before it, it replaces the root and is sifted down,
+ * otherwise it is dropped. The sort key of a row is extracted once when it is offered, into
+ * {@link ValueSortKeys} of {@code limit + 1} slots. Rows that compare as equal are ordered by the order
+ * they were offered in, so the kept rows are the first rows of the same stable order as the one of a
+ * full sort.
+ * </p>
+ * <p>
+ * The heap only tracks slots; the caller stores the kept row of a slot, which is returned by
+ * {@link #offer(String)}. Rows of a column that can be compared in place, on primitives or dictionary
+ * ranks, are selected with {@link #topRows(int, int, IntBinaryOperator)} instead, whose heap holds the
+ * row indexes themselves.
+ * </p>
+ */
+public final class TopRowsHeap {
+
+    private final int limit;
+    private final ValueSortKeys keys;
+    private final long[] sequences;
+    private final int[] heap;
+    private final IntBinaryOperator order;
+    private int size;
+    private long offeredRows;
+
+    /**
+     * @param limit the maximum number of kept rows
+     */
+    public TopRowsHeap(int limit) {
+        this.limit = limit;
+        this.keys = ValueSortKeys.withCapacity(limit + 1);
+        this.sequences = new long[limit + 1];
+        this.heap = new int[limit];
+        this.order = this::compare;
+    }
+
+    private TopRowsHeap(int limit, IntBinaryOperator comparator) {
+        this.limit = limit;
+        this.keys = null;
+        this.sequences = null;
+        this.heap = new int[limit];
+        this.order = (left, right) -> {
+            int comparison = comparator.applyAsInt(left, right);
+            return comparison != 0 ? comparison : Integer.compare(left, right);
+        };
+    }
+
+    /**
+     * Selects the first {@code limit} rows of the stable sort of the rows {@code [0, size)} by the given
+     * comparator, comparing every row with the root of the heap only.
+     *
+     * @param size       the number of rows
+     * @param limit      the maximum number of kept rows
+     * @param comparator compares two row indexes in sort order
+     * @return the indexes of the kept rows, in sort order
+     */
+    public static int[] topRows(int size, int limit, IntBinaryOperator comparator) {
+        TopRowsHeap topRows = new TopRowsHeap(limit, comparator);
+        for (int row = 0; row < size; row++) {
+            topRows.offerRow(row);
+        }
+        return topRows.sortedSlots();
+    }
+
+    /**
+     * Offers the next row.
+     *
+     * @param value the value of the sorted column of the row, {@code null} for a missing value
+     * @return the slot the row is kept in, replacing the row previously kept in it,
+     * or {@code -1} if the row is not among the first {@code limit} rows so far
+     */
+    public int offer(String value) {
+        long sequence = offeredRows++;
+        if (size < limit) {
+            int slot = size;
+            keys.set(slot, value);
+            sequences[slot] = sequence;
+            heap[size++] = slot;
+            siftUp(size - 1);
+            return slot;
+        }
+        if (limit == 0) {
+            return -1;
+        }
+        keys.set(limit, value);
+        if (keys.compareDescending(limit, heap[0]) >= 0) {
+            return -1;
+        }
+        int slot = heap[0];
+        keys.copy(limit, slot);
+        sequences[slot] = sequence;
+        siftDown();
+        return slot;
+    }
+
+    private void offerRow(int row) {
+        if (size < limit) {
+            heap[size++] = row;
+            siftUp(size - 1);
+        } else if (limit > 0 && order.applyAsInt(row, heap[0]) < 0) {
+            heap[0] = row;
+            siftDown();
+        }
+    }
+
+    /**
+     * @return the number of kept rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the slots of the kept rows, in sort order
+     */
+    public int[] sortedSlots() {
+        return SortUtils.stableSort(Arrays.copyOf(heap, size), order);
+    }
+
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (order.applyAsInt(slot, heap[parent]) <= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = slot;
+    }
+
+    private void siftDown() {
+        int slot = heap[0];
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && order.applyAsInt(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.applyAsInt(heap[child], slot) <= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = slot;
+    }
+
+    /**
+     * Compares two kept rows by their sort key, then by the order they were offered in.
+     */
+    private int compare(int leftSlot, int rightSlot) {
+        int order = keys.compareDescending(leftSlot, rightSlot);
+        return order != 0 ? order : Long.compare(sequences[leftSlot], sequences[rightSlot]);
+    }
+}
@@ -0,0 +1,174 @@
+package com.csv.application.util;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * The sort keys of the values of one column, extracted and classified once per row so that sorting
+ * never parses, looks up or case-folds a value again.
+ * <p>
+ * Every value is classified as {@code null}, numeric (with its parsed {@code double}) or text (with
+ * its case-folded form). Comparing two rows then follows {@link SortUtils#createValueComparator()}
+ * exactly, but only on these primitives and folded strings: numbers are compared by value if both
+ * values are numeric, values are compared as case-insensitive text otherwise, and nulls come last.
+ * </p>
+ */
+public final class ValueSortKeys {
+
+    private static final byte NUMBER = 0;
+    private static final byte TEXT = 1;
+    private static final byte NULL = 2;
+
+    private final byte[] kinds;
+    private final double[] numbers;
+    private final String[] foldedValues;
+
+    private ValueSortKeys(byte[] kinds, double[] numbers, String[] foldedValues) {
+        this.kinds = kinds;
+        this.numbers = numbers;
+        this.foldedValues = foldedValues;
+    }
+
+    /**
+     * Extracts the sort key of every row.
+     *
+     * @param size   the number of rows
+     * @param values the value of a row, {@code null} for a missing value
+     * @return the sort keys of the rows
+     */
+    public static ValueSortKeys of(int size, IntFunction<String> values) {
+        return of(size, values, false);
+    }
+
+    /**
+     * Extracts the sort key of every row, concurrently for distinct rows if {@code parallel} is set.
+     *
+     * @param size     the number of rows
+     * @param values   the value of a row, {@code null} for a missing value
+     * @param parallel whether to extract the keys on all cores
+     * @return the sort keys of the rows
+     */
+    public static ValueSortKeys of(int size, IntFunction<String> values, boolean parallel) {
+        ValueSortKeys keys = new ValueSortKeys(new byte[size], new double[size], new String[size]);
+        IntStream rows = IntStream.range(0, size);
+        (parallel ? rows.parallel() : rows).forEach(row -> keys.set(row, values.apply(row)));
+        return keys;
+    }
+
+    /**
+     * Creates the sort keys of {@code size} rows that are all {@code null} until they are {@link #set(int, String) set}.
+     */
+    static ValueSortKeys withCapacity(int size) {
+        ValueSortKeys keys = new ValueSortKeys(new byte[size], new double[size], new String[size]);
+        Arrays.fill(keys.kinds, NULL);
+        return keys;
+    }
+
+    /**
+     * Extracts the sort key of the given value into a row, replacing the previous key of the row.
+     */
+    void set(int row, String value) {
+        if (value == null) {
+            kinds[row] = NULL;
+            foldedValues[row] = null;
+            return;
+        }
+        foldedValues[row] = foldCase(value);
+        kinds[row] = TEXT;
+        if (mayBeNumeric(value)) {
+            try {
+                numbers[row] = Double.parseDouble(value);
+                kinds[row] = NUMBER;
+            } catch (NumberFormatException ex) {
+                // compared as text
+            }
+        }
+    }
+
+    /**
+     * Copies the sort key of a row into another row.
+     */
+    void copy(int fromRow, int toRow) {
+        kinds[toRow] = kinds[fromRow];
+        numbers[toRow] = numbers[fromRow];
+        foldedValues[toRow] = foldedValues[fromRow];
+    }
+
+    public boolean isNull(int row) {
+        return kinds[row] == NULL;
+    }
+
+    public int size() {
+        return kinds.length;
+    }
+
+    /**
+     * Compares two rows in the descending order of {@link SortUtils#createValueComparator()}.
+     *
+     * @param left  a row index
+     * @param right another row index
+     * @return a negative number if the left row comes first, a positive one if the right row does
+     */
+    public int compareDescending(int left, int right) {
+        return compareDescending(this, left, this, right);
+    }
+
+    /**
+     * Compares a row of one set of sort keys with a row of another one, such as the heads of two
+     * sorted runs, in the descending order of {@link SortUtils#createValueComparator()}.
+     *
+     * @param leftKeys  the sort keys of the left row
+     * @param left      a row index into the left keys
+     * @param rightKeys the sort keys of the right row
+     * @param right     a row index into the right keys
+     * @return a negative number if the left row comes first, a positive one if the right row does
+     */
+    public static int compareDescending(ValueSortKeys leftKeys, int left, ValueSortKeys rightKeys, int right) {
+        byte leftKind = leftKeys.kinds[left];
+        byte rightKind = rightKeys.kinds[right];
+        if (leftKind == NULL || rightKind == NULL) {
+            return Boolean.compare(leftKind == NULL, rightKind == NULL);
+        }
+        if (leftKind == NUMBER && rightKind == NUMBER) {
+            return Double.compare(rightKeys.numbers[right], leftKeys.numbers[left]);
+        }
+        return rightKeys.foldedValues[right].compareTo(leftKeys.foldedValues[left]);
+    }
+
+    /**
+     * Folds every character like {@link String#compareToIgnoreCase(String)} does before comparing it,
+     * so that comparing folded values with {@link String#compareTo(String)} gives the same result.
+     * Values without any character to fold are returned as they are.
+     */
+    static String foldCase(String value) {
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (Character.toLowerCase(Character.toUpperCase(character)) != character) {
+                char[] folded = value.toCharArray();
+                for (int position = index; position < folded.length; position++) {
+                    folded[position] = Character.toLowerCase(Character.toUpperCase(folded[position]));
+                }
+                return new String(folded);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Rejects most values that {@link Double#parseDouble(String)} cannot parse without throwing: after
+     * leading whitespace a parsable value starts with a sign, a digit, a dot, {@code NaN} or {@code Infinity}.
+     */
+    static boolean mayBeNumeric(String value) {
+        int index = 0;
+        while (index < value.length() && value.charAt(index) <= ' ') {
+            index++;
+        }
+        if (index == value.length()) {
+            return false;
+        }
+        char first = value.charAt(index);
+        return first >= '0' && first <= '9' || first == '-' || first == '+' || first == '.'
+                || first == 'N' || first == 'I';
+    }
+}
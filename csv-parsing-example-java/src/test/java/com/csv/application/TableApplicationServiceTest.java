@@ -1,19 +1,28 @@
 package com.csv.application;
 
 import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.ErrorResponse;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
 import com.csv.application.domain.model.Table;
+import com.csv.application.processor.DataReaderImpl;
+import com.csv.application.processor.HashJoinImpl;
+import com.csv.application.processor.TableSorterImpl;
 import com.csv.application.processor.interfaces.DataReader;
 import com.csv.application.processor.interfaces.TableJoiner;
 import com.csv.application.processor.interfaces.TableSorter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +34,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -97,6 +108,16 @@ public class TableApplicationServiceTest {
         assertSuccessResult(result);
     }
 
+    @Test
+    void shouldJoinSortedTables_whenSortSucceeds() {
+        mockSuccessfulJoinAndSort();
+
+        service.process(LEFT_CSV_PATH, RIGHT_CSV_PATH, NAME);
+
+        verify(tableJoiner).joinTables(TableApplicationService.JOIN_COLUMN, TableApplicationService.JOIN_COLUMN,
+                sortedTable, sortedTable);
+    }
+
     @Test
     void shouldReturnError_whenLeftTableFailsToLoad() {
 
@@ -163,6 +184,61 @@ public class TableApplicationServiceTest {
     }
 
 
+    @Test
+    void shouldPushFiltersIntoReader_whenProcessingWithFilters() {
+
+        List<ColumnFilter> rightFilters = List.of(ColumnFilter.equalTo(USER_ID, "1"));
+        when(dataReader.readCSVData(LEFT_CSV_PATH)).thenReturn(Result.success(leftTable));
+        when(dataReader.readCSVData(RIGHT_CSV_PATH, List.of(), rightFilters)).thenReturn(Result.success(rightTable));
+        when(tableSorter.sortTableByDesc(any(), anyString())).thenReturn(Result.success(sortedTable));
+        when(tableJoiner.joinTables(anyString(), anyString(), any(), any())).thenReturn(Result.success(joinedTable));
+
+        Result<Table> result = service.process(LEFT_CSV_PATH, RIGHT_CSV_PATH, NAME, List.of(), rightFilters);
+
+        assertSuccessResult(result);
+        verify(dataReader).readCSVData(RIGHT_CSV_PATH, List.of(), rightFilters);
+    }
+
+    @Test
+    void shouldPushJoinKeyFilterIntoRightReader_whenRuntimeJoinFilterIsEnabled() {
+
+        service = new TableApplicationService(dataReader, tableSorter, tableJoiner, true);
+        when(dataReader.readCSVData(LEFT_CSV_PATH)).thenReturn(Result.success(leftTable));
+        when(dataReader.readCSVData(eq(RIGHT_CSV_PATH), eq(List.of()), any())).thenReturn(Result.success(rightTable));
+        when(tableSorter.sortTableByDesc(any(), anyString())).thenReturn(Result.success(sortedTable));
+        when(tableJoiner.joinTables(anyString(), anyString(), any(), any())).thenReturn(Result.success(joinedTable));
+
+        Result<Table> result = service.process(LEFT_CSV_PATH, RIGHT_CSV_PATH, NAME);
+
+        assertSuccessResult(result);
+        ArgumentCaptor<List<ColumnFilter>> filters = ArgumentCaptor.captor();
+        verify(dataReader).readCSVData(eq(RIGHT_CSV_PATH), eq(List.of()), filters.capture());
+        ColumnFilter joinKeyFilter = filters.getValue().getFirst();
+        assertEquals(USER_ID, joinKeyFilter.column());
+        assertTrue(joinKeyFilter.test(" 3"));
+        assertFalse(joinKeyFilter.test(""));
+    }
+
+    @Test
+    void shouldReturnEmptyJoinedTable_whenRuntimeJoinFilterRejectsEveryRightRecord(@TempDir Path tempDir)
+            throws IOException {
+
+        Path rightCsvPath = tempDir.resolve("purchases.csv");
+        Files.writeString(rightCsvPath, """
+                AD_ID,TITLE,USER_ID
+                1,car-1,98
+                2,car-2,99
+                """);
+        service = new TableApplicationService(new DataReaderImpl(), new TableSorterImpl(), new HashJoinImpl(), true);
+
+        Result<Table> result = service.process(LEFT_CSV_PATH, rightCsvPath.toString(), NAME);
+
+        assertTrue(result.isSuccess());
+        assertNull(result.error());
+        assertThat(result.data().headers()).contains(USER_ID, NAME, AD_ID, TITLE);
+        assertThat(result.data().rows()).isEmpty();
+    }
+
     private void assertSuccessResult(Result<Table> result) {
         assertTrue(result.isSuccess());
         assertNull(result.error());
@@ -0,0 +1,106 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.enums.JoinType;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.csv.application.processor.HashJoinImplTest.AD_ID;
+import static com.csv.application.processor.HashJoinImplTest.INVALID_COLUMN_TABLE_MSG;
+import static com.csv.application.processor.HashJoinImplTest.NAME;
+import static com.csv.application.processor.HashJoinImplTest.TITLE;
+import static com.csv.application.processor.HashJoinImplTest.USER_ID;
+import static com.csv.application.processor.HashJoinImplTest.assertTableResultForError;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AutoJoinImplTest {
+
+    private static final RowSchema LEFT_SCHEMA = RowSchema.of(List.of(USER_ID, NAME));
+    private static final RowSchema RIGHT_SCHEMA = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+
+    @TempDir
+    Path spillDirectory;
+
+    @ParameterizedTest
+    @MethodSource("provideTablesAndExpectedPlan")
+    void pickPlanAndReturnSameRowsAsHashJoin(Table leftTable, Table rightTable, long memoryBudgetBytes,
+                                             JoinType expectedPlan) {
+        AutoJoinImpl tableJoiner = new AutoJoinImpl(memoryBudgetBytes, spillDirectory);
+
+        AutoJoinImpl.JoinPlan plan = tableJoiner.plan(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> expectedResult = new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertEquals(expectedPlan, plan.joinType());
+        assertTrue(tableResult.isSuccess());
+        assertEquals(expectedResult.data().headers(), tableResult.data().headers());
+        assertEquals(expectedResult.data().rows(), tableResult.data().rows());
+    }
+
+    @Test
+    void pickMergePlan_whenColumnarIntegerKeysAreSortedDescending() {
+        Table leftTable = ColumnarRows.toColumnarTable(table(LEFT_SCHEMA, 300, row -> String.valueOf(1_000 - row)));
+        Table rightTable = ColumnarRows.toColumnarTable(table(RIGHT_SCHEMA, 200, row -> String.valueOf(1_000 - 2 * row)));
+
+        AutoJoinImpl.JoinPlan plan = new AutoJoinImpl().plan(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertEquals(JoinType.MERGE, plan.joinType());
+        assertEquals(new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable).data().rows(),
+                new AutoJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable).data().rows());
+    }
+
+    @Test
+    void returnError_whenColumnNameIsNull() {
+        Table table = table(LEFT_SCHEMA, 3, String::valueOf);
+
+        Result<Table> tableResult = new AutoJoinImpl().joinTables(USER_ID, null, table, table);
+
+        assertTableResultForError(tableResult, HttpStatusCode.BAD_REQUEST.getCode(), INVALID_COLUMN_TABLE_MSG);
+    }
+
+    static Stream<Arguments> provideTablesAndExpectedPlan() {
+        long defaultBudget = GraceHashJoinImpl.DEFAULT_MEMORY_BUDGET;
+        Table tinyLeft = table(LEFT_SCHEMA, 20, row -> String.valueOf(row % 7));
+        Table tinyRight = table(RIGHT_SCHEMA, 30, row -> String.valueOf(row % 11));
+        RowSchema sharedSchema = RowSchema.of(List.of(AD_ID, NAME, USER_ID));
+        Table tinySharingName = table(sharedSchema, 30, row -> String.valueOf(row % 11));
+        Table sortedLeft = table(LEFT_SCHEMA, 400, row -> String.format("u%05d", row / 2));
+        Table sortedRight = table(RIGHT_SCHEMA, 300, row -> String.format("u%05d", row));
+        Table unsortedLeft = table(LEFT_SCHEMA, 400, row -> "u" + (row * 37 % 400));
+        Table unsortedRight = table(RIGHT_SCHEMA, 300, row -> "u" + (row * 53 % 500));
+        return Stream.of(
+                Arguments.of(tinyLeft, tinyRight, defaultBudget, JoinType.NESTED),
+                Arguments.of(tinyLeft, tinySharingName, defaultBudget, JoinType.HASH),
+                Arguments.of(sortedLeft, sortedRight, defaultBudget, JoinType.MERGE),
+                Arguments.of(unsortedLeft, unsortedRight, defaultBudget, JoinType.HASH),
+                Arguments.of(unsortedLeft, unsortedRight, 4L * 1024, JoinType.GRACE));
+    }
+
+    private static Table table(RowSchema schema, int rows, IntFunction<String> keys) {
+        return new Table(schema.headers(), IntStream.range(0, rows)
+                .mapToObj(row -> {
+                    String[] values = new String[schema.size()];
+                    for (int index = 0; index < values.length; index++) {
+                        values[index] = schema.headers().get(index) + "-" + row;
+                    }
+                    values[schema.indexOf(USER_ID)] = keys.apply(row);
+                    return Row.of(schema, values);
+                })
+                .toList());
+    }
+}
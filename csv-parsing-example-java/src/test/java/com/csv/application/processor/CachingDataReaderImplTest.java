@@ -0,0 +1,148 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.CacheStats;
+import com.csv.application.domain.model.ColumnFilter;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingDataReaderImplTest {
+
+    private static final String USERS_CSV_PATH = "src/main/resources/users.csv";
+    private static final String PURCHASES_CSV_PATH = "src/main/resources/purchases.csv";
+
+    private DataReaderImpl delegate;
+    private CachingDataReaderImpl dataReader;
+
+    @BeforeEach
+    public void setup() {
+        delegate = spy(new DataReaderImpl());
+        dataReader = new CachingDataReaderImpl(delegate, Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldParseFileOnce_whenReadingSameFileTwice() {
+
+        Result<Table> firstResult = dataReader.readCSVData(USERS_CSV_PATH);
+        Result<Table> secondResult = dataReader.readCSVData(USERS_CSV_PATH);
+
+        assertEquals(new DataReaderImpl().readCSVData(USERS_CSV_PATH).data(), firstResult.data());
+        assertEquals(firstResult.data(), secondResult.data());
+        verify(delegate, times(1)).readColumnarCSVData(anyString());
+        assertStats(1, 1, 0, 1);
+    }
+
+    @Test
+    void shouldCacheProjectionsSeparately_whenReadingColumnSubsets() {
+
+        Result<Table> projectedResult = dataReader.readCSVData(USERS_CSV_PATH, List.of("NAME"));
+        dataReader.readCSVData(USERS_CSV_PATH, List.of("NAME"));
+        dataReader.readCSVData(USERS_CSV_PATH);
+
+        assertEquals(List.of("NAME"), projectedResult.data().headers());
+        assertStats(1, 2, 0, 2);
+    }
+
+    @Test
+    void shouldReadFileAgain_whenFileChangedAfterCaching(@TempDir Path directory) throws IOException {
+        Path csvFile = directory.resolve("users.csv");
+        Files.writeString(csvFile, "ID,NAME\n1,anna\n");
+        dataReader.readCSVData(csvFile.toString());
+
+        Files.writeString(csvFile, "ID,NAME\n1,anna\n2,ben\n");
+        Result<Table> tableResult = dataReader.readCSVData(csvFile.toString());
+
+        assertEquals(2, tableResult.data().rows().size());
+        assertStats(0, 2, 0, 1);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTable_whenSizeLimitIsReached() {
+        CachingDataReaderImpl sizingReader = new CachingDataReaderImpl(new DataReaderImpl(), Long.MAX_VALUE);
+        sizingReader.readCSVData(USERS_CSV_PATH);
+        long usersBytes = sizingReader.stats().estimatedBytes();
+        sizingReader.readCSVData(USERS_CSV_PATH, List.of("EMAIL"));
+        long emailsBytes = sizingReader.stats().estimatedBytes() - usersBytes;
+        dataReader = new CachingDataReaderImpl(delegate, usersBytes + emailsBytes);
+
+        dataReader.readCSVData(USERS_CSV_PATH);
+        dataReader.readCSVData(USERS_CSV_PATH, List.of("NAME"));
+        dataReader.readCSVData(USERS_CSV_PATH);
+        dataReader.readCSVData(USERS_CSV_PATH, List.of("EMAIL"));
+
+        assertStats(1, 3, 1, 2);
+        dataReader.readCSVData(USERS_CSV_PATH);
+        assertEquals(2, dataReader.stats().hits());
+        dataReader.readCSVData(USERS_CSV_PATH, List.of("NAME"));
+        assertEquals(4, dataReader.stats().misses());
+    }
+
+    @Test
+    void shouldNotCacheTable_whenItExceedsSizeLimit() {
+        dataReader = new CachingDataReaderImpl(delegate, 1);
+
+        Result<Table> tableResult = dataReader.readCSVData(PURCHASES_CSV_PATH);
+        dataReader.readCSVData(PURCHASES_CSV_PATH);
+
+        assertTrue(tableResult.isSuccess());
+        assertStats(0, 2, 0, 0);
+        assertEquals(0, dataReader.stats().estimatedBytes());
+    }
+
+    @Test
+    void shouldBypassCache_whenReadingWithFilters() {
+        List<ColumnFilter> filters = List.of(ColumnFilter.equalTo("USER_ID", "1"));
+
+        dataReader.readCSVData(PURCHASES_CSV_PATH, List.of(), filters);
+        Result<Table> tableResult = dataReader.readCSVData(PURCHASES_CSV_PATH, List.of(), filters);
+
+        assertEquals(4, tableResult.data().rows().size());
+        verify(delegate, times(2)).readCSVData(PURCHASES_CSV_PATH, List.of(), filters);
+        assertStats(0, 0, 0, 0);
+    }
+
+    @Test
+    void shouldReturnDelegateError_whenPathIsInvalid() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/missing.csv");
+
+        assertFalse(tableResult.isSuccess());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+        assertStats(0, 0, 0, 0);
+    }
+
+    @Test
+    void shouldKeepCachedValues_whenReturnedRowIsModified() {
+        Row row = dataReader.readCSVData(USERS_CSV_PATH).data().rows().getFirst();
+
+        assertThrows(UnsupportedOperationException.class, () -> row.set("NAME", "changed"));
+
+        assertEquals("manuel", dataReader.readCSVData(USERS_CSV_PATH).data().rows().getFirst().get("NAME"));
+    }
+
+    private void assertStats(long hits, long misses, long evictions, int entries) {
+        CacheStats stats = dataReader.stats();
+        assertEquals(hits, stats.hits());
+        assertEquals(misses, stats.misses());
+        assertEquals(evictions, stats.evictions());
+        assertEquals(entries, stats.entries());
+    }
+}
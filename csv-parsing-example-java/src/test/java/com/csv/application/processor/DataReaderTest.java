@@ -1,28 +1,55 @@
 package com.csv.application.processor;
 
 import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowStream;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.domain.model.column.DictionaryColumn;
+import com.csv.application.domain.model.column.DoubleColumn;
+import com.csv.application.domain.model.column.LongColumn;
+import com.csv.application.domain.model.column.StringColumn;
+import com.csv.application.util.ColumnarFileCache;
+import com.csv.application.util.ParallelGzipInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedStatic;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mockStatic;
 
@@ -145,6 +172,458 @@ public class DataReaderTest {
         deleteFileIfExist(tempFile);
     }
 
+    @Test
+    void shouldAddAndRemoveColumnsOfSingleRow_whenRowsAreChangedAfterReading() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/purchases.csv");
+
+        assertTrue(tableResult.isSuccess());
+        Row firstRow = tableResult.data().rows().getFirst();
+        Row secondRow = tableResult.data().rows().get(1);
+        firstRow.set("PRICE", "9.99");
+        firstRow.getData().remove("TITLE");
+
+        assertEquals(Map.of("AD_ID", "1", "USER_ID", "1", "PRICE", "9.99"), firstRow.getData());
+        assertEquals(List.of("AD_ID", "USER_ID", "PRICE"), List.copyOf(firstRow.getData().keySet()));
+        assertNull(firstRow.get("TITLE"));
+        assertThat(secondRow.getData()).containsOnlyKeys("AD_ID", "TITLE", "USER_ID");
+
+        firstRow.set("TITLE", "car-1");
+        assertEquals(Map.of("AD_ID", "1", "TITLE", "car-1", "USER_ID", "1", "PRICE", "9.99"), firstRow.getData());
+    }
+
+    @Test
+    void shouldRejectChangesToColumnarRowViews_whenReadingFromCache(@TempDir Path cacheDirectory) {
+        DataReaderImpl cachingReader = new DataReaderImpl(cacheDirectory);
+        cachingReader.readCSVData("src/main/resources/purchases.csv");
+
+        Result<Table> cachedResult = cachingReader.readCSVData("src/main/resources/purchases.csv");
+
+        ColumnarRows rows = (ColumnarRows) cachedResult.data().rows();
+        Row view = rows.getFirst();
+        assertThrows(UnsupportedOperationException.class, () -> view.set("TITLE", "changed"));
+        assertThrows(UnsupportedOperationException.class, () -> view.set("PRICE", "9.99"));
+        assertThrows(UnsupportedOperationException.class, () -> view.getData().remove("TITLE"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> view.getData().entrySet().iterator().next().setValue("changed"));
+        assertEquals("car-1", rows.getFirst().get("TITLE"));
+
+        List<Row> materializedRows = rows.materialize();
+        materializedRows.getFirst().set("TITLE", "changed");
+        assertEquals(rows, dataReader.readCSVData("src/main/resources/purchases.csv").data().rows());
+        assertEquals("changed", materializedRows.getFirst().get("TITLE"));
+        assertEquals(rows.subList(1, rows.size()), materializedRows.subList(1, materializedRows.size()));
+    }
+
+    @Test
+    void shouldStreamRowsLazily_givenValidCsvFile() {
+
+        Result<RowStream> streamResult = dataReader.streamCSVData("src/main/resources/purchases.csv");
+
+        assertTrue(streamResult.isSuccess());
+        try (RowStream rowStream = streamResult.data()) {
+            assertEquals(List.of("AD_ID", "TITLE", "USER_ID"), rowStream.headers());
+
+            List<Row> rows = rowStream.rows().toList();
+            assertEquals(8, rows.size());
+            assertThat(rows.getFirst().getData()).containsAllEntriesOf(Map.of("AD_ID", "1", "TITLE", "car-1", "USER_ID", "1"));
+        }
+    }
+
+    @Test
+    void shouldReturnError_whenStreamingCsvPathIsBlank() {
+
+        Result<RowStream> streamResult = dataReader.streamCSVData(" ");
+
+        assertNull(streamResult.data());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), streamResult.error().errorCode());
+    }
+
+    @ParameterizedTest
+    @MethodSource("csvFilesWithEmptyHeaderProvider")
+    void shouldReturnError_whenStreamingCsvWithEmptyHeaders(String filePath, Path tempFile) throws IOException {
+
+        Result<RowStream> streamResult = dataReader.streamCSVData(filePath);
+
+        assertNull(streamResult.data());
+        assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), streamResult.error().errorCode());
+        deleteFileIfExist(tempFile);
+    }
+
+    @ParameterizedTest
+    @MethodSource("validCsvFilesProvider")
+    void shouldReadColumnarTableWithSameRows_givenValidCsvFile(String filePath, List<String> expectedHeaders,
+                                                               Map<String, String> expectedFirstRow) {
+
+        Result<Table> columnarResult = dataReader.readColumnarCSVData(filePath);
+
+        assertTrue(columnarResult.isSuccess());
+        assertThat(columnarResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(expectedHeaders, columnarResult.data().headers());
+        assertEquals(dataReader.readCSVData(filePath).data().rows(), columnarResult.data().rows());
+        assertThat(columnarResult.data().rows().getFirst().getData()).containsAllEntriesOf(expectedFirstRow);
+    }
+
+    @Test
+    void shouldEncodeColumnsByType_whenReadingColumnarTable() throws IOException {
+        Path tempFile = Files.createTempFile("test-column-types", ".csv");
+        Files.writeString(tempFile, """
+                ID,COUNT,PRICE,CODE,CITY,NAME
+                1,10,2.5,007,Berlin,anna
+                2,,10.0,008,Berlin,ben
+                3,-4,,009,Munich,carl
+                4,7,1e3,010,Berlin,dora
+                """);
+
+        Result<Table> columnarResult = dataReader.readColumnarCSVData(tempFile.toString());
+
+        ColumnarRows rows = (ColumnarRows) columnarResult.data().rows();
+        assertThat(rows.column("ID")).isInstanceOf(LongColumn.class);
+        assertThat(rows.column("COUNT")).isInstanceOf(LongColumn.class);
+        assertThat(rows.column("PRICE")).isInstanceOf(DoubleColumn.class);
+        assertThat(rows.column("CODE")).isInstanceOf(StringColumn.class);
+        assertThat(rows.column("CITY")).isInstanceOf(DictionaryColumn.class);
+        assertThat(rows.column("NAME")).isInstanceOf(StringColumn.class);
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data().rows(), rows);
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldStoreDecimalColumnsAsDoubles_whenReadingColumnarTable() throws IOException {
+        Path tempFile = Files.createTempFile("test-double-columns", ".csv");
+        Files.writeString(tempFile, "ID,PRICE\n1,2.5\n2,\n3,10.25\n4,-0.5\n");
+
+        Result<Table> columnarResult = dataReader.readColumnarCSVData(tempFile.toString());
+
+        ColumnarRows rows = (ColumnarRows) columnarResult.data().rows();
+        assertThat(rows.column("PRICE")).isInstanceOf(DoubleColumn.class);
+        assertThat(((DoubleColumn) rows.column("PRICE")).isNull(1)).isTrue();
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data().rows(), rows);
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldStoreNonCanonicalDecimalsAsDoublesAndKeepTheirText_whenReadingColumnarTable(@TempDir Path cacheDirectory)
+            throws IOException {
+        Path tempFile = Files.createTempFile("test-decimal-text", ".csv");
+        Files.writeString(tempFile, "ID,PRICE,AMOUNT\n1,12.50,100\n2,1.10,99.99\n3,,7\n4,2.5,-0\n5,0.125,1E3\n");
+
+        Result<Table> columnarResult = dataReader.readColumnarCSVData(tempFile.toString());
+        Result<Table> cachedResult = new DataReaderImpl(cacheDirectory).readColumnarCSVData(tempFile.toString());
+        Result<Table> cacheHitResult = new DataReaderImpl(cacheDirectory).readColumnarCSVData(tempFile.toString());
+
+        ColumnarRows rows = (ColumnarRows) columnarResult.data().rows();
+        assertThat(rows.column("PRICE")).isInstanceOf(DoubleColumn.class);
+        assertThat(rows.column("AMOUNT")).isInstanceOf(DoubleColumn.class);
+        assertEquals(12.5, ((DoubleColumn) rows.column("PRICE")).value(0));
+        assertEquals(List.of("12.50", "1.10", "", "2.5", "0.125"), rows.stream().map(row -> row.get("PRICE")).toList());
+        assertEquals(List.of("100", "99.99", "7", "-0", "1E3"), rows.stream().map(row -> row.get("AMOUNT")).toList());
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data().rows(), rows);
+        assertEquals(rows, cachedResult.data().rows());
+        assertEquals(rows, cacheHitResult.data().rows());
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldReadOnlyProjectedColumns_givenColumnSubset() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/users.csv", List.of("EMAIL", "USER_ID"));
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of("EMAIL", "USER_ID"), tableResult.data().headers());
+        assertEquals(Map.of("EMAIL", "manuel@foo.de", "USER_ID", "2"), tableResult.data().rows().getFirst().getData());
+        assertEquals(dataReader.readCSVData("src/main/resources/users.csv").data().rows().size(),
+                tableResult.data().rows().size());
+    }
+
+    @Test
+    void shouldReadAllColumns_whenNoColumnsAreProjected() {
+
+        Result<Table> expected = dataReader.readCSVData("src/main/resources/users.csv");
+
+        assertEquals(expected.data(), dataReader.readCSVData("src/main/resources/users.csv", null).data());
+        assertEquals(expected.data(), dataReader.readCSVData("src/main/resources/users.csv", List.of()).data());
+    }
+
+    @Test
+    void shouldReturnError_whenProjectedColumnDoesNotExist() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/users.csv", List.of("USER_ID", "AGE"));
+
+        assertNull(tableResult.data());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+        assertThat(tableResult.error().errorMessage()).contains("AGE");
+    }
+
+    @ParameterizedTest
+    @MethodSource("columnFiltersProvider")
+    void shouldKeepOnlyMatchingRows_whenReadingWithFilters(List<ColumnFilter> filters, List<String> expectedAdIds) {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/purchases.csv", List.of("AD_ID"), filters);
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of("AD_ID"), tableResult.data().headers());
+        assertEquals(expectedAdIds, tableResult.data().rows().stream().map(row -> row.get("AD_ID")).toList());
+    }
+
+    @Test
+    void shouldReturnError_whenFilteredColumnDoesNotExist() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/purchases.csv", List.of(),
+                List.of(ColumnFilter.equalTo("PRICE", "10")));
+
+        assertNull(tableResult.data());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+    }
+
+    @Test
+    void shouldReturnEmptyTableWithHeaders_whenNoRowMatchesFilters() {
+
+        Result<Table> tableResult = dataReader.readCSVData("src/main/resources/purchases.csv", List.of("AD_ID", "TITLE"),
+                List.of(ColumnFilter.equalTo("USER_ID", "42")));
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of("AD_ID", "TITLE"), tableResult.data().headers());
+        assertThat(tableResult.data().rows()).isEmpty();
+    }
+
+    @Test
+    void shouldWriteCacheFileAndReadSameTable_whenReadingWithCache(@TempDir Path cacheDirectory) throws IOException {
+        Path tempFile = Files.createTempFile("test-cache", ".csv");
+        Files.writeString(tempFile, """
+                ID,COUNT,PRICE,CITY,NAME
+                1,10,2.5,Berlin,änna
+                2,,10.0,Berlin,"ben, jr."
+                3,-4,,Munich,
+                4,7,1.25,Berlin,dora
+                """);
+        DataReaderImpl cachingReader = new DataReaderImpl(cacheDirectory);
+
+        Result<Table> firstResult = cachingReader.readCSVData(tempFile.toString());
+        Result<Table> cachedResult = cachingReader.readCSVData(tempFile.toString());
+
+        assertTrue(Files.isRegularFile(new ColumnarFileCache(cacheDirectory).cacheFileOf(tempFile)));
+        assertThat(cachedResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data(), firstResult.data());
+        assertEquals(firstResult.data(), cachedResult.data());
+        assertEquals(firstResult.data(), cachingReader.readColumnarCSVData(tempFile.toString()).data());
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldServeFromCache_whenCsvSizeAndModifiedTimeAreUnchanged(@TempDir Path cacheDirectory) throws IOException {
+        Path tempFile = Files.createTempFile("test-cache-hit", ".csv");
+        Files.writeString(tempFile, "ID,NAME\n1,anna\n");
+        FileTime modifiedTime = Files.getLastModifiedTime(tempFile);
+        DataReaderImpl cachingReader = new DataReaderImpl(cacheDirectory);
+        cachingReader.readCSVData(tempFile.toString());
+
+        Files.writeString(tempFile, "ID,NAME\n2,carl\n");
+        Files.setLastModifiedTime(tempFile, modifiedTime);
+
+        assertEquals("anna", cachingReader.readCSVData(tempFile.toString()).data().rows().getFirst().get("NAME"));
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldParseCsvAgain_whenCsvChangedAfterCaching(@TempDir Path cacheDirectory) throws IOException {
+        Path tempFile = Files.createTempFile("test-cache-stale", ".csv");
+        Files.writeString(tempFile, "ID,NAME\n1,anna\n");
+        DataReaderImpl cachingReader = new DataReaderImpl(cacheDirectory);
+        cachingReader.readCSVData(tempFile.toString());
+
+        Files.writeString(tempFile, "ID,NAME\n1,anna\n2,ben\n");
+
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data(),
+                cachingReader.readCSVData(tempFile.toString()).data());
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldParseCsvAgain_whenCacheFileIsCorrupt(@TempDir Path cacheDirectory) throws IOException {
+        Path tempFile = Files.createTempFile("test-cache-corrupt", ".csv");
+        Files.writeString(tempFile, "ID,NAME\n1,anna\n2,ben\n");
+        DataReaderImpl cachingReader = new DataReaderImpl(cacheDirectory);
+        cachingReader.readCSVData(tempFile.toString());
+        Path cacheFile = new ColumnarFileCache(cacheDirectory).cacheFileOf(tempFile);
+        byte[] cacheContent = Files.readAllBytes(cacheFile);
+        Files.write(cacheFile, Arrays.copyOf(cacheContent, cacheContent.length - 3));
+
+        Result<Table> tableResult = cachingReader.readCSVData(tempFile.toString());
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(dataReader.readCSVData(tempFile.toString()).data(), tableResult.data());
+        assertEquals(cacheContent.length, Files.size(cacheFile));
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldSkipCaching_whenCacheFileWouldExceedMaximumSize(@TempDir Path cacheDirectory) throws IOException {
+        Path tempFile = Files.createTempFile("test-cache-oversized", ".csv");
+        Files.writeString(tempFile, "ID,NAME\n1,anna\n2,ben\n");
+        Table table = ColumnarRows.toColumnarTable(dataReader.readCSVData(tempFile.toString()).data());
+        ColumnarFileCache cache = new ColumnarFileCache(cacheDirectory, 64);
+
+        cache.write(tempFile, table);
+        cache.write(tempFile, table);
+
+        assertNull(cache.read(tempFile));
+        try (Stream<Path> cacheFiles = Files.list(cacheDirectory)) {
+            assertThat(cacheFiles).isEmpty();
+        }
+        new ColumnarFileCache(cacheDirectory).write(tempFile, table);
+        assertEquals(table, new ColumnarFileCache(cacheDirectory).read(tempFile));
+        deleteFileIfExist(tempFile);
+    }
+
+    @Test
+    void shouldNotCacheProjectedReads_whenReadingWithCache(@TempDir Path cacheDirectory) {
+
+        Result<Table> tableResult = new DataReaderImpl(cacheDirectory)
+                .readCSVData("src/main/resources/users.csv", List.of("NAME"));
+
+        assertEquals(List.of("NAME"), tableResult.data().headers());
+        assertFalse(Files.exists(new ColumnarFileCache(cacheDirectory).cacheFileOf(Path.of("src/main/resources/users.csv"))));
+    }
+
+    @Test
+    void shouldReadSameTableAsPlainCsv_givenSingleMemberGzipFile() throws IOException {
+        Path gzipFile = Files.createTempFile("test-single-member", ".csv.gz");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            Files.copy(Path.of("src/main/resources/purchases.csv"), output);
+        }
+
+        Result<Table> tableResult = dataReader.readCSVData(gzipFile.toString());
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(dataReader.readCSVData("src/main/resources/purchases.csv").data(), tableResult.data());
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldReadAllMembersInOrder_givenMultiMemberGzipFile() throws IOException {
+        Path csvFile = Files.createTempFile("test-multi-member", ".csv");
+        Path gzipFile = Files.createTempFile("test-multi-member", ".csv.gz");
+        StringBuilder content = new StringBuilder("ID,NAME,CITY\n");
+        try (OutputStream output = Files.newOutputStream(gzipFile)) {
+            output.write(gzipMember(content.toString(), true));
+            for (int member = 0; member < 200; member++) {
+                StringBuilder memberContent = new StringBuilder();
+                for (int index = 0; index < 25; index++) {
+                    int id = member * 25 + index;
+                    memberContent.append(id).append(",name-").append(id).append(",\"city, ").append(id % 7).append("\"\n");
+                }
+                output.write(gzipMember(memberContent.toString(), member % 2 == 0));
+                content.append(memberContent);
+            }
+        }
+        Files.writeString(csvFile, content);
+
+        Result<Table> tableResult = dataReader.readCSVData(gzipFile.toString());
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(5000, tableResult.data().rows().size());
+        assertEquals(dataReader.readCSVData(csvFile.toString()).data(), tableResult.data());
+        deleteFileIfExist(csvFile);
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldDecompressSameBytesAsGzipInputStream_whenInflatingMembersInParallel() throws IOException {
+        Path gzipFile = Files.createTempFile("test-parallel-members", ".csv.gz");
+        Random random = new Random(42);
+        try (OutputStream output = Files.newOutputStream(gzipFile)) {
+            for (int member = 0; member < 64; member++) {
+                byte[] noise = new byte[4096 + random.nextInt(4096)];
+                random.nextBytes(noise);
+                output.write(gzipMember(new String(noise, StandardCharsets.ISO_8859_1), member % 3 == 0));
+            }
+            output.write(gzipMember("", false));
+        }
+
+        byte[] expected;
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(gzipFile))) {
+            expected = input.readAllBytes();
+        }
+        try (InputStream input = ParallelGzipInputStream.open(gzipFile, 4)) {
+            assertThat(input).isInstanceOf(ParallelGzipInputStream.class);
+            assertArrayEquals(expected, input.readAllBytes());
+        }
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldInflateMembersInParallel_givenMembersWithExtraField() throws IOException {
+        Path gzipFile = Files.createTempFile("test-extra-field", ".csv.gz");
+        try (OutputStream output = Files.newOutputStream(gzipFile)) {
+            output.write(gzipMember("ID,NAME\n1,anna\n", false, true));
+            output.write(gzipMember("2,ben\n3,carl\n", true, true));
+        }
+
+        try (InputStream input = ParallelGzipInputStream.open(gzipFile, 4)) {
+            assertThat(input).isInstanceOf(ParallelGzipInputStream.class);
+            assertEquals("ID,NAME\n1,anna\n2,ben\n3,carl\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldInflateSequentially_givenSingleMemberGzipFileContainingMemberHeaderBytes() throws IOException {
+        Path gzipFile = Files.createTempFile("test-header-bytes", ".csv.gz");
+        byte[] content = "ID,NAME\n1,anna\n2,\u001f\u008b\b\u0000\n3,ben\n".repeat(1000)
+                .getBytes(StandardCharsets.ISO_8859_1);
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(gzipFile)) {
+            {
+                def.setLevel(Deflater.NO_COMPRESSION);
+            }
+        }) {
+            output.write(content);
+        }
+
+        try (InputStream input = ParallelGzipInputStream.open(gzipFile, 4)) {
+            assertThat(input).isInstanceOf(GZIPInputStream.class);
+            assertArrayEquals(content, input.readAllBytes());
+        }
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldInflateRestSequentially_whenGzipMemberIsTooLargeForMemory() throws IOException {
+        Path gzipFile = Files.createTempFile("test-large-member", ".csv.gz");
+        String largeMember = "1,anna,berlin\n".repeat(3 * 1024 * 1024);
+        try (OutputStream output = Files.newOutputStream(gzipFile)) {
+            output.write(gzipMember("ID,NAME,CITY\n", false));
+            output.write(gzipMember(largeMember, true));
+            output.write(gzipMember("2,ben,munich\n", false));
+        }
+
+        try (InputStream input = ParallelGzipInputStream.open(gzipFile, 4)) {
+            assertThat(input).isInstanceOf(ParallelGzipInputStream.class);
+            assertEquals("ID,NAME,CITY\n" + largeMember + "2,ben,munich\n",
+                    new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        deleteFileIfExist(gzipFile);
+    }
+
+    @Test
+    void shouldReturnError_whenGzipMemberIsCorrupt() throws IOException {
+        Path gzipFile = Files.createTempFile("test-corrupt-member", ".csv.gz");
+        byte[] firstMember = gzipMember("ID,NAME\n1,anna\n", false);
+        byte[] secondMember = gzipMember("2,ben\n3,carl\n", false);
+        secondMember[secondMember.length - 6] ^= 0x01;
+        Files.write(gzipFile, firstMember);
+        Files.write(gzipFile, secondMember, StandardOpenOption.APPEND);
+
+        Result<Table> tableResult = dataReader.readCSVData(gzipFile.toString());
+        try (InputStream input = ParallelGzipInputStream.open(gzipFile, 2)) {
+            assertThrows(ZipException.class, input::readAllBytes);
+        }
+
+        assertNull(tableResult.data());
+        assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), tableResult.error().errorCode());
+        deleteFileIfExist(gzipFile);
+    }
+
     private static void assertInvalidPathTableResult(Result<Table> tableResult) {
         assertNotNull(tableResult);
         assertNull(tableResult.data());
@@ -161,6 +640,16 @@ public class DataReaderTest {
         assertThat(tableResult.error().errorMessage()).contains("headers", "records", "empty");
     }
 
+    static Stream<Arguments> columnFiltersProvider() {
+        return Stream.of(
+                Arguments.of(List.of(ColumnFilter.equalTo("USER_ID", "4")), List.of("6", "7")),
+                Arguments.of(List.of(ColumnFilter.in("TITLE", List.of("car-2", "chair-1", "bike"))), List.of("2", "9")),
+                Arguments.of(List.of(ColumnFilter.between("AD_ID", "3", "6")), List.of("3", "4", "5", "6")),
+                Arguments.of(List.of(ColumnFilter.between("TITLE", "G", "GUITAR-1")), List.of("4")),
+                Arguments.of(List.of(ColumnFilter.between("USER_ID", "1", "2"),
+                        ColumnFilter.in("TITLE", List.of("car-1", "guitar-1", "guitar-2"))), List.of("1", "4")));
+    }
+
     static Stream<Arguments> validCsvFilesProvider() {
         return Stream.of(
                 Arguments.of(
@@ -216,6 +705,40 @@ public class DataReaderTest {
         return Arguments.of(tempFile.toString(), tempFile);
     }
 
+    static byte[] gzipMember(String content, boolean withFileName) {
+        return gzipMember(content, withFileName, false);
+    }
+
+    /**
+     * @param withExtraField whether the header carries a 6 byte extra field, like the members of a BGZF file
+     */
+    static byte[] gzipMember(String content, boolean withFileName, boolean withExtraField) {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        int flags = (withFileName ? 0x08 : 0) | (withExtraField ? 0x04 : 0);
+        member.writeBytes(new byte[]{0x1f, (byte) 0x8b, 8, (byte) flags, 0, 0, 0, 0, 0, (byte) 0xff});
+        if (withExtraField) {
+            member.writeBytes(new byte[]{6, 0, 'B', 'C', 2, 0, 0, 0});
+        }
+        if (withFileName) {
+            member.writeBytes("part.csv\0".getBytes(StandardCharsets.ISO_8859_1));
+        }
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            member.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putInt((int) crc.getValue()).putInt(data.length);
+        member.writeBytes(trailer.array());
+        return member.toByteArray();
+    }
+
     private Result<Table> callReadCSVData(String path) {
         return dataReader.readCSVData(path);
     }
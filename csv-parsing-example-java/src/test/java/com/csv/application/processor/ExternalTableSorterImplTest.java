@@ -0,0 +1,140 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.csv.application.processor.TableSorterTest.INVALID_COLUMN_MSG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExternalTableSorterImplTest {
+
+    private static final String PURCHASES_CSV_PATH = "src/main/resources/purchases.csv";
+    private static final RowSchema SCHEMA = RowSchema.of(List.of("AD_ID", "TITLE", "PRICE"));
+
+    @TempDir
+    Path spillDirectory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {64, 100, 5_000})
+    void returnSameOrderAsInMemorySort_whenSortingInSpilledRuns(int maxRowsPerRun) throws IOException {
+        Table table = provideMixedValueTable(1_500);
+        ExternalTableSorterImpl tableSorter = new ExternalTableSorterImpl(maxRowsPerRun, spillDirectory);
+
+        for (String columnName : SCHEMA.headers()) {
+            Result<Table> expectedResult = new TableSorterImpl().sortTableByDesc(table, columnName);
+            Result<Table> tableResult = tableSorter.sortTableByDesc(table, columnName);
+            Result<RowStream> streamResult = tableSorter.sortRowsByDesc(
+                    new RowStream(table.headers(), table.rows().stream()), columnName);
+
+            assertTrue(tableResult.isSuccess());
+            assertEquals(table.headers(), tableResult.data().headers());
+            assertEquals(expectedResult.data().rows(), tableResult.data().rows());
+            try (RowStream sortedRows = streamResult.data()) {
+                assertEquals(expectedResult.data().rows(), sortedRows.rows().toList());
+            }
+        }
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3})
+    void returnSameOrderAsInMemorySort_whenMergingRunsInSeveralPasses(int maxFanIn) throws IOException {
+        Table table = provideMixedValueTable(200);
+        ExternalTableSorterImpl tableSorter = new ExternalTableSorterImpl(10, maxFanIn, spillDirectory);
+
+        Result<Table> expectedResult = new TableSorterImpl().sortTableByDesc(table, "TITLE");
+        Result<Table> tableResult = tableSorter.sortTableByDesc(table, "TITLE");
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(expectedResult.data().rows(), tableResult.data().rows());
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void deleteRunFiles_whenSortedStreamIsClosedBeforeItIsConsumed() throws IOException {
+        Table table = provideMixedValueTable(100);
+        ExternalTableSorterImpl tableSorter = new ExternalTableSorterImpl(10, spillDirectory);
+
+        try (RowStream sortedRows = tableSorter.sortRowsByDesc(
+                new RowStream(table.headers(), table.rows().stream()), "PRICE").data()) {
+            assertFalse(isEmpty(spillDirectory));
+            assertEquals(3, sortedRows.rows().limit(3).count());
+        }
+
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void writeSortedCSVFile_whenSortingStreamedPurchases() throws IOException {
+        DataReaderImpl dataReader = new DataReaderImpl();
+        Path target = Files.createTempFile(spillDirectory, "sorted-purchases-", ".csv");
+        ExternalTableSorterImpl tableSorter = new ExternalTableSorterImpl(2, spillDirectory);
+
+        Result<Long> writeResult = tableSorter.sortRowsToFile(
+                dataReader.streamCSVData(PURCHASES_CSV_PATH).data(), "TITLE", target);
+
+        Table expectedTable = new TableSorterImpl()
+                .sortTableByDesc(dataReader.readCSVData(PURCHASES_CSV_PATH).data(), "TITLE").data();
+        Table sortedTable = dataReader.readCSVData(target.toString()).data();
+        assertTrue(writeResult.isSuccess());
+        assertEquals(expectedTable.rows().size(), writeResult.data());
+        assertEquals(expectedTable.headers(), sortedTable.headers());
+        assertEquals(expectedTable.rows(), sortedTable.rows());
+        Files.delete(target);
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void returnError_whenColumnNameIsInvalid() {
+        Table table = provideMixedValueTable(10);
+        ExternalTableSorterImpl tableSorter = new ExternalTableSorterImpl(2, spillDirectory);
+
+        Result<RowStream> streamResult = tableSorter.sortRowsByDesc(
+                new RowStream(table.headers(), table.rows().stream()), "AGE");
+        Result<Table> tableResult = tableSorter.sortTableByDesc(table, " ");
+
+        assertFalse(streamResult.isSuccess());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), streamResult.error().errorCode());
+        assertEquals(INVALID_COLUMN_MSG, streamResult.error().errorMessage());
+        assertEquals(INVALID_COLUMN_MSG, tableResult.error().errorMessage());
+    }
+
+    private static Table provideMixedValueTable(int size) {
+        String[] titles = {"10", "9", "-3", "2.5", "car", "Car", "guitar", "Äpfel", "äpfel", "zebra", null, "", " "};
+        Random random = new Random(5);
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            rows.add(Row.of(SCHEMA, new String[]{String.valueOf(index), titles[random.nextInt(titles.length)],
+                    index % 11 == 0 ? null : String.valueOf(random.nextInt(500) / 10.0)}));
+        }
+        return new Table(SCHEMA.headers(), rows);
+    }
+
+    private void assertSpillDirectoryIsEmpty() throws IOException {
+        assertTrue(isEmpty(spillDirectory));
+    }
+
+    private static boolean isEmpty(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.csv.application.processor.HashJoinImplTest.AD_ID;
+import static com.csv.application.processor.HashJoinImplTest.INVALID_COLUMN_TABLE_MSG;
+import static com.csv.application.processor.HashJoinImplTest.NAME;
+import static com.csv.application.processor.HashJoinImplTest.TITLE;
+import static com.csv.application.processor.HashJoinImplTest.USER_ID;
+import static com.csv.application.processor.HashJoinImplTest.assertTableResultForError;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GraceHashJoinImplTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @ParameterizedTest
+    @MethodSource("com.csv.application.processor.HashJoinImplTest#provideSmallerLeftAndLargerRightTable")
+    void returnSameRowsAsHashJoin_whenPartitioningToDisk(Table leftTable, Table rightTable) throws IOException {
+        GraceHashJoinImpl tableJoiner = new GraceHashJoinImpl(1, Long.MAX_VALUE, spillDirectory);
+
+        Result<Table> expectedResult = new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> rowResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertEquals(List.of(USER_ID, NAME, AD_ID, TITLE), rowResult.data().headers());
+        assertThat(rowResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+        assertThat(columnarResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void returnSameRowsAsHashJoin_whenLargeTablesArePartitioned() throws IOException {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        Random random = new Random(42);
+        Table leftTable = new Table(leftSchema.headers(), IntStream.range(0, 2_000)
+                .mapToObj(row -> Row.of(leftSchema, new String[]{"u" + random.nextInt(1_500), "user-" + row}))
+                .toList());
+        Table rightTable = new Table(rightSchema.headers(), IntStream.range(0, 5_000)
+                .mapToObj(row -> Row.of(rightSchema, new String[]{String.valueOf(row), "title-" + row,
+                        random.nextInt(20) == 0 ? "" : "U" + random.nextInt(2_000)}))
+                .toList());
+        GraceHashJoinImpl tableJoiner = new GraceHashJoinImpl(16 * 1024, Long.MAX_VALUE, spillDirectory);
+
+        Result<Table> expectedResult = new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertThat(tableResult.data().rows()).isNotEmpty()
+                .containsExactlyElementsOf(expectedResult.data().rows());
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void returnSameRowsAsHashJoin_whenSkewedPartitionsArePartitionedAgain() throws IOException {
+        Table leftTable = provideSkewedTable(NAME);
+        Table rightTable = provideSkewedTable(TITLE);
+        GraceHashJoinImpl tableJoiner = new GraceHashJoinImpl(4 * 1024, Long.MAX_VALUE, spillDirectory);
+
+        Result<Table> expectedResult = new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertThat(tableResult.data().rows()).hasSize(100 * 100 + 300)
+                .containsExactlyElementsOf(expectedResult.data().rows());
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void returnError_whenMatchesExceedMemoryBudget() throws IOException {
+        Table leftTable = provideSkewedTable(NAME);
+        Table rightTable = provideSkewedTable(TITLE);
+
+        Result<Table> tableResult = new GraceHashJoinImpl(4 * 1024, spillDirectory)
+                .joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTableResultForError(tableResult, HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(),
+                "The join has more matching rows than fit the memory budget of 4096 bytes.");
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void joinInMemory_whenBuildSideFitsBudget() throws IOException {
+        Table leftTable = ColumnarRows.toColumnarTable(new DataReaderImpl().readCSVData("src/main/resources/users.csv").data());
+        Table rightTable = new DataReaderImpl().readCSVData("src/main/resources/purchases.csv").data();
+        Path missingDirectory = spillDirectory.resolve("missing");
+
+        Result<Table> tableResult = new GraceHashJoinImpl(Long.MAX_VALUE, missingDirectory)
+                .joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable).data(), tableResult.data());
+        assertSpillDirectoryIsEmpty();
+    }
+
+    @Test
+    void returnError_whenSpillDirectoryDoesNotExist() {
+        Table leftTable = new DataReaderImpl().readCSVData("src/main/resources/users.csv").data();
+        Table rightTable = new DataReaderImpl().readCSVData("src/main/resources/purchases.csv").data();
+
+        Result<Table> tableResult = new GraceHashJoinImpl(1, spillDirectory.resolve("missing"))
+                .joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), tableResult.error().errorCode());
+    }
+
+    @Test
+    void returnError_whenColumnNameIsNull() {
+        Table table = new DataReaderImpl().readCSVData("src/main/resources/users.csv").data();
+
+        Result<Table> tableResult = new GraceHashJoinImpl(1, spillDirectory).joinTables(null, USER_ID, table, table);
+
+        assertTableResultForError(tableResult, HttpStatusCode.BAD_REQUEST.getCode(), INVALID_COLUMN_TABLE_MSG);
+    }
+
+    /**
+     * 100 rows with the same heavy key followed by 300 rows with a key of their own.
+     */
+    private static Table provideSkewedTable(String valueColumn) {
+        RowSchema schema = RowSchema.of(List.of(USER_ID, valueColumn));
+        return new Table(schema.headers(), IntStream.range(0, 400)
+                .mapToObj(row -> Row.of(schema, new String[]{row < 100 ? "heavy" : String.valueOf(row), valueColumn + row}))
+                .toList());
+    }
+
+    private void assertSpillDirectoryIsEmpty() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
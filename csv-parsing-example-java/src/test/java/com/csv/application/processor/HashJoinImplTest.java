@@ -1,20 +1,33 @@
 package com.csv.application.processor;
 
 import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ColumnFilter;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
 import com.csv.application.processor.interfaces.TableJoiner;
+import com.csv.application.util.JoinKeyBloomFilter;
+import com.csv.application.util.JoinedRows;
+import com.csv.application.util.JoinerUtil;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,6 +36,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class HashJoinImplTest {
@@ -105,6 +119,305 @@ public class HashJoinImplTest {
         assertThat(tableResult.data().rows()).hasSize(0);
     }
 
+    @Test
+    void keepLeftValue_whenArrayBackedTablesShareNonKeyColumn() {
+
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME, TITLE));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        Table leftTable = new Table(leftSchema.headers(), List.of(
+                Row.of(leftSchema, new String[]{"1", "manuel", "left-title"})));
+        Table rightTable = new Table(rightSchema.headers(), List.of(
+                Row.of(rightSchema, new String[]{"7", "right-title", "1"}),
+                Row.of(rightSchema, new String[]{"8", "other-title", "2"})));
+
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertThat(tableResult.data().rows()).hasSize(1);
+        Row joinedRow = tableResult.data().rows().getFirst();
+        assertEquals(Map.of(USER_ID, "1", NAME, "manuel", TITLE, "left-title", AD_ID, "7"), joinedRow.getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource({"provideValidColumnNamesAndTables", "invalidLeftKeyAndNoMatchingRightRows"})
+    void returnSameRows_whenJoiningColumnarTables(String leftColumnName,
+                                                  String rightColumnName,
+                                                  Table leftTable,
+                                                  Table rightTable) {
+
+        Result<Table> expectedResult = tableJoiner.joinTables(leftColumnName, rightColumnName, leftTable, rightTable);
+        Result<Table> actualResult = tableJoiner.joinTables(leftColumnName, rightColumnName,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(actualResult.isSuccess());
+        assertThat(actualResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(expectedResult.data().headers(), actualResult.data().headers());
+        assertThat(actualResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSmallerLeftAndLargerRightTable")
+    void keepLeftThenRightRowOrder_whenBuildingOnSmallerLeftTable(Table leftTable, Table rightTable) {
+
+        Result<Table> expectedResult = new InnerNestedLoopJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> rowResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertEquals(List.of(USER_ID, NAME, AD_ID, TITLE), rowResult.data().headers());
+        assertThat(rowResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+        assertThat(columnarResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLargeTablesForParallelJoin")
+    void returnSameRowsAsSequentialJoin_whenJoiningInParallel(Table leftTable, Table rightTable) {
+        TableJoiner sequentialJoiner = new HashJoinImpl(1);
+        TableJoiner parallelJoiner = new HashJoinImpl(4);
+
+        Result<Table> expectedResult = sequentialJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> rowResult = parallelJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarResult = parallelJoiner.joinTables(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertThat(expectedResult.data().rows()).hasSizeGreaterThan(leftTable.rows().size() / 2);
+        assertEquals(expectedResult.data().rows(), rowResult.data().rows());
+        assertEquals(expectedResult.data().rows(), columnarResult.data().rows());
+    }
+
+    @Test
+    void readRowsOnPoolOfGivenParallelism_whenJoiningInParallel() {
+        Set<Thread> readingThreads = ConcurrentHashMap.newKeySet();
+        Table leftTable = new Table(List.of(USER_ID, NAME), IntStream.range(0, 40_000)
+                .mapToObj(row -> new Row(recordingReads(readingThreads,
+                        Map.of(USER_ID, String.valueOf(row), NAME, "user-" + row))))
+                .toList());
+        Table rightTable = new Table(List.of(AD_ID, USER_ID), IntStream.range(0, 40_000)
+                .mapToObj(row -> new Row(recordingReads(readingThreads,
+                        Map.of(AD_ID, "ad-" + row, USER_ID, String.valueOf(row)))))
+                .toList());
+
+        Result<Table> tableResult = new HashJoinImpl(2).joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertThat(tableResult.data().rows()).hasSize(40_000);
+        assertThat(readingThreads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread).isInstanceOf(ForkJoinWorkerThread.class);
+            ForkJoinPool pool = ((ForkJoinWorkerThread) thread).getPool();
+            assertThat(pool).isNotSameAs(ForkJoinPool.commonPool());
+            assertThat(pool.getParallelism()).isEqualTo(2);
+        });
+    }
+
+    private static Map<String, String> recordingReads(Set<Thread> readingThreads, Map<String, String> values) {
+        return new HashMap<>(values) {
+            @Override
+            public String get(Object key) {
+                readingThreads.add(Thread.currentThread());
+                return super.get(key);
+            }
+        };
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideIntegerLikeJoinKeys")
+    void returnSameRowsAsNestedLoopJoin_whenJoiningOnIntegerKeys(Table leftTable, Table rightTable) {
+
+        Result<Table> expectedResult = new InnerNestedLoopJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> rowResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertThat(rowResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+        assertThat(columnarResult.data().rows()).containsExactlyElementsOf(rowResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("com.csv.application.processor.InnerNestedLoopJoinImplTest#provideCompositeKeyTables")
+    void returnSameRowsAsNestedLoopJoin_whenJoiningOnCompositeKey(Table leftTable, Table rightTable) {
+        List<String> keyColumns = List.of(USER_ID, InnerNestedLoopJoinImplTest.REGION);
+
+        Result<Table> expectedResult = new InnerNestedLoopJoinImpl().joinTables(keyColumns, keyColumns, leftTable, rightTable);
+        Result<Table> rowResult = new HashJoinImpl(4).joinTables(keyColumns, keyColumns, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(keyColumns, keyColumns,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertEquals(expectedResult.data(), rowResult.data());
+        assertThat(columnarResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(expectedResult.data().rows(), columnarResult.data().rows());
+    }
+
+    @Test
+    void returnError_whenJoinTypeDoesNotSupportCompositeKeys() {
+        Table table = new DataReaderImpl().readCSVData("src/main/resources/users.csv").data();
+
+        Result<Table> tableResult = new SortMergeJoinImpl().joinTables(List.of(USER_ID, NAME), List.of(USER_ID, NAME), table, table);
+
+        assertTableResultForError(tableResult, HttpStatusCode.BAD_REQUEST.getCode(),
+                "This join type only supports a single join column on each side.");
+        assertEquals(tableJoiner.joinTables(USER_ID, USER_ID, table, table).data(),
+                new SortMergeJoinImpl().joinTables(List.of(USER_ID), List.of(USER_ID), table, table).data());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideIntegerLikeJoinKeys")
+    void keepEveryMatchingRow_whenFilteringOnJoinKeyBloomFilter(Table leftTable, Table rightTable) {
+        List<Table> buildTables = List.of(leftTable, ColumnarRows.toColumnarTable(leftTable));
+
+        for (Table buildTable : buildTables) {
+            JoinKeyBloomFilter filter = JoinerUtil.joinKeyBloomFilter(buildTable, USER_ID);
+            ColumnFilter keyFilter = JoinerUtil.joinKeyFilter(USER_ID, filter);
+            List<Row> keptRows = rightTable.rows().stream().filter(row -> keyFilter.test(row.get(USER_ID))).toList();
+
+            assertEquals(tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable).data(),
+                    tableJoiner.joinTables(USER_ID, USER_ID, leftTable, new Table(rightTable.headers(), keptRows)).data());
+            assertEquals(rightTable.rows().size() - keptRows.size(), filter.eliminatedRows());
+        }
+    }
+
+    @Test
+    void eliminateMostKeysWithoutMatch_whenFilteringOnJoinKeyBloomFilter() {
+        JoinKeyBloomFilter filter = JoinKeyBloomFilter.of(IntStream.range(0, 10_000)
+                .mapToObj(key -> "user-" + key).toArray(String[]::new));
+
+        long acceptedMissingKeys = IntStream.range(10_000, 20_000).filter(key -> filter.mightContain("user-" + key)).count();
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(key -> filter.mightContain("user-" + key)));
+        assertThat(acceptedMissingKeys).isLessThan(300);
+        assertEquals(10_000 - acceptedMissingKeys, filter.eliminatedRows());
+        assertFalse(filter.mightContain(null));
+    }
+
+    @Test
+    void sizeJoinKeyBloomFilterWithoutOverflow_givenLargeBuildSides() {
+
+        assertEquals(64, JoinKeyBloomFilter.bitCount(0));
+        assertEquals(128, JoinKeyBloomFilter.bitCount(10));
+        assertEquals(1L << 31, JoinKeyBloomFilter.bitCount(107_374_183));
+        assertEquals(1L << 31, JoinKeyBloomFilter.bitCount(214_748_365));
+        assertEquals(1L << 31, JoinKeyBloomFilter.bitCount(Integer.MAX_VALUE));
+        for (int keyCount = 1; keyCount < 1 << 20; keyCount = keyCount * 3 + 1) {
+            long bits = JoinKeyBloomFilter.bitCount(keyCount);
+            assertEquals(1, Long.bitCount(bits));
+            assertThat(bits).isGreaterThanOrEqualTo(keyCount * 10L);
+        }
+    }
+
+    static Stream<Arguments> provideIntegerLikeJoinKeys() {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        String[] leftKeys = {"0", "-1", String.valueOf(Long.MAX_VALUE), String.valueOf(Long.MIN_VALUE),
+                String.valueOf(1L << 32), String.valueOf(2L << 32), "", "7", "0", "4294967296"};
+        String[] rightKeys = {"4294967296", "0", "7", String.valueOf(Long.MIN_VALUE), "8589934592", "-1", "",
+                "12884901888", "0", String.valueOf(Long.MAX_VALUE)};
+        Table leftTable = new Table(leftSchema.headers(), IntStream.range(0, leftKeys.length)
+                .mapToObj(row -> Row.of(leftSchema, new String[]{leftKeys[row], "user-" + row}))
+                .toList());
+        Table rightTable = new Table(rightSchema.headers(), IntStream.range(0, rightKeys.length)
+                .mapToObj(row -> Row.of(rightSchema, new String[]{String.valueOf(row), "title-" + row, rightKeys[row]}))
+                .toList());
+        Table paddedRightTable = new Table(rightSchema.headers(), List.of(
+                Row.of(rightSchema, new String[]{"1", "padded", "07"}),
+                Row.of(rightSchema, new String[]{"2", "plain", "7"})));
+        return Stream.of(
+                Arguments.of(leftTable, rightTable),
+                Arguments.of(leftTable, paddedRightTable));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLateMaterializingJoiners")
+    void returnRowViewsOverMatches_whenJoiningLazily(TableJoiner lazyJoiner) {
+        DataReaderImpl dataReader = new DataReaderImpl();
+        Table users = dataReader.readCSVData("src/main/resources/users.csv").data();
+        Table purchases = dataReader.readCSVData("src/main/resources/purchases.csv").data();
+
+        Result<Table> expectedResult = tableJoiner.joinTables(USER_ID, USER_ID, users, purchases);
+        Result<Table> rowResult = lazyJoiner.joinTablesLazily(USER_ID, USER_ID, users, purchases);
+        Result<Table> columnarResult = lazyJoiner.joinTablesLazily(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(users), ColumnarRows.toColumnarTable(purchases));
+
+        assertTrue(rowResult.isSuccess());
+        assertEquals(expectedResult.data(), rowResult.data());
+        assertEquals(expectedResult.data(), columnarResult.data());
+        JoinedRows joinedRows = (JoinedRows) rowResult.data().rows();
+        assertEquals(expectedResult.data().rows().size(), joinedRows.matches().size());
+        assertEquals(expectedResult.data().rows(), joinedRows.materialize());
+        Row firstRow = joinedRows.getFirst();
+        assertEquals(users.rows().get(joinedRows.matches().leftRows()[0]).get(NAME), firstRow.get(NAME));
+        assertThrows(UnsupportedOperationException.class, () -> firstRow.set(NAME, "changed"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideLateMaterializingJoiners")
+    void keepLeftValueOnceInRowViews_whenTablesShareNonKeyColumn(TableJoiner lazyJoiner) {
+        RowSchema schema = RowSchema.of(List.of(USER_ID, NAME));
+        Table left = new Table(schema.headers(), List.of(Row.of(schema, new String[]{"1", "left"})));
+        Table right = new Table(schema.headers(), List.of(Row.of(schema, new String[]{"1", "right"})));
+
+        Result<Table> expectedResult = tableJoiner.joinTables(USER_ID, USER_ID, left, right);
+        Result<Table> lazyResult = lazyJoiner.joinTablesLazily(USER_ID, USER_ID, left, right);
+
+        assertTrue(lazyResult.isSuccess());
+        Row lazyRow = lazyResult.data().rows().getFirst();
+        assertEquals(expectedResult.data().rows().getFirst(), lazyRow);
+        assertEquals(2, lazyRow.getData().size());
+        assertEquals(Map.of(USER_ID, "1", NAME, "left"), new HashMap<>(lazyRow.getData()));
+        assertEquals(List.of(USER_ID, NAME), List.copyOf(lazyRow.getData().keySet()));
+    }
+
+    static Stream<Arguments> provideLateMaterializingJoiners() {
+        return Stream.of(
+                Arguments.of(new HashJoinImpl()),
+                Arguments.of(new SortMergeJoinImpl()),
+                Arguments.of(new GraceHashJoinImpl(1, Long.MAX_VALUE, Path.of(System.getProperty("java.io.tmpdir")))));
+    }
+
+    static Stream<Arguments> provideLargeTablesForParallelJoin() {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        Table largerTable = new Table(leftSchema.headers(), IntStream.range(0, 90_000)
+                .mapToObj(row -> Row.of(leftSchema, new String[]{String.valueOf(row * 7 % 30_000), "user-" + row}))
+                .toList());
+        Table smallerTable = new Table(rightSchema.headers(), IntStream.range(0, 40_000)
+                .mapToObj(row -> Row.of(rightSchema, new String[]{String.valueOf(row), "title-" + row,
+                        String.valueOf(row * 13 % 30_000)}))
+                .toList());
+        Table smallerLeftTable = new Table(leftSchema.headers(), smallerTable.rows().stream()
+                .map(row -> Row.of(leftSchema, new String[]{row.get(USER_ID), row.get(TITLE)}))
+                .toList());
+        Table largerRightTable = new Table(rightSchema.headers(), largerTable.rows().stream()
+                .map(row -> Row.of(rightSchema, new String[]{row.get(NAME), row.get(NAME), row.get(USER_ID)}))
+                .toList());
+        return Stream.of(
+                Arguments.of(largerTable, smallerTable),
+                Arguments.of(smallerLeftTable, largerRightTable));
+    }
+
+    static Stream<Arguments> provideSmallerLeftAndLargerRightTable() {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        String[] userIds = {"3", "1", " ", "2", "1", "7"};
+        Table leftTable = new Table(leftSchema.headers(), Arrays.stream(userIds)
+                .map(userId -> Row.of(leftSchema, new String[]{userId, "user-" + userId}))
+                .toList());
+        String[] purchaseUserIds = {"1", "2", "", "3", "1", "9", " 2", "1", "3", "4", "1", "2"};
+        Table rightTable = new Table(rightSchema.headers(), IntStream.range(0, 40)
+                .mapToObj(adId -> Row.of(rightSchema, new String[]{String.valueOf(adId), "title-" + adId,
+                        purchaseUserIds[adId % purchaseUserIds.length]}))
+                .toList());
+        Table numericLeftTable = new Table(leftSchema.headers(), List.of(
+                Row.of(leftSchema, new String[]{"2", "b"}), Row.of(leftSchema, new String[]{"1", "a"})));
+        return Stream.of(
+                Arguments.of(leftTable, rightTable),
+                Arguments.of(numericLeftTable, new Table(rightSchema.headers(), rightTable.rows().stream()
+                        .filter(row -> !row.get(USER_ID).isBlank() && !row.get(USER_ID).startsWith(" "))
+                        .toList())));
+    }
+
     static void assertTableResultForError(Result<Table> tableResult, int statusCode, String message) {
         assertNotNull(tableResult);
         assertFalse(tableResult.isSuccess());
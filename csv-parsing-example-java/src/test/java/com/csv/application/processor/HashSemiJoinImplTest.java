@@ -0,0 +1,111 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.processor.interfaces.TableSemiJoiner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.csv.application.processor.HashJoinImplTest.INVALID_COLUMN_TABLE_MSG;
+import static com.csv.application.processor.HashJoinImplTest.NAME;
+import static com.csv.application.processor.HashJoinImplTest.USER_ID;
+import static com.csv.application.processor.HashJoinImplTest.assertTableResultForError;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashSemiJoinImplTest {
+
+    private static final String USERS_CSV_PATH = "src/main/resources/users.csv";
+    private static final String PURCHASES_CSV_PATH = "src/main/resources/purchases.csv";
+
+    private TableSemiJoiner semiJoiner;
+
+    @BeforeEach
+    public void setup() {
+        this.semiJoiner = new HashSemiJoinImpl();
+    }
+
+    @ParameterizedTest
+    @MethodSource({"com.csv.application.processor.HashJoinImplTest#provideSmallerLeftAndLargerRightTable",
+            "com.csv.application.processor.HashJoinImplTest#provideIntegerLikeJoinKeys"})
+    void keepLeftRowsWithAndWithoutMatch_whenSemiAndAntiJoining(Table leftTable, Table rightTable) {
+        List<Row> matchedRows = new ArrayList<>();
+        List<Row> unmatchedRows = new ArrayList<>();
+        for (Row leftRow : leftTable.rows()) {
+            Table singleRow = new Table(leftTable.headers(), List.of(leftRow));
+            boolean hasMatch = !new InnerNestedLoopJoinImpl().joinTables(USER_ID, USER_ID, singleRow, rightTable)
+                    .data().rows().isEmpty();
+            (hasMatch ? matchedRows : unmatchedRows).add(leftRow);
+        }
+
+        Result<Table> semiResult = semiJoiner.semiJoin(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> antiResult = semiJoiner.antiJoin(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarSemiResult = semiJoiner.semiJoin(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+        Result<Table> columnarAntiResult = semiJoiner.antiJoin(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(semiResult.isSuccess());
+        assertEquals(leftTable.headers(), semiResult.data().headers());
+        assertEquals(matchedRows, semiResult.data().rows());
+        assertEquals(unmatchedRows, antiResult.data().rows());
+        assertThat(columnarSemiResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(matchedRows, columnarSemiResult.data().rows());
+        assertEquals(unmatchedRows, columnarAntiResult.data().rows());
+    }
+
+    @Test
+    void keepOriginalRowsOnce_whenUsersHavePurchases() {
+        DataReaderImpl dataReader = new DataReaderImpl();
+        Table users = dataReader.readCSVData(USERS_CSV_PATH).data();
+        Table purchases = dataReader.readCSVData(PURCHASES_CSV_PATH).data();
+
+        Table usersWithPurchases = semiJoiner.semiJoin(USER_ID, USER_ID, users, purchases).data();
+        Table usersWithoutPurchases = semiJoiner.antiJoin(USER_ID, USER_ID, users, purchases).data();
+
+        List<Row> joinedUsers = new HashJoinImpl().joinTables(USER_ID, USER_ID, users, purchases).data().rows().stream()
+                .map(row -> row.get(NAME))
+                .distinct()
+                .map(name -> users.rows().stream().filter(user -> name.equals(user.get(NAME))).findFirst().orElseThrow())
+                .toList();
+        assertEquals(joinedUsers, usersWithPurchases.rows());
+        assertSame(users.rows().get(users.rows().indexOf(usersWithPurchases.rows().getFirst())),
+                usersWithPurchases.rows().getFirst());
+        assertEquals(users.rows().size(), usersWithPurchases.rows().size() + usersWithoutPurchases.rows().size());
+    }
+
+    @Test
+    void keepRowsWithoutKey_whenAntiJoining() {
+        Table leftTable = HashJoinImplTest.provideIntegerLikeJoinKeys().findFirst().map(arguments -> (Table) arguments.get()[0])
+                .orElseThrow();
+        Table rightTable = new Table(List.of(USER_ID), List.of());
+
+        Result<Table> antiResult = semiJoiner.antiJoin(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertEquals(leftTable.rows(), antiResult.data().rows());
+        assertThat(semiJoiner.semiJoin(USER_ID, USER_ID, leftTable, rightTable).data().rows()).isEmpty();
+        assertTrue(IntStream.range(0, leftTable.rows().size())
+                .allMatch(row -> antiResult.data().rows().get(row) == leftTable.rows().get(row)));
+    }
+
+    @Test
+    void returnError_whenColumnNameIsNull() {
+        Table table = new DataReaderImpl().readCSVData(USERS_CSV_PATH).data();
+
+        assertTableResultForError(semiJoiner.semiJoin(null, USER_ID, table, table),
+                HttpStatusCode.BAD_REQUEST.getCode(), INVALID_COLUMN_TABLE_MSG);
+        assertTableResultForError(semiJoiner.antiJoin(USER_ID, USER_ID, table, null),
+                HttpStatusCode.BAD_REQUEST.getCode(), INVALID_COLUMN_TABLE_MSG);
+    }
+}
@@ -3,9 +3,12 @@ package com.csv.application.processor;
 import com.csv.application.domain.enums.HttpStatusCode;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
 import com.csv.application.processor.interfaces.TableJoiner;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -34,6 +37,7 @@ public class InnerNestedLoopJoinImplTest {
     public static final String EMAIL = "EMAIL";
     public static final String AD_ID = "AD_ID";
     public static final String TITLE = "TITLE";
+    public static final String REGION = "REGION";
 
     private TableJoiner tableJoiner;
 
@@ -92,6 +96,92 @@ public class InnerNestedLoopJoinImplTest {
         assertThat(tableResult.data().rows()).hasSize(0);
     }
 
+    @Test
+    void overrideWithRightValue_whenArrayBackedTablesShareNonKeyColumn() {
+
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME, TITLE));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        Table leftTable = new Table(leftSchema.headers(), List.of(
+                Row.of(leftSchema, new String[]{"1", "manuel", "left-title"})));
+        Table rightTable = new Table(rightSchema.headers(), List.of(
+                Row.of(rightSchema, new String[]{"7", "right-title", "1"}),
+                Row.of(rightSchema, new String[]{"8", "other-title", "2"})));
+
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+
+        assertTrue(tableResult.isSuccess());
+        assertThat(tableResult.data().rows()).hasSize(1);
+        Row joinedRow = tableResult.data().rows().getFirst();
+        assertEquals(Map.of(USER_ID, "1", NAME, "manuel", TITLE, "right-title", AD_ID, "7"), joinedRow.getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource({"provideValidColumnNamesAndTables", "invalidLeftKeyAndNoMatchingRightRows"})
+    void returnSameRows_whenJoiningColumnarTables(String leftColumnName,
+                                                  String rightColumnName,
+                                                  Table leftTable,
+                                                  Table rightTable) {
+
+        Result<Table> expectedResult = tableJoiner.joinTables(leftColumnName, rightColumnName, leftTable, rightTable);
+        Result<Table> actualResult = tableJoiner.joinTables(leftColumnName, rightColumnName,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(actualResult.isSuccess());
+        assertThat(actualResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(expectedResult.data().headers(), actualResult.data().headers());
+        assertThat(actualResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideCompositeKeyTables")
+    void returnRowsMatchingEveryKeyColumn_whenJoiningOnCompositeKey(Table leftTable, Table rightTable) {
+        List<String> keyColumns = List.of(USER_ID, REGION);
+
+        Result<Table> tableResult = tableJoiner.joinTables(keyColumns, keyColumns, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(keyColumns, keyColumns,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of(USER_ID, REGION, NAME, AD_ID, TITLE), tableResult.data().headers());
+        assertEquals(List.of("1|eu|manuel|1|car-1", "1|eu|manuel|3|car-3", "2|us|andre|4|chair-1",
+                        " 2|US |swen|4|chair-1"),
+                tableResult.data().rows().stream()
+                        .map(row -> String.join("|", row.get(USER_ID), row.get(REGION), row.get(NAME),
+                                row.get(AD_ID), row.get(TITLE)))
+                        .toList());
+        assertThat(columnarResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(tableResult.data().rows(), columnarResult.data().rows());
+    }
+
+    @Test
+    void returnError_whenCompositeKeysDifferInNumberOfColumns() {
+        Table table = (Table) provideCompositeKeyTables().findFirst().orElseThrow().get()[0];
+
+        Result<Table> tableResult = tableJoiner.joinTables(List.of(USER_ID, REGION), List.of(USER_ID), table, table);
+
+        assertTableResultForError(tableResult, HttpStatusCode.BAD_REQUEST.getCode(),
+                "The left and right tables must be joined on the same number of columns.");
+    }
+
+    public static Stream<Arguments> provideCompositeKeyTables() {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, REGION, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, REGION, USER_ID));
+        Table leftTable = new Table(leftSchema.headers(), List.of(
+                Row.of(leftSchema, new String[]{"1", "eu", "manuel"}),
+                Row.of(leftSchema, new String[]{"1", "us", "lydia"}),
+                Row.of(leftSchema, new String[]{"2", "us", "andre"}),
+                Row.of(leftSchema, new String[]{"3", "", "nobody"}),
+                Row.of(leftSchema, new String[]{" 2", "US ", "swen"})));
+        Table rightTable = new Table(rightSchema.headers(), List.of(
+                Row.of(rightSchema, new String[]{"1", "car-1", "eu", "1"}),
+                Row.of(rightSchema, new String[]{"2", "car-2", "eu", "2"}),
+                Row.of(rightSchema, new String[]{"3", "car-3", "EU", "1"}),
+                Row.of(rightSchema, new String[]{"4", "chair-1", "us", "2"}),
+                Row.of(rightSchema, new String[]{"5", "guitar-1", "", "3"}),
+                Row.of(rightSchema, new String[]{"6", "table-1", "1", "eu"})));
+        return Stream.of(Arguments.of(leftTable, rightTable));
+    }
+
     static void assertTableResultForError(Result<Table> tableResult, int statusCode, String message) {
         assertNotNull(tableResult);
         assertFalse(tableResult.isSuccess());
@@ -0,0 +1,255 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.ColumnFilter;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelMappedDataReaderImplTest {
+
+    public static final String USERS_CSV_PATH = "src/main/resources/users.csv";
+    public static final String PURCHASES_CSV_PATH = "src/main/resources/purchases.csv";
+    public static final String DUMMY_CSV_PATH = "src/main/resources/dummy.csv";
+
+    private ParallelMappedDataReaderImpl dataReader;
+
+    @BeforeEach
+    public void setup() {
+        dataReader = new ParallelMappedDataReaderImpl(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {USERS_CSV_PATH, PURCHASES_CSV_PATH, DUMMY_CSV_PATH})
+    void shouldReadSameTableAsSequentialReader_givenValidCsvFile(String filePath) {
+
+        Result<Table> expected = new DataReaderImpl().readCSVData(filePath);
+        Result<Table> actual = dataReader.readCSVData(filePath);
+
+        assertTrue(actual.isSuccess());
+        assertEquals(expected.data(), actual.data());
+    }
+
+    @Test
+    void shouldReadSameProjectedTableAsSequentialReader_givenColumnSubset() {
+
+        Result<Table> expected = new DataReaderImpl().readCSVData(PURCHASES_CSV_PATH, List.of("USER_ID", "TITLE"));
+        Result<Table> actual = dataReader.readCSVData(PURCHASES_CSV_PATH, List.of("USER_ID", "TITLE"));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(List.of("USER_ID", "TITLE"), actual.data().headers());
+        assertEquals(expected.data(), actual.data());
+    }
+
+    @Test
+    void shouldReadSameFilteredTableAsSequentialReader_givenFilters() {
+
+        List<ColumnFilter> filters = List.of(ColumnFilter.between("USER_ID", "1", "3"));
+        Result<Table> expected = new DataReaderImpl().readCSVData(PURCHASES_CSV_PATH, List.of(), filters);
+        Result<Table> actual = dataReader.readCSVData(PURCHASES_CSV_PATH, List.of(), filters);
+
+        assertTrue(actual.isSuccess());
+        assertEquals(6, actual.data().rows().size());
+        assertEquals(expected.data(), actual.data());
+    }
+
+    @Test
+    void shouldReturnError_whenProjectedColumnDoesNotExist() {
+
+        Result<Table> tableResult = dataReader.readCSVData(PURCHASES_CSV_PATH, List.of("PRICE"));
+
+        assertFalse(tableResult.isSuccess());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+    }
+
+    @Test
+    void shouldReadSameTableAsPlainCsv_givenMultiMemberGzipFile() throws IOException {
+        Path gzipFile = Files.createTempFile("test-parallel-gzip", ".csv.gz");
+        Files.write(gzipFile, DataReaderTest.gzipMember("AD_ID,TITLE,USER_ID\n1,car-1,1\n", false));
+        Files.write(gzipFile, DataReaderTest.gzipMember("2,car-2,1\n3,\"car, 3\",2\n", true), StandardOpenOption.APPEND);
+
+        Result<Table> actual = dataReader.readCSVData(gzipFile.toString(), List.of("TITLE"));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(List.of("car-1", "car-2", "car, 3"), actual.data().rows().stream().map(row -> row.get("TITLE")).toList());
+        Files.deleteIfExists(gzipFile);
+    }
+
+    @Test
+    void shouldKeepQuotedCommasAndNewLines_whenReadingDummyCsv() {
+
+        Result<Table> tableResult = dataReader.readCSVData(DUMMY_CSV_PATH);
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of("John Doe", "123 Main St, Apt 5", "Said, \"I'll be late\""), tableResult.data().headers());
+
+        Row row = tableResult.data().rows().getFirst();
+        assertEquals("456 Elm St", row.get("123 Main St, Apt 5"));
+        assertEquals("Hello\nWorld", row.get("Said, \"I'll be late\""));
+    }
+
+    @Test
+    void shouldSplitOnlyBetweenRecords_whenChunksStartInsideQuotedFields() throws IOException {
+
+        Path tempFile = Files.createTempFile("test-parallel", ".csv");
+        StringBuilder content = new StringBuilder("ID,TEXT,AMOUNT\n");
+        for (int index = 0; index < 500; index++) {
+            content.append(index).append(",\"line, one\nline \"\"").append(index).append("\"\"\",").append(index * 10).append('\n');
+        }
+        Files.writeString(tempFile, content);
+
+        Result<Table> expected = new DataReaderImpl().readCSVData(tempFile.toString());
+        Result<Table> actual = new ParallelMappedDataReaderImpl(64).readCSVData(tempFile.toString());
+
+        assertTrue(actual.isSuccess());
+        assertEquals(500, actual.data().rows().size());
+        assertEquals(expected.data(), actual.data());
+        assertEquals("line, one\nline \"42\"", actual.data().rows().get(42).get("TEXT"));
+
+        Files.deleteIfExists(tempFile);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ID,SIZE,TEXT\n", "ID,SIZE\"IN,TEXT\n"})
+    void shouldReadSameTableAsSequentialReader_whenQuotesInUnquotedFieldsBreakTheSplit(String header)
+            throws IOException {
+
+        Path tempFile = Files.createTempFile("test-parallel-stray-quotes", ".csv");
+        StringBuilder content = new StringBuilder(header);
+        for (int index = 0; index < 500; index++) {
+            content.append(index).append(",5\" screen,\"line one\nline ").append(index).append("\"\n");
+        }
+        Files.writeString(tempFile, content);
+
+        Result<Table> expected = new DataReaderImpl().readCSVData(tempFile.toString());
+        Result<Table> actual = new ParallelMappedDataReaderImpl(64).readCSVData(tempFile.toString());
+
+        assertTrue(actual.isSuccess());
+        assertEquals(500, actual.data().rows().size());
+        assertEquals(expected.data(), actual.data());
+        assertEquals("5\" screen", actual.data().rows().get(42).get(actual.data().headers().get(1)));
+        assertEquals("line one\nline 42", actual.data().rows().get(42).get("TEXT"));
+
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void shouldParseOnPoolOfGivenParallelism_whenReadingInParallel() throws IOException {
+
+        Path tempFile = Files.createTempFile("test-parallel-pool", ".csv");
+        StringBuilder content = new StringBuilder("ID,TEXT\n");
+        for (int index = 0; index < 2_000; index++) {
+            content.append(index).append(",text-").append(index).append('\n');
+        }
+        Files.writeString(tempFile, content);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ColumnFilter recordingFilter = new ColumnFilter("ID", value -> threads.add(Thread.currentThread()) || true);
+
+        Result<Table> actual = new ParallelMappedDataReaderImpl(2)
+                .readCSVData(tempFile.toString(), List.of(), List.of(recordingFilter));
+
+        assertTrue(actual.isSuccess());
+        assertEquals(2_000, actual.data().rows().size());
+        assertThat(threads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread).isInstanceOf(ForkJoinWorkerThread.class);
+            ForkJoinPool pool = ((ForkJoinWorkerThread) thread).getPool();
+            assertThat(pool).isNotSameAs(ForkJoinPool.commonPool());
+            assertEquals(2, pool.getParallelism());
+        });
+
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void shouldStreamSameRowsAsSequentialReader_whenQuotesInUnquotedFieldsBreakTheSplit() throws IOException {
+
+        Path tempFile = Files.createTempFile("test-parallel-stream-quotes", ".csv");
+        StringBuilder content = new StringBuilder("ID,SIZE\"IN,TEXT\n");
+        for (int index = 0; index < 100; index++) {
+            content.append(index).append(",5\" screen,\"line one\nline ").append(index).append("\"\n");
+        }
+        Files.writeString(tempFile, content);
+
+        try (RowStream expected = new DataReaderImpl().streamCSVData(tempFile.toString()).data();
+             RowStream actual = new ParallelMappedDataReaderImpl(64).streamCSVData(tempFile.toString()).data()) {
+
+            assertEquals(expected.headers(), actual.headers());
+            assertEquals(expected.rows().toList(), actual.rows().toList());
+        }
+
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void shouldReturnEmptyTableWithHeaders_whenNoRowMatchesFilters() {
+
+        Result<Table> tableResult = dataReader.readCSVData(PURCHASES_CSV_PATH, List.of(),
+                List.of(ColumnFilter.equalTo("USER_ID", "42")));
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(List.of("AD_ID", "TITLE", "USER_ID"), tableResult.data().headers());
+        assertThat(tableResult.data().rows()).isEmpty();
+    }
+
+    @Test
+    void shouldStreamRowsInFileOrder_givenValidCsvFile() {
+
+        Result<RowStream> streamResult = dataReader.streamCSVData(PURCHASES_CSV_PATH);
+
+        assertTrue(streamResult.isSuccess());
+        try (RowStream rowStream = streamResult.data()) {
+            List<Row> rows = rowStream.rows().toList();
+
+            assertEquals(List.of("AD_ID", "TITLE", "USER_ID"), rowStream.headers());
+            assertThat(rows).hasSize(8);
+            assertThat(rows.getLast().getData()).containsAllEntriesOf(Map.of("AD_ID", "9", "TITLE", "chair-1"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ID, NAME, EMAIL\n", ",,,\n1,2,3,4"})
+    void shouldReturnError_whenCsvHeadersOrRecordsAreEmpty(String content) throws IOException {
+
+        Path tempFile = Files.createTempFile("test-parallel-empty", ".csv");
+        Files.writeString(tempFile, content);
+
+        Result<Table> tableResult = dataReader.readCSVData(tempFile.toString());
+
+        assertNull(tableResult.data());
+        assertEquals(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode(), tableResult.error().errorCode());
+        assertThat(tableResult.error().errorMessage()).contains("headers", "records", "empty");
+
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void shouldReturnError_whenCsvPathIsBlank() {
+
+        Result<Table> tableResult = dataReader.readCSVData(" ");
+
+        assertNull(tableResult.data());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+    }
+}
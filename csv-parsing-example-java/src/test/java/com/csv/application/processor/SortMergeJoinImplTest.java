@@ -0,0 +1,102 @@
+package com.csv.application.processor;
+
+import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.model.Result;
+import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
+import com.csv.application.processor.interfaces.TableJoiner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.csv.application.processor.HashJoinImplTest.AD_ID;
+import static com.csv.application.processor.HashJoinImplTest.INVALID_COLUMN_TABLE_MSG;
+import static com.csv.application.processor.HashJoinImplTest.NAME;
+import static com.csv.application.processor.HashJoinImplTest.TITLE;
+import static com.csv.application.processor.HashJoinImplTest.USER_ID;
+import static com.csv.application.processor.HashJoinImplTest.assertTableResultForError;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortMergeJoinImplTest {
+
+    private static final String USERS_CSV_PATH = "src/main/resources/users.csv";
+    private static final String PURCHASES_CSV_PATH = "src/main/resources/purchases.csv";
+
+    private TableJoiner tableJoiner;
+
+    @BeforeEach
+    public void setup() {
+        this.tableJoiner = new SortMergeJoinImpl();
+    }
+
+    @ParameterizedTest
+    @MethodSource({"com.csv.application.processor.HashJoinImplTest#provideSmallerLeftAndLargerRightTable",
+            "com.csv.application.processor.HashJoinImplTest#provideLargeTablesForParallelJoin",
+            "provideSortedTablesWithDuplicateKeys"})
+    void returnSameRowsAsHashJoin_whenMergingTables(Table leftTable, Table rightTable) {
+
+        Result<Table> expectedResult = new HashJoinImpl().joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> rowResult = tableJoiner.joinTables(USER_ID, USER_ID, leftTable, rightTable);
+        Result<Table> columnarResult = tableJoiner.joinTables(USER_ID, USER_ID,
+                ColumnarRows.toColumnarTable(leftTable), ColumnarRows.toColumnarTable(rightTable));
+
+        assertTrue(rowResult.isSuccess());
+        assertEquals(expectedResult.data().headers(), rowResult.data().headers());
+        assertEquals(expectedResult.data().rows(), rowResult.data().rows());
+        assertThat(columnarResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertEquals(expectedResult.data().rows(), columnarResult.data().rows());
+    }
+
+    @Test
+    void returnSameRowsAsHashJoin_whenJoiningCSVFiles() {
+        DataReaderImpl dataReader = new DataReaderImpl();
+        Table users = dataReader.readCSVData(USERS_CSV_PATH).data();
+        Table purchases = dataReader.readCSVData(PURCHASES_CSV_PATH).data();
+
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, USER_ID, users, purchases);
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(new HashJoinImpl().joinTables(USER_ID, USER_ID, users, purchases).data(), tableResult.data());
+    }
+
+    @Test
+    void returnError_whenColumnNameIsNull() {
+        Table table = new DataReaderImpl().readCSVData(USERS_CSV_PATH).data();
+
+        Result<Table> tableResult = tableJoiner.joinTables(USER_ID, null, table, table);
+
+        assertTableResultForError(tableResult, HttpStatusCode.BAD_REQUEST.getCode(), INVALID_COLUMN_TABLE_MSG);
+    }
+
+    static Stream<Arguments> provideSortedTablesWithDuplicateKeys() {
+        RowSchema leftSchema = RowSchema.of(List.of(USER_ID, NAME));
+        RowSchema rightSchema = RowSchema.of(List.of(AD_ID, TITLE, USER_ID));
+        Table descendingLeft = table(leftSchema, new String[][]{
+                {"9", "i"}, {"7", "g"}, {"7", "g2"}, {"", "none"}, {"4", "d"}, {"2", "b"}, {"2", "b2"}, {"1", "a"}});
+        Table descendingRight = table(rightSchema, new String[][]{
+                {"1", "t1", "8"}, {"2", "t2", "7"}, {"3", "t3", "7"}, {"4", "t4", "7"}, {"5", "t5", "2"},
+                {"6", "t6", "2"}, {"7", "t7", "1"}});
+        Table ascendingLeft = table(leftSchema, new String[][]{
+                {"anna", "a"}, {"Ben", "b"}, {"ben ", "b2"}, {"carl", "c"}});
+        Table ascendingRight = table(rightSchema, new String[][]{
+                {"1", "t1", "anna"}, {"2", "t2", "ben"}, {"3", "t3", "ben"}, {"4", "t4", "dora"}});
+        return Stream.of(
+                Arguments.of(descendingLeft, descendingRight),
+                Arguments.of(ascendingLeft, ascendingRight),
+                Arguments.of(descendingLeft, new Table(rightSchema.headers(), descendingRight.rows().reversed())));
+    }
+
+    private static Table table(RowSchema schema, String[][] values) {
+        return new Table(schema.headers(), Arrays.stream(values).map(rowValues -> Row.of(schema, rowValues)).toList());
+    }
+}
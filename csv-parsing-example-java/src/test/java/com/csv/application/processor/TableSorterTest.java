@@ -1,21 +1,39 @@
 package com.csv.application.processor;
 
 import com.csv.application.domain.enums.HttpStatusCode;
+import com.csv.application.domain.enums.NullPlacement;
+import com.csv.application.domain.enums.SortDirection;
+import com.csv.application.domain.enums.SortValueType;
 import com.csv.application.domain.model.Result;
 import com.csv.application.domain.model.Row;
+import com.csv.application.domain.model.RowSchema;
+import com.csv.application.domain.model.RowStream;
+import com.csv.application.domain.model.SortKey;
 import com.csv.application.domain.model.Table;
+import com.csv.application.domain.model.column.ColumnarRows;
 import com.csv.application.processor.interfaces.TableSorter;
 import com.csv.application.util.SortUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -119,6 +137,268 @@ class TableSorterTest {
         assertThat(actualResult).isEqualTo(expectedResult);
     }
 
+    @ParameterizedTest
+    @MethodSource({"provideValidColumnScenarios", "provideSortByStringTypeColumnName",
+            "provideSortByEmptyOrNullColumnData", "provideMixedTypeColumnData", "provideRepetitiveColumnData",
+            "provideNumericColumnData"})
+    void returnSameOrder_whenSortingColumnarTable(Table table, String columnName) {
+
+        Result<Table> expectedResult = tableSorter.sortTableByDesc(table, columnName);
+        Result<Table> actualResult = tableSorter.sortTableByDesc(ColumnarRows.toColumnarTable(table), columnName);
+
+        assertActualResultData(table, actualResult);
+        assertThat(actualResult.data().rows()).isInstanceOf(ColumnarRows.class);
+        assertThat(actualResult.data().rows()).containsExactlyElementsOf(expectedResult.data().rows());
+    }
+
+    @Test
+    void returnSameStableOrderAsValueComparator_whenSortingOnPrecomputedKeys() {
+        String[] titles = {"10", "9", "-3", "2.5", "1e3", " 7", "NaN", "Infinity", "car", "Car", "guitar",
+                "Äpfel", "äpfel", "zebra", null, "", " "};
+        Random random = new Random(7);
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < 2_000; index++) {
+            Map<String, String> values = new HashMap<>();
+            values.put("AD_ID", String.valueOf(index));
+            values.put("TITLE", titles[random.nextInt(titles.length)]);
+            rows.add(new Row(values));
+        }
+        Table table = new Table(List.of("AD_ID", "TITLE"), rows);
+
+        Result<Table> tableResult = tableSorter.sortTableByDesc(table, "TITLE");
+
+        assertActualResultData(table, tableResult);
+        assertEquals(rows.stream()
+                        .sorted(Comparator.comparing(row -> row.get("TITLE"), SortUtils.createValueComparator()))
+                        .toList(),
+                tableResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"TITLE", "COUNT", "PRICE"})
+    void returnSameOrderAsSequentialSort_whenSortingLargeTableInParallel(String columnName) {
+        String[] titles = {"car", "Car", "10", "guitar", "chair", " ", "zebra"};
+        Random random = new Random(11);
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < 40_000; index++) {
+            rows.add(new Row(Map.of("AD_ID", String.valueOf(index),
+                    "TITLE", titles[random.nextInt(titles.length)] + random.nextInt(50),
+                    "COUNT", index % 17 == 0 ? "" : String.valueOf(random.nextInt(1_000)),
+                    "PRICE", index % 13 == 0 ? "" : String.valueOf(random.nextInt(10_000) / 100.0))));
+        }
+        Table table = new Table(List.of("AD_ID", "TITLE", "COUNT", "PRICE"), rows);
+        Table columnarTable = ColumnarRows.toColumnarTable(table);
+        TableSorter parallelSorter = new TableSorterImpl(4, 1);
+        TableSorter sequentialSorter = new TableSorterImpl(1, 1);
+
+        Result<Table> expectedResult = sequentialSorter.sortTableByDesc(table, columnName);
+        Result<Table> actualResult = parallelSorter.sortTableByDesc(table, columnName);
+        Result<Table> columnarResult = parallelSorter.sortTableByDesc(columnarTable, columnName);
+
+        assertActualResultData(table, actualResult);
+        assertEquals(expectedResult.data().rows(), actualResult.data().rows());
+        assertEquals(sequentialSorter.sortTableByDesc(columnarTable, columnName).data().rows(),
+                columnarResult.data().rows());
+    }
+
+    @Test
+    void readSortKeysOnPoolOfGivenParallelism_whenSortingLargeTableInParallel() {
+        Set<Thread> readingThreads = ConcurrentHashMap.newKeySet();
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < 20_000; index++) {
+            Map<String, String> values = new HashMap<>(Map.of("COUNT", String.valueOf(index % 101))) {
+                @Override
+                public String get(Object key) {
+                    readingThreads.add(Thread.currentThread());
+                    return super.get(key);
+                }
+            };
+            rows.add(new Row(values));
+        }
+        Table table = new Table(List.of("COUNT"), rows);
+
+        Result<Table> actualResult = new TableSorterImpl(2, 1).sortTableByDesc(table, "COUNT");
+
+        assertActualResultData(table, actualResult);
+        assertThat(readingThreads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread).isInstanceOf(ForkJoinWorkerThread.class);
+            ForkJoinPool pool = ((ForkJoinWorkerThread) thread).getPool();
+            assertThat(pool).isNotSameAs(ForkJoinPool.commonPool());
+            assertThat(pool.getParallelism()).isEqualTo(2);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 100, 1_999, 2_000, 5_000})
+    void returnFirstRowsOfFullSort_whenKeepingTopRows(int limit) {
+        String[] titles = {"10", "9", "-3", "2.5", "car", "Car", "guitar", "Äpfel", "äpfel", "zebra", null, "", " "};
+        Random random = new Random(3);
+        RowSchema schema = RowSchema.of(List.of("AD_ID", "TITLE"));
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < 2_000; index++) {
+            rows.add(Row.of(schema, new String[]{String.valueOf(index), titles[random.nextInt(titles.length)]}));
+        }
+        Table table = new Table(schema.headers(), rows);
+        Table columnarTable = ColumnarRows.toColumnarTable(table);
+        List<Row> sortedRows = tableSorter.sortTableByDesc(table, "TITLE").data().rows();
+        List<Row> expectedRows = sortedRows.subList(0, Math.min(limit, sortedRows.size()));
+
+        Result<Table> tableResult = tableSorter.sortTableByDesc(table, "TITLE", limit);
+        Result<Table> columnarResult = tableSorter.sortTableByDesc(columnarTable, "TITLE", limit);
+        Result<Table> streamResult = tableSorter.sortRowsByDesc(new RowStream(table.headers(), rows.stream()), "TITLE", limit);
+
+        assertTrue(tableResult.isSuccess());
+        assertEquals(table.headers(), tableResult.data().headers());
+        assertEquals(expectedRows, tableResult.data().rows());
+        assertEquals(expectedRows, columnarResult.data().rows());
+        assertEquals(expectedRows, streamResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AMOUNT", "PRICE", "CITY"})
+    void returnFirstRowsOfFullColumnarSort_whenKeepingTopRowsOfTypedColumns(String columnName) {
+        String[] cities = {"Berlin", "berlin", "10", "", "Munich", "2.5"};
+        Random random = new Random(5);
+        RowSchema schema = RowSchema.of(List.of("AD_ID", "AMOUNT", "PRICE", "CITY"));
+        List<Row> rows = new ArrayList<>();
+        rows.add(Row.of(schema, new String[]{"a", "9007199254740992", "1.5", "Berlin"}));
+        rows.add(Row.of(schema, new String[]{"b", "9007199254740993", "1.5", "Berlin"}));
+        for (int index = 0; index < 500; index++) {
+            rows.add(Row.of(schema, new String[]{String.valueOf(index),
+                    index % 11 == 0 ? "" : String.valueOf(9007199254739000L + random.nextInt(1_000)),
+                    index % 7 == 0 ? "" : String.valueOf(random.nextInt(1_000) / 4.0),
+                    cities[random.nextInt(cities.length)]}));
+        }
+        Table columnarTable = ColumnarRows.toColumnarTable(new Table(schema.headers(), rows));
+        List<Row> sortedRows = tableSorter.sortTableByDesc(columnarTable, columnName).data().rows();
+
+        for (int limit : new int[]{1, 2, 10, 100, 501}) {
+            Result<Table> columnarResult = tableSorter.sortTableByDesc(columnarTable, columnName, limit);
+
+            assertEquals(sortedRows.subList(0, limit), columnarResult.data().rows());
+        }
+        if (columnName.equals("AMOUNT")) {
+            assertEquals("b", tableSorter.sortTableByDesc(columnarTable, columnName, 1).data().rows().getFirst().get("AD_ID"));
+        }
+    }
+
+    @Test
+    void returnsError_whenTopRowsLimitIsNegative() {
+        Table table = new Table(List.of("USER_ID"), List.of(new Row(Map.of("USER_ID", "1"))));
+
+        Result<Table> tableResult = tableSorter.sortTableByDesc(table, "USER_ID", -1);
+        Result<Table> columnResult = tableSorter.sortRowsByDesc(new RowStream(table.headers(), Stream.of()), "AGE", 10);
+
+        assertFalse(tableResult.isSuccess());
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), tableResult.error().errorCode());
+        assertEquals("The limit must not be negative.", tableResult.error().errorMessage());
+        assertEquals(INVALID_COLUMN_MSG, columnResult.error().errorMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void returnSameOrderAsChainedComparators_whenSortingOnSeveralColumns(int parallelism) {
+        String[] regions = {"north", "North", "south", "EAST", "east", null};
+        Random random = new Random(13);
+        RowSchema schema = RowSchema.of(List.of("AD_ID", "REGION", "COUNT", "PRICE"));
+        List<Row> rows = new ArrayList<>();
+        for (int index = 0; index < 3_000; index++) {
+            rows.add(Row.of(schema, new String[]{String.valueOf(index), regions[random.nextInt(regions.length)],
+                    index % 7 == 0 ? "" : String.valueOf(random.nextInt(20)),
+                    index % 5 == 0 ? "n/a" : String.valueOf(random.nextInt(30) / 2.0)}));
+        }
+        Table table = new Table(schema.headers(), rows);
+        List<SortKey> sortKeys = List.of(
+                new SortKey("REGION", SortDirection.ASC, NullPlacement.FIRST, SortValueType.TEXT),
+                new SortKey("COUNT", SortDirection.DESC, NullPlacement.LAST, SortValueType.NUMERIC),
+                new SortKey("PRICE", SortDirection.ASC, NullPlacement.FIRST, SortValueType.NUMERIC));
+        Comparator<Row> expectedOrder = Comparator
+                .comparing((Row row) -> row.get("REGION"), Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(row -> parseNumber(row.get("COUNT")), Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+                .thenComparing(row -> parseNumber(row.get("PRICE")), Comparator.nullsFirst(Comparator.<Double>naturalOrder()));
+        TableSorter tableSorter = new TableSorterImpl(parallelism, 1);
+
+        Result<Table> tableResult = tableSorter.sortTable(table, sortKeys);
+        Result<Table> columnarResult = tableSorter.sortTable(ColumnarRows.toColumnarTable(table), sortKeys);
+
+        List<Row> expectedRows = rows.stream().sorted(expectedOrder).toList();
+        assertActualResultData(table, tableResult);
+        assertEquals(expectedRows, tableResult.data().rows());
+        assertEquals(expectedRows, columnarResult.data().rows());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSortKeysOnBlankValues")
+    void placeBlankValuesLikeMissingOnes_whenSortingTableReadFromCsv(String columnName, SortValueType valueType,
+                                                                    @TempDir Path tempDir) throws IOException {
+        Path csvFile = tempDir.resolve("blanks.csv");
+        Files.writeString(csvFile, """
+                AD_ID,TITLE,PRICE
+                1,car,2.5
+                2,,
+                3,Bike," "
+                4," ",10
+                5,apple,
+                """);
+        Table table = new DataReaderImpl().readCSVData(csvFile.toString()).data();
+        Table columnarTable = new DataReaderImpl().readColumnarCSVData(csvFile.toString()).data();
+
+        for (Table sortedTable : List.of(table, columnarTable)) {
+            for (SortDirection direction : SortDirection.values()) {
+                List<String> first = adIds(tableSorter.sortTable(sortedTable,
+                        List.of(new SortKey(columnName, direction, NullPlacement.FIRST, valueType))));
+                List<String> last = adIds(tableSorter.sortTable(sortedTable,
+                        List.of(new SortKey(columnName, direction, NullPlacement.LAST, valueType))));
+
+                List<String> blankRows = columnName.equals("TITLE") ? List.of("2", "4") : List.of("2", "3", "5");
+                assertThat(first.subList(0, blankRows.size())).containsExactlyElementsOf(blankRows);
+                assertThat(last.subList(last.size() - blankRows.size(), last.size())).containsExactlyElementsOf(blankRows);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideValidColumnScenarios")
+    void returnSameOrderAsSortTableByDesc_whenSortingOnSingleDescendingKey(Table table, String columnName) {
+
+        Result<Table> tableResult = tableSorter.sortTable(table, List.of(SortKey.descending(columnName)));
+
+        assertEquals(tableSorter.sortTableByDesc(table, columnName).data().rows(), tableResult.data().rows());
+    }
+
+    @Test
+    void returnsError_whenSortKeysAreEmptyOrInvalid() {
+        Table table = new Table(List.of("USER_ID"), List.of(new Row(Map.of("USER_ID", "1"))));
+
+        Result<Table> emptyResult = tableSorter.sortTable(table, List.of());
+        Result<Table> invalidResult = tableSorter.sortTable(table, List.of(SortKey.ascending("USER_ID"), SortKey.ascending("AGE")));
+
+        assertEquals(HttpStatusCode.BAD_REQUEST.getCode(), emptyResult.error().errorCode());
+        assertEquals("At least one sort column must be specified.", emptyResult.error().errorMessage());
+        assertEquals(INVALID_COLUMN_MSG, invalidResult.error().errorMessage());
+    }
+
+    private static List<String> adIds(Result<Table> result) {
+        return result.data().rows().stream().map(row -> row.get("AD_ID")).toList();
+    }
+
+    private static Stream<Arguments> provideSortKeysOnBlankValues() {
+        return Stream.of(
+                Arguments.arguments("TITLE", SortValueType.AUTO),
+                Arguments.arguments("TITLE", SortValueType.TEXT),
+                Arguments.arguments("PRICE", SortValueType.AUTO),
+                Arguments.arguments("PRICE", SortValueType.TEXT),
+                Arguments.arguments("PRICE", SortValueType.NUMERIC));
+    }
+
+    private static Double parseNumber(String value) {
+        try {
+            return value == null ? null : Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
     private static Stream<Arguments> provideInvalidColumnScenarios() {
         return Stream.of(
                 Arguments.arguments(new Table(List.of("USER_ID", "NAME", "EMAIL"), List.of()), null),
@@ -179,6 +459,29 @@ class TableSorterTest {
                         "NAME"));
     }
 
+    private static Stream<Arguments> provideRepetitiveColumnData() {
+        List<Row> rows = new ArrayList<>();
+        String[] titles = {"car", "Car", "10", "9", "guitar", " "};
+        for (int index = 0; index < 30; index++) {
+            rows.add(new Row(Map.of("AD_ID", String.valueOf(index), "TITLE", titles[index % titles.length])));
+        }
+        return Stream.of(Arguments.arguments(new Table(List.of("AD_ID", "TITLE"), rows), "TITLE"));
+    }
+
+    private static Stream<Arguments> provideNumericColumnData() {
+        List<Row> rows = new ArrayList<>();
+        String[] counts = {"10", "", "-3", "10", "7", ""};
+        String[] prices = {"2.5", "", "10.0", "-0.5", "2.5", "1e3"};
+        for (int index = 0; index < 12; index++) {
+            rows.add(new Row(Map.of("AD_ID", String.valueOf(index),
+                    "COUNT", counts[index % counts.length], "PRICE", prices[index % prices.length])));
+        }
+        Table table = new Table(List.of("AD_ID", "COUNT", "PRICE"), rows);
+        return Stream.of(
+                Arguments.arguments(table, "COUNT"),
+                Arguments.arguments(table, "PRICE"));
+    }
+
     private Result<Table> getExpectedResult(Table table, String columnName) {
         Table inputCopy = new Table(table.headers(), new ArrayList<>(table.rows()));
         return tableSorter.sortTableByDesc(inputCopy, columnName);